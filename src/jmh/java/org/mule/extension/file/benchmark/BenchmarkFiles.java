@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.benchmark;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Random;
+
+/**
+ * Creates and removes the synthetic files the benchmarks run against.
+ *
+ * @since 1.6.0
+ */
+final class BenchmarkFiles {
+
+  /**
+   * The amount of entries per directory of the trees created by {@link #createTree(Path, int)}
+   */
+  static final int ENTRIES_PER_DIRECTORY = 1000;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private BenchmarkFiles() {}
+
+  /**
+   * Creates a temporary directory for a benchmark
+   *
+   * @param name the benchmark's name
+   * @return the created directory
+   */
+  static Path createWorkDirectory(String name) throws IOException {
+    return Files.createTempDirectory("file-connector-" + name);
+  }
+
+  /**
+   * Creates a tree of empty files within the {@code root}, spread through as many sub-directories of
+   * {@link #ENTRIES_PER_DIRECTORY} files as needed, so that no single directory grows unrealistically large. Every tenth file
+   * has a {@code .csv} extension and the rest a {@code .txt} one, so that name filters have something to reject.
+   *
+   * @param root    the directory to create the tree in
+   * @param entries the amount of files to create
+   */
+  static void createTree(Path root, int entries) throws IOException {
+    Path directory = root;
+    for (int i = 0; i < entries; i++) {
+      if (i % ENTRIES_PER_DIRECTORY == 0) {
+        directory = Files.createDirectories(root.resolve("directory" + i / ENTRIES_PER_DIRECTORY));
+      }
+      Files.createFile(directory.resolve("file" + i + (i % 10 == 0 ? ".csv" : ".txt")));
+    }
+  }
+
+  /**
+   * Creates a file with {@code size} random bytes
+   *
+   * @param path the file to create
+   * @param size the size of the file, in bytes
+   * @return the created file
+   */
+  static Path createFile(Path path, long size) throws IOException {
+    byte[] bytes = new byte[BUFFER_SIZE];
+    new Random(size).nextBytes(bytes);
+    try (FileChannel channel = FileChannel.open(path, CREATE_NEW, WRITE)) {
+      long remaining = size;
+      while (remaining > 0) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, (int) Math.min(remaining, bytes.length));
+        while (buffer.hasRemaining()) {
+          remaining -= channel.write(buffer);
+        }
+      }
+    }
+
+    return path;
+  }
+
+  /**
+   * Deletes the {@code path} and, if it's a directory, all of its contents. Does nothing if it doesn't exist.
+   *
+   * @param path the path to delete
+   */
+  static void delete(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return;
+    }
+
+    Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+        Files.delete(dir);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.mule.extension.file.api.CopyStrategy;
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.extension.file.internal.command.CopySettings;
+import org.mule.extension.file.internal.command.LocalCopyCommand;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures copying a single file through {@link LocalCopyCommand} with each {@link CopyStrategy}, letting the platform copy
+ * the file or transferring it in chunks.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CopyBenchmark {
+
+  private static final String SOURCE_NAME = "source.bin";
+  private static final String TARGET_DIRECTORY = "target";
+
+  @Param({"4096", "1048576", "104857600"})
+  private long size;
+
+  @Param({"COPY", "HARD_LINK", "REFLINK"})
+  private CopyStrategy strategy;
+
+  /**
+   * The size of the transferred chunks, or empty to let the platform copy the file
+   */
+  @Param({"", "8388608"})
+  private String chunkSize;
+
+  private Path root;
+  private LocalCopyCommand copyCommand;
+  private CopySettings settings;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = BenchmarkFiles.createWorkDirectory("copy");
+    BenchmarkFiles.createFile(root.resolve(SOURCE_NAME), size);
+    Files.createDirectory(root.resolve(TARGET_DIRECTORY));
+    copyCommand = new LocalCopyCommand(new LocalFileSystem(root.toString()));
+    settings = new CopySettings(1, chunkSize.isEmpty() ? null : Long.valueOf(chunkSize), false, false, strategy);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    BenchmarkFiles.delete(root);
+  }
+
+  @Benchmark
+  public void copy() {
+    copyCommand.copy(null, SOURCE_NAME, TARGET_DIRECTORY, true, false, null, settings);
+  }
+}
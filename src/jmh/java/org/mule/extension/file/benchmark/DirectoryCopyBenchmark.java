@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.extension.file.api.CopyStrategy.COPY;
+
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.extension.file.internal.command.CopySettings;
+import org.mule.extension.file.internal.command.LocalCopyCommand;
+import org.mule.extension.file.internal.command.LocalMoveCommand;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures copying and moving a directory tree through {@link LocalCopyCommand} and {@link LocalMoveCommand}.
+ * <p>
+ * The moved tree goes back and forth between two directories, so each invocation measures two moves.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DirectoryCopyBenchmark {
+
+  private static final String SOURCE_NAME = "source";
+
+  @Param({"1000", "10000"})
+  private int entries;
+
+  @Param({"1", "4"})
+  private int concurrency;
+
+  private Path root;
+  private LocalCopyCommand copyCommand;
+  private LocalMoveCommand moveCommand;
+  private CopySettings settings;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = BenchmarkFiles.createWorkDirectory("directory-copy");
+    BenchmarkFiles.createTree(Files.createDirectory(root.resolve(SOURCE_NAME)), entries);
+    Files.createDirectory(root.resolve("copies"));
+    Files.createDirectories(root.resolve("left").resolve(SOURCE_NAME));
+    BenchmarkFiles.createTree(root.resolve("left").resolve(SOURCE_NAME), entries);
+    Files.createDirectory(root.resolve("right"));
+
+    LocalFileSystem fileSystem = new LocalFileSystem(root.toString());
+    copyCommand = new LocalCopyCommand(fileSystem);
+    moveCommand = new LocalMoveCommand(fileSystem);
+    settings = new CopySettings(concurrency, null, false, false, COPY);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    BenchmarkFiles.delete(root);
+  }
+
+  @Benchmark
+  public void copy() {
+    copyCommand.copy(null, SOURCE_NAME, "copies", true, false, null, settings);
+  }
+
+  @Benchmark
+  public void moveBackAndForth() {
+    moveCommand.move(null, "left/" + SOURCE_NAME, "right", false, false, null);
+    moveCommand.move(null, "right/" + SOURCE_NAME, "left", false, false, null);
+  }
+}
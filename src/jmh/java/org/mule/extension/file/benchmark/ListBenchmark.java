@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.api.LocalFileMatcher;
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.extension.file.internal.command.LocalListCommand;
+import org.mule.extension.file.internal.command.LocalReadCommand;
+import org.mule.extension.file.internal.matcher.CompiledFileMatcher;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures recursive listings of synthetic trees through {@link LocalListCommand}.
+ * <p>
+ * The tree is created once per trial, so the largest ones take a while to set up. Run a single size through
+ * {@code -p entries=1000} when iterating on a change.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ListBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  private int entries;
+
+  @Param({"1", "4"})
+  private int parallelism;
+
+  @Param({"*", "*.csv"})
+  private String filenamePattern;
+
+  private Path root;
+  private LocalListCommand listCommand;
+  private CompiledFileMatcher matcher;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = BenchmarkFiles.createWorkDirectory("list");
+    BenchmarkFiles.createTree(root, entries);
+
+    LocalFileSystem fileSystem = new LocalFileSystem(root.toString());
+    listCommand = new LocalListCommand(fileSystem, new LocalReadCommand(fileSystem));
+    matcher = CompiledFileMatcher.compile(new LocalFileMatcher().setFilenamePattern(filenamePattern));
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    BenchmarkFiles.delete(root);
+  }
+
+  @Benchmark
+  public List<Result<InputStream, LocalFileAttributes>> list() {
+    return listCommand.list(null, ".", true, matcher, null, null, parallelism);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.benchmark;
+
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.IOUtils.closeQuietly;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.internal.FileConnector;
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.extension.file.internal.source.DirectoryListener;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.source.PollContext;
+import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
+
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a poll of a {@link DirectoryListener} over a synthetic tree, with and without a size check. The runtime is replaced
+ * by a {@link PollContext} which accepts every file and closes its content right away, so only the listener's own work is
+ * measured.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ListenerPollBenchmark {
+
+  @Param({"1000", "10000"})
+  private int entries;
+
+  /**
+   * The time between size checks, in milliseconds, or empty for no size check
+   */
+  @Param({"", "10"})
+  private String timeBetweenSizeCheck;
+
+  private Path root;
+  private DirectoryListener listener;
+  private PollContext<InputStream, LocalFileAttributes> pollContext;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = BenchmarkFiles.createWorkDirectory("listener");
+    BenchmarkFiles.createTree(root, entries);
+
+    FileConnector config = mock(FileConnector.class);
+    when(config.getTimeBetweenSizeCheckInMillis(any(), any()))
+        .thenReturn(timeBetweenSizeCheck.isEmpty() ? empty() : Optional.of(Long.valueOf(timeBetweenSizeCheck)));
+
+    ConnectionProvider<LocalFileSystem> fileSystemProvider = mock(ConnectionProvider.class);
+    LocalFileSystem fileSystem = new LocalFileSystem(root.toString());
+    when(fileSystemProvider.connect()).thenReturn(fileSystem);
+
+    SourceCallbackContext callbackContext = mock(SourceCallbackContext.class);
+    pollContext = mock(PollContext.class);
+    when(pollContext.accept(any())).then(invocation -> {
+      AcceptedPollItem item = new AcceptedPollItem(callbackContext);
+      ((Consumer<PollContext.PollItem<InputStream, LocalFileAttributes>>) invocation.getArguments()[0]).accept(item);
+      if (item.result != null) {
+        closeQuietly(item.result.getOutput());
+      }
+
+      return ACCEPTED;
+    });
+    listener = new DirectoryListener(config, fileSystemProvider);
+    listener.onStart(mock(SourceCallback.class));
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    listener.onStop();
+    BenchmarkFiles.delete(root);
+  }
+
+  @Benchmark
+  public void poll() {
+    listener.poll(pollContext);
+  }
+
+  private static class AcceptedPollItem implements PollContext.PollItem<InputStream, LocalFileAttributes> {
+
+    private final SourceCallbackContext callbackContext;
+    private Result<InputStream, LocalFileAttributes> result;
+
+    private AcceptedPollItem(SourceCallbackContext callbackContext) {
+      this.callbackContext = callbackContext;
+    }
+
+    @Override
+    public SourceCallbackContext getSourceCallbackContext() {
+      return callbackContext;
+    }
+
+    @Override
+    public PollContext.PollItem<InputStream, LocalFileAttributes> setResult(Result<InputStream, LocalFileAttributes> result) {
+      this.result = result;
+      return this;
+    }
+
+    @Override
+    public PollContext.PollItem<InputStream, LocalFileAttributes> setWatermark(Serializable watermark) {
+      return this;
+    }
+
+    @Override
+    public PollContext.PollItem<InputStream, LocalFileAttributes> setId(String id) {
+      return this;
+    }
+  }
+}
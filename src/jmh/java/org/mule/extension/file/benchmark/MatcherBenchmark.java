@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.mule.extension.file.common.api.matcher.MatchPolicy.REQUIRE;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.api.LocalFileMatcher;
+import org.mule.extension.file.internal.matcher.CompiledFileMatcher;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures evaluating a {@link LocalFileMatcher} over a directory's worth of files, both as built on every poll and compiled
+ * once into a {@link CompiledFileMatcher}, as well as reading the {@link LocalFileAttributes} the matchers are evaluated on.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MatcherBenchmark {
+
+  private Path root;
+  private List<Path> paths;
+  private List<LocalFileAttributes> attributes;
+  private LocalFileMatcher matcher;
+  private CompiledFileMatcher compiledMatcher;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = BenchmarkFiles.createWorkDirectory("matcher");
+    BenchmarkFiles.createTree(root, BenchmarkFiles.ENTRIES_PER_DIRECTORY);
+
+    paths = new ArrayList<>();
+    attributes = new ArrayList<>();
+    try (Stream<Path> files = Files.walk(root)) {
+      files.filter(Files::isRegularFile).forEach(path -> {
+        paths.add(path);
+        attributes.add(new LocalFileAttributes(path));
+      });
+    }
+
+    matcher = new LocalFileMatcher().setFilenamePattern("*.csv").setRegularFiles(REQUIRE);
+    matcher.setNotUpdatedInTheLast(1L);
+    matcher.setTimeUnit(MINUTES);
+    compiledMatcher = CompiledFileMatcher.compile(matcher);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    BenchmarkFiles.delete(root);
+  }
+
+  @Benchmark
+  public int buildAndMatch() {
+    Predicate<LocalFileAttributes> predicate = matcher.build();
+    int accepted = 0;
+    for (LocalFileAttributes fileAttributes : attributes) {
+      if (predicate.test(fileAttributes)) {
+        accepted++;
+      }
+    }
+
+    return accepted;
+  }
+
+  @Benchmark
+  public int compiledMatch() {
+    compiledMatcher.resetClock();
+    int accepted = 0;
+    for (LocalFileAttributes fileAttributes : attributes) {
+      if (compiledMatcher.test(fileAttributes)) {
+        accepted++;
+      }
+    }
+
+    return accepted;
+  }
+
+  @Benchmark
+  public void readAttributes(Blackhole blackhole) {
+    for (Path path : paths) {
+      blackhole.consume(new LocalFileAttributes(path));
+    }
+  }
+
+  @Benchmark
+  public void readAttributesAndTimes(Blackhole blackhole) {
+    for (Path path : paths) {
+      LocalFileAttributes fileAttributes = new LocalFileAttributes(path);
+      blackhole.consume(fileAttributes.getLastModifiedTime());
+      blackhole.consume(fileAttributes.getCreationTime());
+      blackhole.consume(fileAttributes.getLastAccessTime());
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.extension.file.internal.command.LocalReadCommand;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading a file through {@link LocalReadCommand} and consuming its whole content, as a flow would.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReadBenchmark {
+
+  private static final String FILE_NAME = "content.bin";
+
+  @Param({"4096", "1048576", "104857600"})
+  private long size;
+
+  @Param({"false", "true"})
+  private boolean memoryMapped;
+
+  @Param({"NONE", "EXCLUSIVE", "SHARED"})
+  private String lock;
+
+  private Path root;
+  private LocalReadCommand readCommand;
+  private final byte[] buffer = new byte[8 * 1024];
+
+  @Setup
+  public void setUp() throws Exception {
+    root = BenchmarkFiles.createWorkDirectory("read");
+    BenchmarkFiles.createFile(root.resolve(FILE_NAME), size);
+    readCommand = new LocalReadCommand(new LocalFileSystem(root.toString()));
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    BenchmarkFiles.delete(root);
+  }
+
+  @Benchmark
+  public long readFully() throws Exception {
+    long read = 0;
+    try (InputStream content = readCommand.read(null, FILE_NAME, !lock.equals("NONE"), null, memoryMapped,
+                                                lock.equals("SHARED"))
+        .getOutput()) {
+      int count;
+      while ((count = content.read(buffer)) != -1) {
+        read += count;
+      }
+    }
+
+    return read;
+  }
+}
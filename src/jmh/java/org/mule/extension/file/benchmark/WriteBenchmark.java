@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.mule.extension.file.common.api.FileWriteMode;
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.extension.file.internal.command.LocalWriteCommand;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing content of several sizes through {@link LocalWriteCommand}, both from memory and from another file, whose
+ * content can be transferred without going through the heap.
+ *
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WriteBenchmark {
+
+  private static final String SOURCE_NAME = "source.bin";
+  private static final String TARGET_NAME = "target.bin";
+  // appended files are truncated once they reach this size, so that long runs don't fill the disk
+  private static final long MAX_APPENDED_SIZE = 256 * 1024 * 1024;
+
+  @Param({"4096", "1048576", "67108864"})
+  private int size;
+
+  @Param({"OVERWRITE", "APPEND"})
+  private FileWriteMode mode;
+
+  @Param({"false", "true"})
+  private boolean lock;
+
+  @Param({"MEMORY", "FILE"})
+  private String source;
+
+  private Path root;
+  private Path sourcePath;
+  private Path targetPath;
+  private byte[] content;
+  private LocalWriteCommand writeCommand;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = BenchmarkFiles.createWorkDirectory("write");
+    sourcePath = BenchmarkFiles.createFile(root.resolve(SOURCE_NAME), size);
+    targetPath = root.resolve(TARGET_NAME);
+    content = Files.readAllBytes(sourcePath);
+    writeCommand = new LocalWriteCommand(new LocalFileSystem(root.toString()));
+  }
+
+  @Setup(Level.Invocation)
+  public void truncateAppendedFile() throws Exception {
+    if (mode == FileWriteMode.APPEND && Files.exists(targetPath) && Files.size(targetPath) >= MAX_APPENDED_SIZE) {
+      Files.delete(targetPath);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    BenchmarkFiles.delete(root);
+  }
+
+  @Benchmark
+  public void write() throws Exception {
+    try (InputStream input =
+        source.equals("FILE") ? new FileInputStream(sourcePath.toFile()) : new ByteArrayInputStream(content)) {
+      writeCommand.write(TARGET_NAME, input, mode, lock, false);
+    }
+  }
+}
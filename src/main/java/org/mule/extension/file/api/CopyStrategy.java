@@ -0,0 +1,39 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.api;
+
+/**
+ * Defines how the content of each file is copied by the copy operation.
+ *
+ * @since 1.6.0
+ */
+public enum CopyStrategy {
+
+  /**
+   * Copy the file's content
+   */
+  COPY,
+
+  /**
+   * Create a hard link to the source file, so that the copy takes no time nor space no matter the file's size. Since both
+   * paths point to the same file, changes made through one of them are visible through the other one. If the file system
+   * doesn't support hard links, or the target is on another file system, the content is copied instead.
+   */
+  HARD_LINK,
+
+  /**
+   * Let the operating system copy the file. On Linux, recent JVMs do so in a way which clones the file on file systems that
+   * support it (i.e: Btrfs, XFS), sharing its data blocks until either copy is modified. Otherwise, the content is copied.
+   */
+  REFLINK,
+
+  /**
+   * Pick the fastest strategy which always produces an independent copy. Currently, the same as {@link #REFLINK}. Hard links
+   * are never created, since changes to the copy would be visible through the source; use {@link #HARD_LINK} for that.
+   */
+  AUTO
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.api;
+
+import org.mule.extension.file.api.subset.AlphabeticalComparator;
+import org.mule.extension.file.api.subset.DateModifiedComparator;
+import org.mule.extension.file.api.subset.SizeComparator;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+import java.io.InputStream;
+import java.util.Comparator;
+
+/**
+ * Defines the order in which the files found on each poll of a listener are dispatched. Files which compare as equal are
+ * dispatched in the order in which they were listed.
+ *
+ * @since 1.6.0
+ */
+public enum DispatchOrder {
+
+  /**
+   * Dispatch the files in the order in which they are listed, which depends on the file system
+   */
+  LISTING((left, right) -> 0),
+
+  /**
+   * Dispatch the files with the oldest modification time first
+   */
+  OLDEST_FIRST(new DateModifiedComparator()),
+
+  /**
+   * Dispatch the files in the alphabetical order of their names
+   */
+  ALPHABETICALLY(new AlphabeticalComparator()),
+
+  /**
+   * Dispatch the smallest files first
+   */
+  SMALLEST_FIRST(new SizeComparator());
+
+  private final Comparator<Result<InputStream, LocalFileAttributes>> comparator;
+
+  DispatchOrder(Comparator<Result<InputStream, LocalFileAttributes>> comparator) {
+    this.comparator = comparator;
+  }
+
+  public Comparator<Result<InputStream, LocalFileAttributes>> getComparator() {
+    return comparator;
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.extension.file.api;
 
 import static java.lang.String.format;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import org.mule.extension.file.common.api.AbstractFileAttributes;
 import org.mule.extension.file.common.api.FileAttributes;
@@ -16,15 +17,20 @@ import org.mule.runtime.extension.api.annotation.param.Parameter;
 
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
 /**
  * Implementation of {@link FileAttributes} for files obtained from a local file system.
+ * <p>
+ * The file's times are kept as the {@link Instant instants} read from the file system, and are only converted into
+ * {@link LocalDateTime} the first time they're requested, since many listed files never have their times looked at.
  *
  * @since 1.0
  */
@@ -51,6 +57,11 @@ public class LocalFileAttributes extends AbstractFileAttributes {
   @Parameter
   private boolean symbolicLink;
 
+  // the raw times, converted into the LocalDateTime fields above on first access
+  private Instant lastModifiedInstant;
+  private Instant lastAccessInstant;
+  private Instant creationInstant;
+
   private static final Path DEFAULT_PATH = Paths.get("/default/path");
 
   /**
@@ -58,12 +69,35 @@ public class LocalFileAttributes extends AbstractFileAttributes {
    */
   public LocalFileAttributes(Path path) {
     super(path);
-    initAttributes(getAttributes(path));
+    // a single read tells whether the path is a symbolic link. Only links need a second one, since the rest of the
+    // attributes describe the link's target
+    BasicFileAttributes attributes = getAttributes(path, NOFOLLOW_LINKS);
+    if (attributes.isSymbolicLink()) {
+      initAttributes(getAttributes(path), true);
+    } else {
+      initAttributes(attributes, false);
+    }
   }
 
   public LocalFileAttributes(Path path, BasicFileAttributes attributes) {
     super(path);
-    initAttributes(attributes);
+    initAttributes(attributes, attributes.isSymbolicLink() || Files.isSymbolicLink(path));
+  }
+
+  /**
+   * Creates a new instance from attributes which were already obtained by the caller, typically while walking a directory.
+   * <p>
+   * Unlike {@link #LocalFileAttributes(Path, BasicFileAttributes)}, this constructor doesn't go back to the file system to
+   * determine whether the {@code path} is a symbolic link, since the caller already knows it.
+   *
+   * @param path         the {@link Path} the attributes belong to
+   * @param attributes   the file's {@link BasicFileAttributes}
+   * @param symbolicLink whether the {@code path} is a symbolic link
+   * @since 1.6.0
+   */
+  public LocalFileAttributes(Path path, BasicFileAttributes attributes, boolean symbolicLink) {
+    super(path);
+    initAttributes(attributes, symbolicLink);
   }
 
   public LocalFileAttributes() {
@@ -76,24 +110,46 @@ public class LocalFileAttributes extends AbstractFileAttributes {
 
 
   protected void initAttributes(BasicFileAttributes attributes) {
-    this.lastModifiedTime = asDateTime(attributes.lastModifiedTime());
-    this.lastAccessTime = asDateTime(attributes.lastAccessTime());
-    this.creationTime = asDateTime(attributes.creationTime());
+    initAttributes(attributes, attributes.isSymbolicLink() || Files.isSymbolicLink(Paths.get(getPath())));
+  }
+
+  private void initAttributes(BasicFileAttributes attributes, boolean symbolicLink) {
+    this.lastModifiedInstant = asInstant(attributes.lastModifiedTime());
+    this.lastAccessInstant = asInstant(attributes.lastAccessTime());
+    this.creationInstant = asInstant(attributes.creationTime());
     this.size = attributes.size();
     this.regularFile = attributes.isRegularFile();
     this.directory = attributes.isDirectory();
-    this.symbolicLink = Files.isSymbolicLink(Paths.get(getPath()));
+    this.symbolicLink = symbolicLink;
   }
 
   /**
    * @return The last time the file was modified
    */
   public LocalDateTime getLastModifiedTime() {
+    if (lastModifiedTime == null && lastModifiedInstant != null) {
+      lastModifiedTime = asDateTime(lastModifiedInstant);
+    }
     return lastModifiedTime;
   }
 
+  /**
+   * Obtains the last modification time as an {@link Instant}, which unlike {@link #getLastModifiedTime()} doesn't depend on
+   * the JVM's time zone and doesn't need to be converted when the attributes were read from the file system.
+   *
+   * @return The last time the file was modified
+   * @since 1.6.0
+   */
+  public Instant lastModifiedInstant() {
+    if (lastModifiedInstant != null) {
+      return lastModifiedInstant;
+    }
+    return lastModifiedTime != null ? lastModifiedTime.atZone(ZoneId.systemDefault()).toInstant() : null;
+  }
+
   public void setLastModifiedTime(LocalDateTime lastModifiedTime) {
     this.lastModifiedTime = lastModifiedTime;
+    this.lastModifiedInstant = null;
   }
 
 
@@ -101,22 +157,30 @@ public class LocalFileAttributes extends AbstractFileAttributes {
    * @return The last time the file was accessed
    */
   public LocalDateTime getLastAccessTime() {
+    if (lastAccessTime == null && lastAccessInstant != null) {
+      lastAccessTime = asDateTime(lastAccessInstant);
+    }
     return lastAccessTime;
   }
 
   public void setLastAccessTime(LocalDateTime lastAccessTime) {
     this.lastAccessTime = lastAccessTime;
+    this.lastAccessInstant = null;
   }
 
   /**
    * @return the time at which the file was created
    */
   public LocalDateTime getCreationTime() {
+    if (creationTime == null && creationInstant != null) {
+      creationTime = asDateTime(creationInstant);
+    }
     return creationTime;
   }
 
   public void setCreationTime(LocalDateTime creationTime) {
     this.creationTime = creationTime;
+    this.creationInstant = null;
   }
 
   /**
@@ -169,9 +233,9 @@ public class LocalFileAttributes extends AbstractFileAttributes {
     this.symbolicLink = symbolicLink;
   }
 
-  private BasicFileAttributes getAttributes(Path path) {
+  private BasicFileAttributes getAttributes(Path path, LinkOption... options) {
     try {
-      return Files.readAttributes(path, BasicFileAttributes.class);
+      return Files.readAttributes(path, BasicFileAttributes.class, options);
     } catch (AccessDeniedException e) {
       throw new FileAccessDeniedException(format("Access to path '%s' denied by the operating system", path), e);
     } catch (Exception e) {
@@ -179,7 +243,11 @@ public class LocalFileAttributes extends AbstractFileAttributes {
     }
   }
 
-  private LocalDateTime asDateTime(FileTime fileTime) {
-    return LocalDateTime.ofInstant(fileTime.toInstant(), ZoneId.systemDefault());
+  private Instant asInstant(FileTime fileTime) {
+    return fileTime != null ? fileTime.toInstant() : null;
+  }
+
+  private LocalDateTime asDateTime(Instant instant) {
+    return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
   }
 }
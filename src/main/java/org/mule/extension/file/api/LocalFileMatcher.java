@@ -20,6 +20,7 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * A specialization of {@link FileMatcher} used to do assertions on files stored on a local file system. The file's
@@ -111,6 +112,36 @@ public class LocalFileMatcher extends FileMatcher<LocalFileMatcher, LocalFileAtt
 
   @Override
   protected Predicate<LocalFileAttributes> addConditions(Predicate<LocalFileAttributes> predicate) {
+    if (!hasTimeConditions()) {
+      return predicate;
+    }
+
+    // We want to make sure that the same time is used when comparing multiple files consecutively.
+    LocalDateTime now = now();
+    return predicate.and(timeConditions(() -> now));
+  }
+
+  /**
+   * @return whether this matcher has any condition on the file's creation, update or access times
+   * @since 1.6.0
+   */
+  public boolean hasTimeConditions() {
+    return createdSince != null || createdUntil != null || updatedSince != null || updatedUntil != null
+        || accessedSince != null || accessedUntil != null || notUpdatedInTheLast != null || updatedInTheLast != null;
+  }
+
+  /**
+   * Builds a {@link Predicate} with this matcher's conditions on the file's creation, update and access times.
+   * <p>
+   * The {@link #notUpdatedInTheLast} and {@link #updatedInTheLast} conditions are relative to the time provided by the
+   * {@code clock}, so that a predicate built once can be reused across polls by moving the clock forward.
+   *
+   * @param clock provides the current time
+   * @return a {@link Predicate} which accepts every file if there are no time conditions
+   * @since 1.6.0
+   */
+  public Predicate<LocalFileAttributes> timeConditions(Supplier<LocalDateTime> clock) {
+    Predicate<LocalFileAttributes> predicate = attributes -> true;
     if (createdSince != null) {
       predicate = predicate.and(attributes -> FILE_TIME_SINCE.apply(createdSince, attributes.getCreationTime()));
     }
@@ -135,17 +166,15 @@ public class LocalFileMatcher extends FileMatcher<LocalFileMatcher, LocalFileAtt
       predicate = predicate.and(attributes -> FILE_TIME_SINCE.apply(accessedUntil, attributes.getLastAccessTime()));
     }
 
-    // We want to make sure that the same time is used when comparing multiple files consecutively.
-    LocalDateTime now = now();
-
     if (notUpdatedInTheLast != null) {
-      predicate = predicate.and(attributes -> FILE_TIME_UNTIL.apply(minusTime(now, notUpdatedInTheLast, timeUnit),
+      predicate = predicate.and(attributes -> FILE_TIME_UNTIL.apply(minusTime(clock.get(), notUpdatedInTheLast, timeUnit),
                                                                     attributes.getLastModifiedTime()));
     }
 
     if (updatedInTheLast != null) {
       predicate = predicate
-          .and(attributes -> FILE_TIME_SINCE.apply(minusTime(now, updatedInTheLast, timeUnit), attributes.getLastModifiedTime()));
+          .and(attributes -> FILE_TIME_SINCE.apply(minusTime(clock.get(), updatedInTheLast, timeUnit),
+                                                   attributes.getLastModifiedTime()));
     }
     return predicate;
   }
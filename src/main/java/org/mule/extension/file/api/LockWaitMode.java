@@ -0,0 +1,31 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.api;
+
+/**
+ * Defines how to wait for a file which is locked by another process to be released.
+ *
+ * @since 1.6.0
+ */
+public enum LockWaitMode {
+
+  /**
+   * Don't wait, fail right away
+   */
+  FAIL_FAST,
+
+  /**
+   * Try again after exponentially growing, randomized delays, until the file is released or the wait timeout elapses
+   */
+  BACKOFF,
+
+  /**
+   * Wait on a separate thread for the operating system to grant the lock, until the file is released or the wait timeout
+   * elapses
+   */
+  BLOCKING
+}
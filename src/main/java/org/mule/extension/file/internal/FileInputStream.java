@@ -6,6 +6,9 @@
  */
 package org.mule.extension.file.internal;
 
+import static java.lang.String.format;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.extension.file.internal.util.FileChannelTransfers.transferFully;
 import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -16,6 +19,7 @@ import org.mule.extension.file.common.api.lock.PathLock;
 import org.mule.extension.file.common.api.stream.AbstractNonFinalizableFileInputStream;
 import org.mule.extension.file.common.api.stream.LazyStreamSupplier;
 import org.mule.extension.file.internal.lock.PathLockChannelWrapper;
+import org.mule.extension.file.internal.metrics.FileMetrics;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.util.LazyValue;
 
@@ -25,6 +29,7 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 
@@ -43,7 +48,11 @@ import org.slf4j.Logger;
  */
 public final class FileInputStream extends AbstractNonFinalizableFileInputStream {
 
+  private static final Logger LOGGER = getLogger(FileInputStream.class);
+
   private final LazyValue<FileChannel> lazyChannel;
+  private final LocalFileInputStreamSupplier supplier;
+  private final FileMetrics metrics;
 
   /**
    * Creates a new instance
@@ -57,14 +66,97 @@ public final class FileInputStream extends AbstractNonFinalizableFileInputStream
 
   public FileInputStream(LazyValue<FileChannel> lazyChannel, PathLock lock, Path path, Long timeBetweenSizeCheck,
                          FileAttributes attributes) {
-    super(new LazyStreamSupplier(new LocalFileInputStreamSupplier(timeBetweenSizeCheck, path, lazyChannel, attributes)),
-          new PathLockChannelWrapper(lock, lazyChannel));
+    this(lazyChannel, lock, path, timeBetweenSizeCheck, attributes, false);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param lazyChannel          the {@link FileChannel} to read from, opened lazily
+   * @param lock                 a {@link PathLock}
+   * @param path                 the path of the file to read
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param attributes           the file's attributes
+   * @param memoryMapped         whether to serve the content from memory mapped regions of the file instead of buffered reads.
+   *                             The mapped regions are released together with the {@code lock}
+   * @since 1.6.0
+   */
+  public FileInputStream(LazyValue<FileChannel> lazyChannel, PathLock lock, Path path, Long timeBetweenSizeCheck,
+                         FileAttributes attributes, boolean memoryMapped) {
+    this(lazyChannel, lock, path, timeBetweenSizeCheck, attributes, memoryMapped, FileMetrics.NO_OP);
+  }
+
+  /**
+   * Creates a new instance which records the amount of bytes read from the file once it's closed
+   *
+   * @param lazyChannel          the {@link FileChannel} to read from, opened lazily
+   * @param lock                 a {@link PathLock}
+   * @param path                 the path of the file to read
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param attributes           the file's attributes
+   * @param memoryMapped         whether to serve the content from memory mapped regions of the file instead of buffered reads
+   * @param metrics              the {@link FileMetrics} on which the read bytes are recorded
+   * @since 1.6.0
+   */
+  public FileInputStream(LazyValue<FileChannel> lazyChannel, PathLock lock, Path path, Long timeBetweenSizeCheck,
+                         FileAttributes attributes, boolean memoryMapped, FileMetrics metrics) {
+    this(lazyChannel, lock,
+         new LocalFileInputStreamSupplier(timeBetweenSizeCheck, path, lazyChannel, attributes, memoryMapped), metrics);
+  }
+
+  private FileInputStream(LazyValue<FileChannel> lazyChannel, PathLock lock, LocalFileInputStreamSupplier supplier,
+                          FileMetrics metrics) {
+    super(new LazyStreamSupplier(supplier), new PathLockChannelWrapper(lock, lazyChannel, supplier::releaseMappedContent));
     this.lazyChannel = lazyChannel;
+    this.supplier = supplier;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Writes the whole content of the file into the {@code target} through
+   * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, so that the operating system can move the bytes without
+   * copying them into the JVM's memory. This stream is closed afterwards.
+   * <p>
+   * This is only possible if this stream wasn't read yet, since otherwise its position within the file is unknown, and if no
+   * size check is required before reading the file. When that's not the case, nothing is transferred.
+   *
+   * @param target the channel to write to
+   * @return whether the content was transferred
+   * @throws IOException if the transfer fails
+   * @since 1.6.0
+   */
+  public boolean transferTo(WritableByteChannel target) throws IOException {
+    if (!supplier.canTransfer()) {
+      return false;
+    }
+
+    supplier.markContentOpened();
+    try {
+      metrics.recordBytesRead(transferFully(lazyChannel.get(), 0, target));
+    } finally {
+      close();
+    }
+    return true;
   }
 
   @Override
   protected void doClose() throws IOException {
-    lazyChannel.ifComputed(channel -> closeQuietly(channel));
+    lazyChannel.ifComputed(channel -> {
+      recordBytesRead(channel);
+      closeQuietly(channel);
+    });
+  }
+
+  private void recordBytesRead(FileChannel channel) {
+    if (!metrics.isEnabled() || !channel.isOpen()) {
+      return;
+    }
+
+    try {
+      metrics.recordBytesRead(supplier.getBytesRead(channel));
+    } catch (IOException e) {
+      LOGGER.debug("Could not obtain the amount of bytes read from the file", e);
+    }
   }
 
   protected static final class LocalFileInputStreamSupplier extends AbstractFileInputStreamSupplier {
@@ -73,6 +165,11 @@ public final class FileInputStream extends AbstractNonFinalizableFileInputStream
 
     private final Path path;
     private final LazyValue<FileChannel> lazyChannel;
+    private final boolean memoryMapped;
+    private final boolean sizeCheck;
+    private volatile MappedFileInputStream mappedContent;
+    private volatile long mappedBytesRead = 0;
+    private volatile boolean contentOpened = false;
 
     LocalFileInputStreamSupplier(Long timeBetweenSizeCheck, Path path, FileChannel channel, FileAttributes attributes) {
       this(timeBetweenSizeCheck, path, new LazyValue<>(channel), attributes);
@@ -80,9 +177,16 @@ public final class FileInputStream extends AbstractNonFinalizableFileInputStream
 
     LocalFileInputStreamSupplier(Long timeBetweenSizeCheck, Path path, LazyValue<FileChannel> lazyChannel,
                                  FileAttributes attributes) {
+      this(timeBetweenSizeCheck, path, lazyChannel, attributes, false);
+    }
+
+    LocalFileInputStreamSupplier(Long timeBetweenSizeCheck, Path path, LazyValue<FileChannel> lazyChannel,
+                                 FileAttributes attributes, boolean memoryMapped) {
       super(attributes, timeBetweenSizeCheck);
       this.path = path;
       this.lazyChannel = lazyChannel;
+      this.memoryMapped = memoryMapped;
+      sizeCheck = timeBetweenSizeCheck != null && timeBetweenSizeCheck > 0;
     }
 
     @Override
@@ -104,7 +208,50 @@ public final class FileInputStream extends AbstractNonFinalizableFileInputStream
     protected InputStream getContentInputStream() {
       // Get updated attributes to check whether the file still exists
       getUpdatedAttributes();
+      contentOpened = true;
+      if (memoryMapped) {
+        try {
+          mappedContent = new MappedFileInputStream(lazyChannel.get());
+          return mappedContent;
+        } catch (IOException e) {
+          throw new MuleRuntimeException(createStaticMessage(format("Could not map file '%s' into memory", path)), e);
+        }
+      }
       return new BufferedInputStream(Channels.newInputStream(lazyChannel.get()));
     }
+
+    private boolean canTransfer() {
+      return !contentOpened && !sizeCheck;
+    }
+
+    private void markContentOpened() {
+      contentOpened = true;
+    }
+
+    /**
+     * @param channel the channel the content is read from
+     * @return how far the content was read. Positional transfers through {@link #transferTo(WritableByteChannel)} are not
+     *         accounted for
+     */
+    private long getBytesRead(FileChannel channel) throws IOException {
+      MappedFileInputStream content = mappedContent;
+      if (content != null) {
+        return content.getPosition();
+      }
+
+      return memoryMapped ? mappedBytesRead : channel.position();
+    }
+
+    /**
+     * Releases the memory mapped regions of the file, if any
+     */
+    private void releaseMappedContent() {
+      MappedFileInputStream content = mappedContent;
+      if (content != null) {
+        mappedBytesRead = content.getPosition();
+        content.release();
+        mappedContent = null;
+      }
+    }
   }
 }
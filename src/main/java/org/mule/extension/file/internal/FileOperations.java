@@ -6,12 +6,22 @@
  */
 package org.mule.extension.file.internal;
 
+import static java.lang.System.nanoTime;
+import static org.mule.extension.file.internal.metrics.FileOperationType.COPY;
+import static org.mule.extension.file.internal.metrics.FileOperationType.CREATE_DIRECTORY;
+import static org.mule.extension.file.internal.metrics.FileOperationType.DELETE;
+import static org.mule.extension.file.internal.metrics.FileOperationType.MOVE;
+import static org.mule.extension.file.internal.metrics.FileOperationType.READ;
+import static org.mule.extension.file.internal.metrics.FileOperationType.RENAME;
+import static org.mule.extension.file.internal.metrics.FileOperationType.WRITE;
 import static org.mule.runtime.api.meta.model.display.PathModel.Location.EXTERNAL;
 import static org.mule.runtime.api.meta.model.display.PathModel.Type.DIRECTORY;
 import static org.mule.runtime.api.meta.model.display.PathModel.Type.FILE;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.extension.api.annotation.param.MediaType.ANY;
 import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED_TAB;
 
+import org.mule.extension.file.api.CopyStrategy;
 import org.mule.extension.file.api.LocalFileAttributes;
 import org.mule.extension.file.api.LocalFileMatcher;
 import org.mule.extension.file.api.subset.LocalSubsetList;
@@ -26,13 +36,20 @@ import org.mule.extension.file.common.api.exceptions.FileListErrorTypeProvider;
 import org.mule.extension.file.common.api.exceptions.FileReadErrorTypeProvider;
 import org.mule.extension.file.common.api.exceptions.FileRenameErrorTypeProvider;
 import org.mule.extension.file.common.api.exceptions.FileWriteErrorTypeProvider;
+import org.mule.extension.file.internal.command.CopySettings;
+import org.mule.extension.file.internal.command.WalkSettings;
+import org.mule.extension.file.internal.matcher.CompiledFileMatcher;
+import org.mule.extension.file.internal.metrics.FileMetrics;
+import org.mule.extension.file.internal.metrics.FileOperationType;
 import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.util.DataUnit;
 import org.mule.runtime.extension.api.annotation.error.Throws;
 import org.mule.runtime.extension.api.annotation.param.Config;
 import org.mule.runtime.extension.api.annotation.param.ConfigOverride;
 import org.mule.runtime.extension.api.annotation.param.Connection;
 import org.mule.runtime.extension.api.annotation.param.Content;
 import org.mule.runtime.extension.api.annotation.param.MediaType;
+import org.mule.runtime.extension.api.annotation.param.NullSafe;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 import org.mule.runtime.extension.api.annotation.param.display.Path;
@@ -45,6 +62,7 @@ import org.mule.runtime.extension.api.runtime.streaming.StreamingHelper;
 import java.io.InputStream;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * File connector operations.
@@ -59,6 +77,13 @@ public final class FileOperations extends BaseFileSystemOperations {
    * If the listing encounters a directory, the output list will include its contents depending on the value of the
    * {@code recursive} parameter.
    * <p>
+   * Unless a {@code subset} is requested, the directory is walked as the output is consumed, so that only the files which make
+   * up the current page are held in memory.
+   * <p>
+   * When {@code recursive} is {@code true}, setting {@code listingParallelism} to a value greater than one lists up to that
+   * amount of sub-directories concurrently, which speeds up listing deep trees on high latency file systems. The output is the
+   * same, and in the same order, as the one of a sequential listing, but it's fully built before the first page is returned.
+   * <p>
    *
    * @param config        the config that is parameterizing this operation
    * @param directoryPath the path to the directory to be listed
@@ -66,6 +91,12 @@ public final class FileOperations extends BaseFileSystemOperations {
    * @param matcher     a matcher used to filter the output list
    * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read.
    * @param timeBetweenSizeCheckUnit time unit to be used in the wait time between size checks.
+   * @param subset        parameter group that lets you obtain a subset of the results
+   * @param listingParallelism the maximum amount of sub-directories to list concurrently. Defaults to 1.
+   * @param maxDepth      the maximum depth of the listed entries when {@code recursive} is {@code true}, where the contents of
+   *                      {@code directoryPath} are at depth 1. Deeper sub-directories are not walked. Unlimited by default.
+   * @param excludePatterns patterns of the paths to leave out of the listing, such as {@code **}{@code /archive}. Matching
+   *                      entries are never read, and matching sub-directories are not walked.
    * @return a {@link List} of {@link Message messages} each one containing each file's content in the payload and metadata in the attributes
    * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exist or is not a directory
    */
@@ -84,12 +115,19 @@ public final class FileOperations extends BaseFileSystemOperations {
                                                                                        tab = ADVANCED_TAB) TimeUnit timeBetweenSizeCheckUnit,
                                                                                    StreamingHelper streamingHelper,
                                                                                    @Optional @Placement(
-                                                                                       tab = ADVANCED_TAB) @Summary("Limit and sort the number of files returned") LocalSubsetList subset) {
-    PagingProvider result =
-        doPagedList(config, directoryPath, recursive, matcher,
-                    config.getTimeBetweenSizeCheckInMillis(timeBetweenSizeCheck, timeBetweenSizeCheckUnit).orElse(null),
-                    streamingHelper, subset);
-    return result;
+                                                                                       tab = ADVANCED_TAB) @Summary("Limit and sort the number of files returned") LocalSubsetList subset,
+                                                                                   @Optional(defaultValue = "1") @Placement(
+                                                                                       tab = ADVANCED_TAB) @Summary("Maximum number of sub-directories to list concurrently when listing recursively") int listingParallelism,
+                                                                                   @Optional @Placement(
+                                                                                       tab = ADVANCED_TAB) @Summary("Maximum depth of the listed entries when listing recursively") Integer maxDepth,
+                                                                                   @Optional @NullSafe @Placement(
+                                                                                       tab = ADVANCED_TAB) @Summary("Patterns of the paths to leave out of the listing, without walking them") List<String> excludePatterns) {
+    checkArgument(listingParallelism > 0, "listingParallelism must be greater than zero");
+    CompiledFileMatcher predicate = CompiledFileMatcher.compile(matcher);
+    return new LocalListPagingProvider(config, directoryPath, recursive, predicate,
+                                       config.getTimeBetweenSizeCheckInMillis(timeBetweenSizeCheck, timeBetweenSizeCheckUnit)
+                                           .orElse(null),
+                                       subset, listingParallelism, new WalkSettings(maxDepth, excludePatterns), streamingHelper);
   }
 
   /**
@@ -112,6 +150,11 @@ public final class FileOperations extends BaseFileSystemOperations {
    * @param lock       whether or not to lock the file. Defaults to false.
    * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read.
    * @param timeBetweenSizeCheckUnit time unit to be used in the wait time between size checks.
+   * @param memoryMapped whether to serve the content from memory mapped regions of the file instead of buffered reads. This
+   *                     speeds up reading large files, especially when they are read more than once. Defaults to false.
+   * @param sharedLock whether the lock, if {@code lock} is set, should be a shared one, which lets concurrent readers hold it at
+   *                   the same time while still excluding writers, and doesn't require the file to be writable. Defaults to
+   *                   false.
    * @return the file's content and metadata on a {@link FileAttributes} instance
    * @throws IllegalArgumentException if the file at the given path doesn't exist
    */
@@ -127,10 +170,20 @@ public final class FileOperations extends BaseFileSystemOperations {
                                                        @ConfigOverride @Placement(
                                                            tab = ADVANCED_TAB) Long timeBetweenSizeCheck,
                                                        @ConfigOverride @Placement(
-                                                           tab = ADVANCED_TAB) TimeUnit timeBetweenSizeCheckUnit) {
-    Result result = doRead(config, fileSystem, path, lock,
-                           config.getTimeBetweenSizeCheckInMillis(timeBetweenSizeCheck, timeBetweenSizeCheckUnit).orElse(null));
-    return (Result<InputStream, LocalFileAttributes>) result;
+                                                           tab = ADVANCED_TAB) TimeUnit timeBetweenSizeCheckUnit,
+                                                       @Optional(defaultValue = "false") @Placement(
+                                                           tab = ADVANCED_TAB) @Summary("Whether to map the file into memory instead of reading it through a buffer") boolean memoryMapped,
+                                                       @Optional(defaultValue = "false") @Placement(
+                                                           tab = ADVANCED_TAB) @Summary("Whether to lock the file with a shared lock which other readers can hold too") boolean sharedLock) {
+    return measure(fileSystem, READ, () -> {
+      Long timeBetweenSizeCheckInMillis =
+          config.getTimeBetweenSizeCheckInMillis(timeBetweenSizeCheck, timeBetweenSizeCheckUnit).orElse(null);
+      if (memoryMapped || (lock && sharedLock)) {
+        fileSystem.changeToBaseDir();
+        return ((LocalFileSystem) fileSystem).read(config, path, lock, timeBetweenSizeCheckInMillis, memoryMapped, sharedLock);
+      }
+      return (Result) doRead(config, fileSystem, path, lock, timeBetweenSizeCheckInMillis);
+    });
   }
 
   /**
@@ -161,7 +214,7 @@ public final class FileOperations extends BaseFileSystemOperations {
                     @Optional(defaultValue = "true") boolean createParentDirectories,
                     @Optional(defaultValue = "false") @Placement(tab = ADVANCED_TAB) boolean lock, @Optional(
                         defaultValue = "OVERWRITE") @Summary("How the file is going to be written") @DisplayName("Write Mode") FileWriteMode mode) {
-    super.doWrite(config, fileSystem, path, content, createParentDirectories, lock, mode);
+    measure(fileSystem, WRITE, () -> super.doWrite(config, fileSystem, path, content, createParentDirectories, lock, mode));
   }
 
   /**
@@ -184,6 +237,19 @@ public final class FileOperations extends BaseFileSystemOperations {
    * @param createParentDirectories whether or not to attempt creating any parent directories which don't exists.
    * @param overwrite               whether or not overwrite the file if the target destination already exists.
    * @param renameTo                copied file's new name. If not provided, original file name will be kept.
+   * @param copyConcurrency         the maximum amount of files to copy concurrently when copying a directory. Defaults to 1.
+   * @param copyChunkSize           if provided, files are copied by the operating system in chunks of this size, logging the
+   *                                progress at debug level after each one of them. This attribute works in tandem with
+   *                                {@code copyChunkSizeUnit}.
+   * @param copyChunkSizeUnit       a {@link DataUnit} which qualifies the {@code copyChunkSize}. Defaults to {@code MB}.
+   * @param preserveTimestamps      whether the copy of a single file should keep the times of the source file. Copies of
+   *                                directories always keep the last modified time of each file. Defaults to false.
+   * @param resumable               whether the copy of a single file can be resumed if it's interrupted. If so, the content is
+   *                                copied into a hidden partial file next to the target, which is renamed into the target once
+   *                                complete, and a new attempt of the same copy resumes from the last byte known to be on
+   *                                disk. Defaults to false.
+   * @param copyStrategy            a {@link CopyStrategy} which defines how the content of each file is copied. Strategies
+   *                                which cannot be applied fall back to copying the content. Defaults to {@code COPY}.
    * @throws IllegalArgumentException if an illegal combination of arguments is supplied
    */
   @Summary("Copies a file")
@@ -191,8 +257,33 @@ public final class FileOperations extends BaseFileSystemOperations {
   public void copy(@Config FileConnectorConfig config, @Connection FileSystem fileSystem,
                    @Path(location = EXTERNAL) String sourcePath, @Path(location = EXTERNAL) String targetPath,
                    @Optional(defaultValue = "true") boolean createParentDirectories,
-                   @Optional(defaultValue = "false") boolean overwrite, @Optional String renameTo) {
-    super.doCopy(config, fileSystem, sourcePath, targetPath, createParentDirectories, overwrite, renameTo);
+                   @Optional(defaultValue = "false") boolean overwrite, @Optional String renameTo,
+                   @Optional(defaultValue = "1") @Placement(
+                       tab = ADVANCED_TAB) @Summary("Maximum number of files to copy concurrently when copying a directory") int copyConcurrency,
+                   @Optional @Placement(
+                       tab = ADVANCED_TAB) @Summary("Size of the chunks in which the operating system copies each file") Integer copyChunkSize,
+                   @Optional(defaultValue = "MB") @Placement(
+                       tab = ADVANCED_TAB) @Summary("Unit of the copy chunk size") DataUnit copyChunkSizeUnit,
+                   @Optional(defaultValue = "false") @Placement(
+                       tab = ADVANCED_TAB) @Summary("Whether the copied file keeps the times of the source file") boolean preserveTimestamps,
+                   @Optional(defaultValue = "false") @Placement(
+                       tab = ADVANCED_TAB) @Summary("Whether an interrupted copy of a file is resumed by the next attempt") boolean resumable,
+                   @Optional(defaultValue = "COPY") @Placement(
+                       tab = ADVANCED_TAB) @Summary("How the content of each file is copied") CopyStrategy copyStrategy) {
+    checkArgument(copyConcurrency > 0, "copyConcurrency must be greater than zero");
+    checkArgument(copyChunkSize == null || copyChunkSize > 0, "copyChunkSize must be greater than zero");
+    measure(fileSystem, COPY, () -> {
+      if (copyConcurrency > 1 || copyChunkSize != null || preserveTimestamps || resumable
+          || copyStrategy != CopyStrategy.COPY) {
+        Long chunkSize = copyChunkSize != null ? (long) copyChunkSizeUnit.toBytes(copyChunkSize) : null;
+        fileSystem.changeToBaseDir();
+        ((LocalFileSystem) fileSystem).copy(config, sourcePath, targetPath, overwrite, createParentDirectories, renameTo,
+                                            new CopySettings(copyConcurrency, chunkSize, preserveTimestamps, resumable,
+                                                             copyStrategy));
+      } else {
+        super.doCopy(config, fileSystem, sourcePath, targetPath, createParentDirectories, overwrite, renameTo);
+      }
+    });
   }
 
   /**
@@ -215,6 +306,9 @@ public final class FileOperations extends BaseFileSystemOperations {
    * @param createParentDirectories whether or not to attempt creating any parent directories which don't exists.
    * @param overwrite               whether or not overwrite the file if the target destination already exists.
    * @param renameTo                moved file's new name. If not provided, original file name will be kept.
+   * @param resumable               whether moving a single file into another file system can be resumed if it's interrupted.
+   *                                If so, the file is copied as a resumable copy and the source is only deleted once the copy
+   *                                is complete. Defaults to false.
    * @throws IllegalArgumentException if an illegal combination of arguments is supplied
    */
   @Summary("Moves a file")
@@ -222,8 +316,17 @@ public final class FileOperations extends BaseFileSystemOperations {
   public void move(@Config FileConnectorConfig config, @Connection FileSystem fileSystem,
                    @Path(location = EXTERNAL) String sourcePath, @Path(type = DIRECTORY, location = EXTERNAL) String targetPath,
                    @Optional(defaultValue = "true") boolean createParentDirectories,
-                   @Optional(defaultValue = "false") boolean overwrite, @Optional String renameTo) {
-    super.doMove(config, fileSystem, sourcePath, targetPath, createParentDirectories, overwrite, renameTo);
+                   @Optional(defaultValue = "false") boolean overwrite, @Optional String renameTo,
+                   @Optional(defaultValue = "false") @Placement(
+                       tab = ADVANCED_TAB) @Summary("Whether an interrupted move of a file into another file system is resumed by the next attempt") boolean resumable) {
+    measure(fileSystem, MOVE, () -> {
+      if (resumable) {
+        fileSystem.changeToBaseDir();
+        ((LocalFileSystem) fileSystem).move(config, sourcePath, targetPath, overwrite, createParentDirectories, renameTo, true);
+      } else {
+        super.doMove(config, fileSystem, sourcePath, targetPath, createParentDirectories, overwrite, renameTo);
+      }
+    });
   }
 
 
@@ -237,7 +340,7 @@ public final class FileOperations extends BaseFileSystemOperations {
   @Summary("Deletes a file")
   @Throws(FileDeleteErrorTypeProvider.class)
   public void delete(@Connection FileSystem fileSystem, @Path(location = EXTERNAL) String path) {
-    super.doDelete(fileSystem, path);
+    measure(fileSystem, DELETE, () -> super.doDelete(fileSystem, path));
   }
 
   /**
@@ -254,7 +357,7 @@ public final class FileOperations extends BaseFileSystemOperations {
   @Throws(FileRenameErrorTypeProvider.class)
   public void rename(@Connection FileSystem fileSystem, @Path(location = EXTERNAL) String path,
                      @DisplayName("New Name") String to, @Optional(defaultValue = "false") boolean overwrite) {
-    super.doRename(fileSystem, path, to, overwrite);
+    measure(fileSystem, RENAME, () -> super.doRename(fileSystem, path, to, overwrite));
   }
 
   /**
@@ -267,7 +370,35 @@ public final class FileOperations extends BaseFileSystemOperations {
   @Throws(FileRenameErrorTypeProvider.class)
   public void createDirectory(@Connection FileSystem fileSystem,
                               @Path(type = DIRECTORY, location = EXTERNAL) String directoryPath) {
-    super.doCreateDirectory(fileSystem, directoryPath);
+    measure(fileSystem, CREATE_DIRECTORY, () -> super.doCreateDirectory(fileSystem, directoryPath));
+  }
+
+  /**
+   * Executes the {@code operation}, recording on the {@link FileMetrics} of the {@code fileSystem} how long it took and whether
+   * it failed. Every operation goes through here, so that none of them is left out of the measurements.
+   */
+  private static <T> T measure(FileSystem fileSystem, FileOperationType type, Supplier<T> operation) {
+    FileMetrics metrics = fileSystem instanceof LocalFileSystem ? ((LocalFileSystem) fileSystem).getMetrics() : FileMetrics.NO_OP;
+    if (!metrics.isEnabled()) {
+      return operation.get();
+    }
+
+    long start = nanoTime();
+    boolean failed = true;
+    try {
+      T result = operation.get();
+      failed = false;
+      return result;
+    } finally {
+      metrics.recordOperation(type, nanoTime() - start, failed);
+    }
+  }
+
+  private static void measure(FileSystem fileSystem, FileOperationType type, Runnable operation) {
+    measure(fileSystem, type, () -> {
+      operation.run();
+      return null;
+    });
   }
 
 }
@@ -12,23 +12,37 @@ import static java.nio.file.Files.notExists;
 import static org.mule.extension.file.common.api.exceptions.FileError.FILE_DOESNT_EXIST;
 import static org.mule.extension.file.common.api.exceptions.FileError.FILE_IS_NOT_DIRECTORY;
 import static org.mule.extension.file.common.api.exceptions.FileError.ILLEGAL_PATH;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.connection.ConnectionValidationResult.success;
 import static org.mule.runtime.api.meta.model.display.PathModel.Location.EXTERNAL;
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED_TAB;
 import static org.slf4j.LoggerFactory.getLogger;
+import org.mule.extension.file.api.LockWaitMode;
 import org.mule.extension.file.api.exception.FileConnectionException;
 import org.mule.extension.file.common.api.FileSystem;
 import org.mule.extension.file.common.api.FileSystemProvider;
+import org.mule.extension.file.internal.command.ListingPools;
+import org.mule.extension.file.internal.command.Trash;
+import org.mule.extension.file.internal.lock.PathLocker;
+import org.mule.extension.file.internal.metrics.FileMetrics;
+import org.mule.extension.file.internal.metrics.FileMetricsFactory;
 import org.mule.runtime.api.connection.CachedConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 
@@ -39,7 +53,7 @@ import org.slf4j.Logger;
  */
 @DisplayName("Local FileSystem Connection")
 public final class LocalFileConnectionProvider extends FileSystemProvider<LocalFileSystem>
-    implements CachedConnectionProvider<LocalFileSystem> {
+    implements CachedConnectionProvider<LocalFileSystem>, Initialisable, Disposable {
 
   private static final Logger LOGGER = getLogger(LocalFileConnectionProvider.class);
 
@@ -55,6 +69,93 @@ public final class LocalFileConnectionProvider extends FileSystemProvider<LocalF
   @org.mule.runtime.extension.api.annotation.param.display.Path(location = EXTERNAL)
   private String workingDir;
 
+  /**
+   * If provided, deleted directories are atomically moved into this directory and deleted in the background, so that the
+   * delete operation doesn't have to wait for every file to be deleted. It must be on the same file system as the deleted
+   * directories, otherwise they are deleted in place. Relative paths are resolved against the {@link #workingDir}.
+   */
+  @Parameter
+  @Optional
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Directory into which deleted directories are moved to be deleted in the background")
+  @org.mule.runtime.extension.api.annotation.param.display.Path(location = EXTERNAL)
+  private String trashDirectory;
+
+  /**
+   * The maximum amount of directories of the {@link #trashDirectory} which are deleted concurrently. Must be greater than zero.
+   */
+  @Parameter
+  @Optional(defaultValue = "2")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Maximum number of directories of the trash directory to delete concurrently")
+  private int trashDeletionConcurrency;
+
+  /**
+   * The maximum time to wait for a file which is to be locked to be released, first by other threads of this application and
+   * then, depending on the {@link #lockWaitMode}, by other processes. If not greater than zero, locking a file which is already
+   * locked fails right away. This attribute works in tandem with {@link #lockWaitTimeoutUnit}.
+   */
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Maximum time to wait for a file which is to be locked to be released")
+  private long lockWaitTimeout;
+
+  /**
+   * A {@link TimeUnit} which qualifies the {@link #lockWaitTimeout} attribute.
+   * <p>
+   * Defaults to {@code MILLISECONDS}
+   */
+  @Parameter
+  @Optional(defaultValue = "MILLISECONDS")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Time unit of the lock wait timeout")
+  private TimeUnit lockWaitTimeoutUnit;
+
+  /**
+   * Whether threads waiting for the same file to be released should lock it in the order in which they started waiting.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Whether threads waiting for a locked file acquire it in the order in which they started waiting")
+  private boolean fairLocking;
+
+  /**
+   * How to wait for a file locked by another process to be released, for up to the {@link #lockWaitTimeout}. Defaults to
+   * {@code FAIL_FAST}, which doesn't wait at all.
+   */
+  @Parameter
+  @Optional(defaultValue = "FAIL_FAST")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("How to wait for a file locked by another process to be released")
+  private LockWaitMode lockWaitMode;
+
+  /**
+   * Whether to measure the operations of this config. Measurements are exposed as MBeans of the platform MBean server, under
+   * the {@code org.mule.extension.file} domain, unless another binding is plugged in through a {@link FileMetricsFactory}.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Whether to measure the latency, errors and transferred bytes of the operations and expose them through JMX")
+  private boolean metricsEnabled;
+
+  private FileMetrics metrics;
+  private Trash trash;
+  private ListingPools listingPools;
+
+  /**
+   * Validates the parameters which don't depend on the file system
+   */
+  @Override
+  public void initialise() throws InitialisationException {
+    if (trashDirectory != null && trashDeletionConcurrency <= 0) {
+      throw new InitialisationException(createStaticMessage(format("Parameter 'trashDeletionConcurrency' must be greater than "
+          + "zero but '%d' was received", trashDeletionConcurrency)), this);
+    }
+  }
+
   /**
    * Creates and returns a new instance of {@link LocalFileSystem}
    *
@@ -63,17 +164,71 @@ public final class LocalFileConnectionProvider extends FileSystemProvider<LocalF
   @Override
   public LocalFileSystem connect() throws ConnectionException {
     validateWorkingDir();
-    return new LocalFileSystem(workingDir);
+    PathLocker locker = new PathLocker(lockWaitTimeoutUnit.toMillis(lockWaitTimeout), fairLocking, lockWaitMode);
+    return new LocalFileSystem(workingDir, getTrash(), locker, getMetrics(), getListingPools());
+  }
+
+  /**
+   * Stops deleting the trashed directories, if a {@link #trashDirectory} was provided, stops the pools on which directories are
+   * listed concurrently, and stops exposing the measurements of this config, if {@link #metricsEnabled}
+   */
+  @Override
+  public synchronized void dispose() {
+    if (trash != null) {
+      trash.close();
+      trash = null;
+    }
+
+    if (listingPools != null) {
+      listingPools.close();
+      listingPools = null;
+    }
+
+    if (metrics != null) {
+      metrics.close();
+      metrics = null;
+    }
+  }
+
+  // the measurements outlive each connection, so that reconnecting doesn't reset them
+  private synchronized FileMetrics getMetrics() {
+    if (!metricsEnabled) {
+      return FileMetrics.NO_OP;
+    }
+
+    if (metrics == null) {
+      metrics = FileMetricsFactory.createMetrics(getConfigName());
+    }
+    return metrics;
+  }
+
+  // shared by every connection as well, so that each listing doesn't start its own threads
+  private synchronized ListingPools getListingPools() {
+    if (listingPools == null) {
+      listingPools = new ListingPools();
+    }
+    return listingPools;
+  }
+
+  // the trash is shared by every connection, so that connecting doesn't start a new pool nor delete the same leftovers again
+  private synchronized Trash getTrash() throws ConnectionException {
+    if (trash == null) {
+      trash = openTrash();
+      if (trash != null) {
+        getMetrics().bindTrash(trash);
+      }
+    }
+    return trash;
   }
 
   /**
-   * Does nothing since {@link LocalFileSystem} instances do not require disconnecting
+   * Releases the resources held by the connection
    *
    * @param localFileSystem a {@link LocalFileSystem} instance
    */
   @Override
   public void disconnect(LocalFileSystem localFileSystem) {
-    // no-op
+    localFileSystem.disconnect();
   }
 
   @Override
@@ -105,6 +260,21 @@ public final class LocalFileConnectionProvider extends FileSystemProvider<LocalF
     }
   }
 
+  private Trash openTrash() throws ConnectionException {
+    if (trashDirectory == null) {
+      return null;
+    }
+
+    Path trashPath = Paths.get(workingDir).resolve(trashDirectory);
+    try {
+      return new Trash(trashPath, trashDeletionConcurrency);
+    } catch (IOException e) {
+      throw new FileConnectionException(format("Could not open trash directory '%s': %s", trashPath.toAbsolutePath(),
+                                               e.getMessage()),
+                                        ILLEGAL_PATH);
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -6,9 +6,12 @@
  */
 package org.mule.extension.file.internal;
 
+import static java.lang.System.nanoTime;
+
 import org.mule.extension.file.api.LocalFileAttributes;
 import org.mule.extension.file.common.api.AbstractFileSystem;
 import org.mule.extension.file.common.api.FileAttributes;
+import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.FileSystem;
 import org.mule.extension.file.common.api.command.CopyCommand;
 import org.mule.extension.file.common.api.command.CreateDirectoryCommand;
@@ -19,24 +22,38 @@ import org.mule.extension.file.common.api.command.ReadCommand;
 import org.mule.extension.file.common.api.command.RenameCommand;
 import org.mule.extension.file.common.api.command.WriteCommand;
 import org.mule.extension.file.common.api.lock.PathLock;
+import org.mule.extension.file.common.api.subset.SubsetList;
+import org.mule.extension.file.internal.command.CopySettings;
 import org.mule.extension.file.internal.command.LocalCopyCommand;
 import org.mule.extension.file.internal.command.LocalCreateDirectoryCommand;
 import org.mule.extension.file.internal.command.LocalDeleteCommand;
+import org.mule.extension.file.internal.command.ListingPools;
 import org.mule.extension.file.internal.command.LocalListCommand;
+import org.mule.extension.file.internal.command.LocalListIterator;
 import org.mule.extension.file.internal.command.LocalMoveCommand;
 import org.mule.extension.file.internal.command.LocalReadCommand;
 import org.mule.extension.file.internal.command.LocalRenameCommand;
 import org.mule.extension.file.internal.command.LocalWriteCommand;
+import org.mule.extension.file.internal.command.Trash;
+import org.mule.extension.file.internal.command.WalkSettings;
 import org.mule.extension.file.internal.lock.FileChannelPathLock;
+import org.mule.extension.file.internal.lock.PathLocker;
+import org.mule.extension.file.internal.metrics.FileMetrics;
+import org.mule.runtime.extension.api.runtime.operation.Result;
 
+import java.io.InputStream;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 /**
  * Implementation of {@link FileSystem} for file systems mounted on the host operating system.
  * <p>
  * Whenever the {@link FileSystem} contract refers to locking, this implementation will resolve through a {@link FileChannelPathLock},
- * which produces file system level locks which rely on the host operating system.
+ * which produces file system level locks which rely on the host operating system. Those are preceded by an in memory lock
+ * created by a {@link PathLocker}, which resolves contention between threads of the same JVM.
  * <p>
  * Also, for any method returning {@link FileAttributes} instances, a {@link LocalFileAttributes} will be used.
  *
@@ -44,27 +61,84 @@ import java.nio.file.Path;
  */
 public class LocalFileSystem extends AbstractFileSystem<LocalFileAttributes> {
 
-  private final CopyCommand copyCommand;
+  private final LocalCopyCommand copyCommand;
   private final CreateDirectoryCommand createDirectoryCommand;
   private final DeleteCommand deleteCommand;
-  private final ListCommand<LocalFileAttributes> listCommand;
-  private final MoveCommand moveCommand;
-  private final ReadCommand<LocalFileAttributes> readCommand;
+  private final LocalListCommand listCommand;
+  private final LocalMoveCommand moveCommand;
+  private final LocalReadCommand readCommand;
   private final RenameCommand renameCommand;
   private final WriteCommand writeCommand;
 
+  private final Trash trash;
+  private final PathLocker locker;
+  private final FileMetrics metrics;
+
   /**
    * Creates a new instance
    */
   public LocalFileSystem(String basePath) {
+    this(basePath, null);
+  }
+
+  /**
+   * Creates a new instance which deletes directories by moving them into the given {@code trash}
+   *
+   * @param basePath the directory to be considered as the root of every relative path
+   * @param trash    the {@link Trash} into which deleted directories are moved, or {@code null} to delete them in place
+   * @since 1.6.0
+   */
+  public LocalFileSystem(String basePath, Trash trash) {
+    this(basePath, trash, new PathLocker());
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param basePath the directory to be considered as the root of every relative path
+   * @param trash    the {@link Trash} into which deleted directories are moved, or {@code null} to delete them in place
+   * @param locker   the {@link PathLocker} which creates the locks of this file system
+   * @since 1.6.0
+   */
+  public LocalFileSystem(String basePath, Trash trash, PathLocker locker) {
+    this(basePath, trash, locker, FileMetrics.NO_OP);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param basePath the directory to be considered as the root of every relative path
+   * @param trash    the {@link Trash} into which deleted directories are moved, or {@code null} to delete them in place
+   * @param locker   the {@link PathLocker} which creates the locks of this file system
+   * @param metrics  the {@link FileMetrics} on which the operations of this file system are measured
+   * @since 1.6.0
+   */
+  public LocalFileSystem(String basePath, Trash trash, PathLocker locker, FileMetrics metrics) {
+    this(basePath, trash, locker, metrics, new ListingPools());
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param basePath     the directory to be considered as the root of every relative path
+   * @param trash        the {@link Trash} into which deleted directories are moved, or {@code null} to delete them in place
+   * @param locker       the {@link PathLocker} which creates the locks of this file system
+   * @param metrics      the {@link FileMetrics} on which the operations of this file system are measured
+   * @param listingPools the {@link ListingPools} on which recursive listings list sub-directories concurrently
+   * @since 1.6.0
+   */
+  public LocalFileSystem(String basePath, Trash trash, PathLocker locker, FileMetrics metrics, ListingPools listingPools) {
     super(basePath);
+    this.trash = trash;
+    this.locker = locker;
+    this.metrics = metrics;
 
     copyCommand = new LocalCopyCommand(this);
     createDirectoryCommand = new LocalCreateDirectoryCommand(this);
-    deleteCommand = new LocalDeleteCommand(this);
+    deleteCommand = new LocalDeleteCommand(this, trash);
     moveCommand = new LocalMoveCommand(this);
     readCommand = new LocalReadCommand(this);
-    listCommand = new LocalListCommand(this, (LocalReadCommand) readCommand);
+    listCommand = new LocalListCommand(this, readCommand, listingPools);
     renameCommand = new LocalRenameCommand(this);
     writeCommand = new LocalWriteCommand(this);
   }
@@ -109,18 +183,220 @@ public class LocalFileSystem extends AbstractFileSystem<LocalFileAttributes> {
     return writeCommand;
   }
 
+  /**
+   * Lazily lists the contents of the {@code directoryPath}, reading entries from the file system as the returned
+   * {@link LocalListIterator} is consumed.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @return a {@link LocalListIterator} which must be closed if it's not fully consumed
+   * @see LocalListCommand#iterate(FileConnectorConfig, String, boolean, Predicate, Long)
+   */
+  public LocalListIterator iterate(FileConnectorConfig config, String directoryPath, boolean recursive,
+                                   Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck) {
+    return listCommand.iterate(config, directoryPath, recursive, matcher, timeBetweenSizeCheck);
+  }
+
+  /**
+   * Same as {@link #iterate(FileConnectorConfig, String, boolean, Predicate, Long)}, but limits how far the tree is walked
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param walkSettings         the {@link WalkSettings} which limit the walked tree
+   * @return a {@link LocalListIterator} which must be closed if it's not fully consumed
+   * @see LocalListCommand#iterate(FileConnectorConfig, String, boolean, Predicate, Long, WalkSettings)
+   */
+  public LocalListIterator iterate(FileConnectorConfig config, String directoryPath, boolean recursive,
+                                   Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck,
+                                   WalkSettings walkSettings) {
+    return listCommand.iterate(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, walkSettings);
+  }
+
+  /**
+   * Lists the contents of the {@code directoryPath}, listing up to {@code parallelism} sub-directories concurrently when
+   * {@code recursive} is {@code true}.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param subsetList           parameter group that lets you obtain a subset of the results
+   * @param parallelism          the maximum amount of directories to list concurrently
+   * @return a {@link List} of {@link Result} objects
+   * @see LocalListCommand#list(FileConnectorConfig, String, boolean, Predicate, Long, SubsetList, int)
+   */
+  public List<Result<InputStream, LocalFileAttributes>> list(FileConnectorConfig config, String directoryPath, boolean recursive,
+                                                             Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck,
+                                                             SubsetList subsetList, int parallelism) {
+    return listCommand.list(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, subsetList, parallelism);
+  }
+
+  /**
+   * Same as {@link #list(FileConnectorConfig, String, boolean, Predicate, Long, SubsetList, int)}, but limits how far the tree
+   * is walked
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param subsetList           parameter group that lets you obtain a subset of the results
+   * @param parallelism          the maximum amount of directories to list concurrently
+   * @param walkSettings         the {@link WalkSettings} which limit the walked tree
+   * @return a {@link List} of {@link Result} objects
+   * @see LocalListCommand#list(FileConnectorConfig, String, boolean, Predicate, Long, SubsetList, int, WalkSettings)
+   */
+  public List<Result<InputStream, LocalFileAttributes>> list(FileConnectorConfig config, String directoryPath, boolean recursive,
+                                                             Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck,
+                                                             SubsetList subsetList, int parallelism,
+                                                             WalkSettings walkSettings) {
+    return listCommand.list(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, subsetList, parallelism,
+                            walkSettings);
+  }
+
+  /**
+   * Same as {@link #list(FileConnectorConfig, String, boolean, Predicate, Long, SubsetList, int, WalkSettings)}, but listing
+   * sub-directories on the given {@code pool}, which is not shut down
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param subsetList           parameter group that lets you obtain a subset of the results
+   * @param pool                 the {@link ForkJoinPool} on which sub-directories are listed, or {@code null} to list them
+   *                             sequentially
+   * @param walkSettings         the {@link WalkSettings} which limit the walked tree
+   * @return a {@link List} of {@link Result} objects
+   * @see LocalListCommand#list(FileConnectorConfig, String, boolean, Predicate, Long, SubsetList, ForkJoinPool, WalkSettings)
+   */
+  public List<Result<InputStream, LocalFileAttributes>> list(FileConnectorConfig config, String directoryPath, boolean recursive,
+                                                             Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck,
+                                                             SubsetList subsetList, ForkJoinPool pool,
+                                                             WalkSettings walkSettings) {
+    return listCommand.list(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, subsetList, pool, walkSettings);
+  }
+
+  /**
+   * Reads the file at the {@code filePath}, optionally serving its content from memory mapped regions of the file and
+   * locking it with a shared lock.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param filePath             the path of the file to be read
+   * @param lock                 whether or not to lock the file
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param memoryMapped         whether to map the file into memory instead of reading it through a buffer
+   * @param sharedLock           whether the lock, if any, should be a shared one
+   * @return a {@link Result} with the file's content and attributes
+   * @see LocalReadCommand#read(FileConnectorConfig, String, boolean, Long, boolean, boolean)
+   */
+  public Result<InputStream, LocalFileAttributes> read(FileConnectorConfig config, String filePath, boolean lock,
+                                                       Long timeBetweenSizeCheck, boolean memoryMapped, boolean sharedLock) {
+    return readCommand.read(config, filePath, lock, timeBetweenSizeCheck, memoryMapped, sharedLock);
+  }
+
+  /**
+   * Copies the {@code sourcePath} into the {@code targetDirectory}, tuning how the files are copied through the given
+   * {@code settings}.
+   *
+   * @param config                  the config that is parameterizing this operation
+   * @param sourcePath              the path to be copied
+   * @param targetDirectory         the target directory
+   * @param overwrite               whether to overwrite the target files if they already exist
+   * @param createParentDirectories whether to create the target's parent directories if they don't exist
+   * @param renameTo                the new file name, {@code null} if the file doesn't need to be renamed
+   * @param settings                the {@link CopySettings} to copy with
+   * @see LocalCopyCommand#copy(FileConnectorConfig, String, String, boolean, boolean, String, CopySettings)
+   */
+  public void copy(FileConnectorConfig config, String sourcePath, String targetDirectory, boolean overwrite,
+                   boolean createParentDirectories, String renameTo, CopySettings settings) {
+    copyCommand.copy(config, sourcePath, targetDirectory, overwrite, createParentDirectories, renameTo, settings);
+  }
+
+  /**
+   * Moves the {@code sourcePath} into the {@code targetDirectory}, optionally in a way that can be resumed if it's interrupted
+   * while moving a file into another file system.
+   *
+   * @param config                  the config that is parameterizing this operation
+   * @param sourcePath              the path to be moved
+   * @param targetDirectory         the target directory
+   * @param overwrite               whether to overwrite the target files if they already exist
+   * @param createParentDirectories whether to create the target's parent directories if they don't exist
+   * @param renameTo                the new file name, {@code null} if the file doesn't need to be renamed
+   * @param resumable               whether moving a file into another file system can be resumed
+   * @see LocalMoveCommand#move(FileConnectorConfig, String, String, boolean, boolean, String, boolean)
+   */
+  public void move(FileConnectorConfig config, String sourcePath, String targetDirectory, boolean overwrite,
+                   boolean createParentDirectories, String renameTo, boolean resumable) {
+    moveCommand.move(config, sourcePath, targetDirectory, overwrite, createParentDirectories, renameTo, resumable);
+  }
+
   @Override
   protected PathLock createLock(Path path) {
     throw new UnsupportedOperationException("Use lock(Path, FileChannel) instead");
   }
 
   public PathLock lock(Path path, FileChannel channel) {
-    final FileChannelPathLock lock = new FileChannelPathLock(path, channel);
-    acquireLock(lock);
+    final PathLock lock = locker.createLock(path, channel);
+    acquireMeasuredLock(lock);
+
+    return lock;
+  }
+
+  /**
+   * Acquires a shared lock on the {@code path}, which can be held together with other shared locks but not with an exclusive
+   * one
+   *
+   * @param path the path to lock
+   * @return the acquired {@link PathLock}
+   * @since 1.6.0
+   */
+  public PathLock lockShared(Path path) {
+    final PathLock lock = locker.createSharedLock(path);
+    acquireMeasuredLock(lock);
 
     return lock;
   }
 
+  private void acquireMeasuredLock(PathLock lock) {
+    long start = nanoTime();
+    try {
+      acquireLock(lock);
+    } finally {
+      metrics.recordLockWait(nanoTime() - start);
+    }
+  }
+
+  /**
+   * @return the {@link FileMetrics} on which the operations of this file system are measured
+   * @since 1.6.0
+   */
+  public FileMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * @return the {@link Trash} into which deleted directories are moved, or {@code null} if they are deleted in place
+   */
+  public Trash getTrash() {
+    return trash;
+  }
+
+  /**
+   * Releases the resources held by this file system. The {@link Trash} is shared by all the connections of a config, so it's
+   * left open.
+   */
+  public void disconnect() {
+    locker.close();
+  }
+
   /**
    * No-op implementation.
    */
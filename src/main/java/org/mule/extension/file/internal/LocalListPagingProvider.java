@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal;
+
+import static java.lang.System.nanoTime;
+import static java.util.Optional.empty;
+import static org.mule.extension.file.internal.metrics.FileOperationType.LIST;
+import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.api.subset.LocalSubsetList;
+import org.mule.extension.file.common.api.FileConnectorConfig;
+import org.mule.extension.file.internal.command.LocalListIterator;
+import org.mule.extension.file.internal.command.WalkSettings;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
+import org.mule.runtime.extension.api.runtime.streaming.StreamingHelper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * {@link PagingProvider} for the list operation.
+ * <p>
+ * When no subset was requested, each page is pulled straight off a {@link LocalListIterator}, so the directory is walked as pages
+ * are consumed and memory usage is bounded by the page size instead of by the amount of listed files. Since obtaining a subset
+ * requires all the files to be known upfront, in that case the listing is performed in full when the first page is requested.
+ * <p>
+ * The listing is measured as a single operation once the provider is closed, whose latency is the time spent producing the
+ * pages, without the time the flow spent consuming them.
+ *
+ * @since 1.6.0
+ */
+final class LocalListPagingProvider implements PagingProvider<LocalFileSystem, Result<Object, LocalFileAttributes>> {
+
+  private static final int LIST_PAGE_SIZE = 10;
+
+  private final FileConnectorConfig config;
+  private final String directoryPath;
+  private final boolean recursive;
+  private final Predicate<LocalFileAttributes> matcher;
+  private final Long timeBetweenSizeCheck;
+  private final LocalSubsetList subset;
+  private final int parallelism;
+  private final WalkSettings walkSettings;
+  private final StreamingHelper streamingHelper;
+
+  private Iterator<Result<InputStream, LocalFileAttributes>> files;
+  private LocalListIterator listIterator;
+  private long listingNanos = 0;
+  private boolean listingFailed = false;
+
+  LocalListPagingProvider(FileConnectorConfig config, String directoryPath, boolean recursive,
+                          Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck, LocalSubsetList subset,
+                          int parallelism, WalkSettings walkSettings, StreamingHelper streamingHelper) {
+    this.config = config;
+    this.directoryPath = directoryPath;
+    this.recursive = recursive;
+    this.matcher = matcher;
+    this.timeBetweenSizeCheck = timeBetweenSizeCheck;
+    this.subset = subset;
+    this.parallelism = parallelism;
+    this.walkSettings = walkSettings;
+    this.streamingHelper = streamingHelper;
+  }
+
+  @Override
+  public List<Result<Object, LocalFileAttributes>> getPage(LocalFileSystem fileSystem) {
+    long start = nanoTime();
+    boolean failed = true;
+    try {
+      if (files == null) {
+        files = openFiles(fileSystem);
+      }
+
+      List<Result<Object, LocalFileAttributes>> page = new ArrayList<>(LIST_PAGE_SIZE);
+      for (int i = 0; i < LIST_PAGE_SIZE && files.hasNext(); i++) {
+        page.add(toPageItem(files.next()));
+      }
+
+      fileSystem.getMetrics().recordFilesListed(page.size());
+      failed = false;
+      return page;
+    } finally {
+      listingNanos += nanoTime() - start;
+      listingFailed |= failed;
+    }
+  }
+
+  @Override
+  public Optional<Integer> getTotalResults(LocalFileSystem fileSystem) {
+    return empty();
+  }
+
+  @Override
+  public void close(LocalFileSystem fileSystem) {
+    if (listIterator != null) {
+      closeQuietly(listIterator);
+    }
+    fileSystem.getMetrics().recordOperation(LIST, listingNanos, listingFailed);
+  }
+
+  private Iterator<Result<InputStream, LocalFileAttributes>> openFiles(LocalFileSystem fileSystem) {
+    fileSystem.changeToBaseDir();
+    if (subset != null || (recursive && parallelism > 1)) {
+      return fileSystem.list(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, subset, parallelism, walkSettings)
+          .iterator();
+    }
+
+    listIterator = fileSystem.iterate(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, walkSettings);
+    return listIterator;
+  }
+
+  private Result<Object, LocalFileAttributes> toPageItem(Result<InputStream, LocalFileAttributes> file) {
+    InputStream content = file.getOutput();
+    return Result.<Object, LocalFileAttributes>builder()
+        .output(content != null ? streamingHelper.resolveCursorProvider(content) : null)
+        .mediaType(file.getMediaType().orElse(null))
+        .attributes(file.getAttributes().orElse(null))
+        .build();
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An {@link InputStream} which serves a file's content straight from memory mapped regions of its {@link FileChannel}, so that
+ * reading doesn't require a system call nor a copy into an intermediate buffer.
+ * <p>
+ * Since a single mapping cannot exceed {@link Integer#MAX_VALUE} bytes, bigger files are mapped one region at a time, moving
+ * to the next region as the stream is consumed. {@link #skip(long)} doesn't touch the file at all, it just moves the position,
+ * and only the region on which the position ends up is mapped.
+ * <p>
+ * Mapped regions are released by {@link #release()}, after which they are unmapped as soon as they are garbage collected.
+ *
+ * @since 1.6.0
+ */
+final class MappedFileInputStream extends InputStream {
+
+  static final long DEFAULT_REGION_SIZE = 1L << 30;
+
+  private final FileChannel channel;
+  private final long size;
+  private final long regionSize;
+  private long position = 0;
+  private long mark = 0;
+  private MappedByteBuffer region;
+  private long regionStart = -1;
+  private boolean released = false;
+
+  /**
+   * Creates a new instance
+   *
+   * @param channel the {@link FileChannel} to read from
+   * @throws IOException if the size of the file could not be obtained
+   */
+  MappedFileInputStream(FileChannel channel) throws IOException {
+    this(channel, DEFAULT_REGION_SIZE);
+  }
+
+  MappedFileInputStream(FileChannel channel, long regionSize) throws IOException {
+    this.channel = channel;
+    this.regionSize = regionSize;
+    size = channel.size();
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensureRegion()) {
+      return -1;
+    }
+
+    int value = region.get((int) (position - regionStart)) & 0xff;
+    position++;
+    return value;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (offset < 0 || length < 0 || length > buffer.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (length == 0) {
+      return 0;
+    }
+
+    int read = 0;
+    while (read < length && ensureRegion()) {
+      int regionOffset = (int) (position - regionStart);
+      int chunk = (int) Math.min(length - read, region.limit() - regionOffset);
+      region.position(regionOffset);
+      region.get(buffer, offset + read, chunk);
+      position += chunk;
+      read += chunk;
+    }
+
+    return read == 0 ? -1 : read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    checkNotReleased();
+    if (n <= 0) {
+      return 0;
+    }
+
+    long skipped = Math.min(n, size - position);
+    position += skipped;
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    checkNotReleased();
+    return (int) Math.min(size - position, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  @Override
+  public synchronized void mark(int readLimit) {
+    mark = position;
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    checkNotReleased();
+    position = mark;
+  }
+
+  @Override
+  public void close() {
+    release();
+  }
+
+  /**
+   * @return the position of this stream within the file
+   */
+  long getPosition() {
+    return position;
+  }
+
+  /**
+   * Releases the mapped regions. The stream cannot be read afterwards.
+   */
+  void release() {
+    released = true;
+    region = null;
+    regionStart = -1;
+  }
+
+  /**
+   * Makes sure the region which contains the current position is mapped.
+   *
+   * @return {@code false} if the end of the file was reached
+   */
+  private boolean ensureRegion() throws IOException {
+    checkNotReleased();
+    if (position >= size) {
+      return false;
+    }
+
+    if (region == null || position < regionStart || position >= regionStart + region.limit()) {
+      long start = position - (position % regionSize);
+      region = channel.map(READ_ONLY, start, Math.min(regionSize, size - start));
+      regionStart = start;
+    }
+
+    return true;
+  }
+
+  private void checkNotReleased() throws IOException {
+    if (released) {
+      throw new IOException("Stream is closed");
+    }
+  }
+}
@@ -51,6 +51,22 @@ abstract class AbstractLocalCopyCommand extends LocalFileCommand {
    */
   protected final void execute(String sourcePath, String target, boolean overwrite, boolean createParentDirectory,
                                String renameTo) {
+    execute(sourcePath, target, overwrite, createParentDirectory, renameTo, this::doExecute);
+  }
+
+  /**
+   * Performs the base logic and delegates into the given {@code action} to perform the actual copying logic
+   *
+   * @param sourcePath the path to be copied
+   * @param target the path to the target destination
+   * @param overwrite whether to overwrite existing target paths
+   * @param createParentDirectory whether to create the target's parent directory if it doesn't exist
+   * @param renameTo the new file name, {@code null} if the file doesn't need to be renamed
+   * @param action the {@link CopyAction} which copies the source into the resolved target path
+   * @since 1.6.0
+   */
+  protected final void execute(String sourcePath, String target, boolean overwrite, boolean createParentDirectory,
+                               String renameTo, CopyAction action) {
     Path source = resolveExistingPath(sourcePath);
     Path targetPath = resolvePath(target);
     String targetFileName = isBlank(renameTo) ? source.getFileName().toString() : renameTo;
@@ -64,7 +80,7 @@ abstract class AbstractLocalCopyCommand extends LocalFileCommand {
       throw alreadyExistsException(targetPath);
     }
     try {
-      doExecute(source, targetPath, overwrite, copyOption != null ? new CopyOption[] {copyOption} : new CopyOption[] {});
+      action.execute(source, targetPath, overwrite, copyOption != null ? new CopyOption[] {copyOption} : new CopyOption[] {});
     } catch (FileAlreadyExistsException e) {
       throw new org.mule.extension.file.common.api.exceptions.FileAlreadyExistsException(format("Can't %s '%s' to '%s' because the destination path "
           + "already exists. Consider setting the 'overwrite' parameter to 'true'", getAction(), source.toAbsolutePath(),
@@ -115,6 +131,17 @@ abstract class AbstractLocalCopyCommand extends LocalFileCommand {
    */
   protected abstract void doExecute(Path source, Path targetPath, boolean overwrite, CopyOption[] options) throws Exception;
 
+  /**
+   * The actual copying logic, with the same contract as {@link #doExecute(Path, Path, boolean, CopyOption[])}
+   *
+   * @since 1.6.0
+   */
+  @FunctionalInterface
+  protected interface CopyAction {
+
+    void execute(Path source, Path targetPath, boolean overwrite, CopyOption[] options) throws Exception;
+  }
+
   /**
    * @return The name of the action that the implementation is actually doing. Useful for logging and exception messages
    */
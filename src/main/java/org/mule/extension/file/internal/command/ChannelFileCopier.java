@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.extension.file.internal.util.FileChannelTransfers.transferFully;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.slf4j.Logger;
+
+/**
+ * Copies files through {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which lets the operating system move
+ * the bytes from one file into the other (i.e: through {@code copy_file_range} or {@code sendfile}) without them going through
+ * the JVM's memory.
+ * <p>
+ * The content is transferred in chunks of a configurable size, logging the progress at debug level after each one of them so
+ * that long copies can be followed.
+ *
+ * @since 1.6.0
+ */
+final class ChannelFileCopier {
+
+  private static final Logger LOGGER = getLogger(ChannelFileCopier.class);
+
+  private final long chunkSize;
+  private final boolean preserveTimestamps;
+
+  /**
+   * Creates a new instance
+   *
+   * @param chunkSize          the maximum amount of bytes to transfer at a time
+   * @param preserveTimestamps whether the copies should keep the creation, last access and last modified times of the source
+   */
+  ChannelFileCopier(long chunkSize, boolean preserveTimestamps) {
+    this.chunkSize = chunkSize;
+    this.preserveTimestamps = preserveTimestamps;
+  }
+
+  /**
+   * Copies the {@code source} file into the {@code target}.
+   *
+   * @param source    the file to copy
+   * @param target    the path of the copy
+   * @param overwrite whether to overwrite the {@code target} if it already exists
+   * @throws java.nio.file.FileAlreadyExistsException if the {@code target} exists and {@code overwrite} is {@code false}
+   * @throws IOException                              if the file could not be copied
+   */
+  void copy(Path source, Path target, boolean overwrite) throws IOException {
+    OpenOption[] targetOptions = overwrite ? new OpenOption[] {WRITE, CREATE, TRUNCATE_EXISTING}
+        : new OpenOption[] {WRITE, CREATE_NEW};
+
+    try (FileChannel sourceChannel = FileChannel.open(source, READ);
+        FileChannel targetChannel = FileChannel.open(target, targetOptions)) {
+      long size = sourceChannel.size();
+      transferFully(sourceChannel, 0, targetChannel, chunkSize, transferred -> {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Copied {} of {} bytes from '{}' to '{}'", transferred, size, source, target);
+        }
+      });
+    }
+
+    if (preserveTimestamps) {
+      copyTimestamps(source, target);
+    }
+  }
+
+  /**
+   * Sets the creation, last access and last modified times of the {@code source} to the {@code target}. File systems which
+   * don't keep some of them just ignore it.
+   *
+   * @param source the file to take the times from
+   * @param target the file to set the times to
+   * @throws IOException if the times could not be read or set
+   */
+  static void copyTimestamps(Path source, Path target) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+    Files.getFileAttributeView(target, BasicFileAttributeView.class)
+        .setTimes(attributes.lastModifiedTime(), attributes.lastAccessTime(), attributes.creationTime());
+  }
+}
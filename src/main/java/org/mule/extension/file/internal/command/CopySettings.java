@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import org.mule.extension.file.api.CopyStrategy;
+
+/**
+ * Tuning settings which change how {@link LocalCopyCommand} copies files, without affecting which files are copied nor where.
+ *
+ * @since 1.6.0
+ */
+public final class CopySettings {
+
+  private final int concurrency;
+  private final Long chunkSize;
+  private final boolean preserveTimestamps;
+  private final boolean resumable;
+  private final CopyStrategy strategy;
+
+  /**
+   * Creates a new instance
+   *
+   * @param concurrency        the maximum amount of files to copy concurrently when copying a directory
+   * @param chunkSize          the maximum amount of bytes to transfer at a time, or {@code null} to let the platform copy files
+   *                           on its own
+   * @param preserveTimestamps whether a copied file should keep the times of the source file
+   * @param resumable          whether the copy of a file should be resumed if it's interrupted
+   * @param strategy           the {@link CopyStrategy} which defines how the content of each file is copied
+   */
+  public CopySettings(int concurrency, Long chunkSize, boolean preserveTimestamps, boolean resumable, CopyStrategy strategy) {
+    this.concurrency = concurrency;
+    this.chunkSize = chunkSize;
+    this.preserveTimestamps = preserveTimestamps;
+    this.resumable = resumable;
+    this.strategy = strategy;
+  }
+
+  /**
+   * @return the maximum amount of files to copy concurrently when copying a directory
+   */
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  /**
+   * @return the maximum amount of bytes to transfer at a time, or {@code null} to let the platform copy files on its own
+   */
+  public Long getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * @return whether a copied file should keep the times of the source file
+   */
+  public boolean isPreserveTimestamps() {
+    return preserveTimestamps;
+  }
+
+  /**
+   * @return whether the copy of a file should be resumed if it's interrupted
+   */
+  public boolean isResumable() {
+    return resumable;
+  }
+
+  /**
+   * @return the {@link CopyStrategy} which defines how the content of each file is copied
+   */
+  public CopyStrategy getStrategy() {
+    return strategy;
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.lang.String.format;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.common.api.FileConnectorConfig;
+import org.mule.extension.file.common.api.exceptions.FileAccessDeniedException;
+import org.mule.extension.file.internal.matcher.CompiledFileMatcher;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+
+/**
+ * Turns the entries found while walking a directory tree into the {@link Result results} of a listing.
+ * <p>
+ * This class holds the matching and error handling rules which are common to every way of walking the tree, so that all of them
+ * produce the same output: entries which are not accessible or disappear while being listed are logged and skipped, while any
+ * other error fails the listing.
+ *
+ * @since 1.6.0
+ */
+final class DirectoryEntryResolver {
+
+  private static final Logger LOGGER = getLogger(DirectoryEntryResolver.class);
+
+  private final FileConnectorConfig config;
+  private final LocalReadCommand readCommand;
+  private final boolean recursive;
+  private final Predicate<LocalFileAttributes> matcher;
+  private final CompiledFileMatcher compiledMatcher;
+  private final Long timeBetweenSizeCheck;
+  private final WalkSettings walkSettings;
+
+  DirectoryEntryResolver(FileConnectorConfig config, LocalReadCommand readCommand, boolean recursive,
+                         Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck) {
+    this(config, readCommand, recursive, matcher, timeBetweenSizeCheck, WalkSettings.UNBOUNDED);
+  }
+
+  DirectoryEntryResolver(FileConnectorConfig config, LocalReadCommand readCommand, boolean recursive,
+                         Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck, WalkSettings walkSettings) {
+    this.config = config;
+    this.readCommand = readCommand;
+    this.recursive = recursive;
+    this.matcher = matcher;
+    this.compiledMatcher = matcher instanceof CompiledFileMatcher ? (CompiledFileMatcher) matcher : null;
+    this.timeBetweenSizeCheck = timeBetweenSizeCheck;
+    this.walkSettings = walkSettings;
+  }
+
+  /**
+   * @param depth the depth of a listed directory, relative to the directory on which the listing starts
+   * @return whether the contents of the directory are to be listed
+   */
+  boolean descendsInto(int depth) {
+    return recursive && walkSettings.canDescend(depth);
+  }
+
+  /**
+   * Opens the directory on which the listing starts.
+   *
+   * @param directory the directory to be listed
+   * @return a {@link DirectoryStream} over the {@code directory} contents
+   * @throws FileAccessDeniedException if the {@code directory} cannot be read
+   */
+  DirectoryStream<Path> openRootDirectory(Path directory) {
+    try {
+      return newDirectoryStream(directory);
+    } catch (AccessDeniedException e) {
+      throw new FileAccessDeniedException(
+                                          format("Could not list files from directory '%s' because access was denied by the operating system",
+                                                 directory.toAbsolutePath()),
+                                          e);
+    } catch (IOException e) {
+      throw listingException(directory, e);
+    }
+  }
+
+  /**
+   * Opens a sub-directory found while listing.
+   *
+   * @param directory the sub-directory to be listed
+   * @return a {@link DirectoryStream} over the {@code directory} contents, or {@code null} if it cannot be read, in which case
+   *         the directory is to be left out of the listing
+   */
+  DirectoryStream<Path> openDirectory(Path directory) {
+    try {
+      return newDirectoryStream(directory);
+    } catch (AccessDeniedException e) {
+      LOGGER.warn("A directory with path {} was found while listing but read access was denied", directory);
+      LOGGER.debug(e.getMessage(), e);
+      return null;
+    } catch (IOException e) {
+      throw listingException(directory, e);
+    }
+  }
+
+  /**
+   * Tells whether a listed {@code path} can be left out of the listing without reading its attributes, either because it's
+   * excluded by the {@link WalkSettings} or because its name is rejected by the matcher. The latter is only possible when the
+   * entry wouldn't be walked if it was a directory, since otherwise the attributes are needed to find that out.
+   *
+   * @param path  a listed path
+   * @param depth the depth of the {@code path}, relative to the directory on which the listing starts
+   * @return whether the entry is to be left out of the listing
+   */
+  boolean skips(Path path, int depth) {
+    if (walkSettings.isExcluded(path)) {
+      return true;
+    }
+
+    return !descendsInto(depth) && compiledMatcher != null && !compiledMatcher.acceptsPath(path);
+  }
+
+  /**
+   * Obtains the attributes of a listed {@code path} with as few round trips to the file system as possible. Symbolic links are
+   * the only entries which need a second read, since their attributes have to be the ones of the file they point to.
+   *
+   * @param path a listed path
+   * @return the {@code path} attributes, or {@code null} if the entry is to be left out of the listing
+   */
+  LocalFileAttributes readAttributes(Path path) {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+      if (attributes.isSymbolicLink()) {
+        return new LocalFileAttributes(path, Files.readAttributes(path, BasicFileAttributes.class), true);
+      }
+
+      return new LocalFileAttributes(path, attributes, false);
+    } catch (AccessDeniedException e) {
+      LOGGER.warn("A file with path {} was found while listing but access was denied", path);
+      LOGGER.debug(e.getMessage(), e);
+    } catch (NoSuchFileException e) {
+      LOGGER.debug("A file with path {} was found while listing but no longer exists", path);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage(format("Could not read attributes for file '%s'", path)), e);
+    }
+
+    return null;
+  }
+
+  /**
+   * @param path       a listed file
+   * @param attributes the file's attributes
+   * @return the {@link Result} for the file, or {@code null} if it's rejected by the matcher or cannot be read
+   */
+  Result<InputStream, LocalFileAttributes> fileResult(Path path, LocalFileAttributes attributes) {
+    if (!matches(path, attributes)) {
+      return null;
+    }
+
+    try {
+      return readCommand.readListedFile(config, path, attributes, timeBetweenSizeCheck);
+    } catch (FileAccessDeniedException e) {
+      LOGGER.warn("A file with path {} was found while listing but access was denied", path);
+      LOGGER.debug(e.getMessage(), e);
+    } catch (MuleRuntimeException e) {
+      if (e.getCause() instanceof NoSuchFileException) {
+        LOGGER
+            .debug("A file with path {} was found while listing but was not found when trying to open a file channel to access the file",
+                   path);
+      } else {
+        throw e;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * @param path       a listed directory
+   * @param attributes the directory's attributes
+   * @return the {@link Result} for the directory, or {@code null} if it's rejected by the matcher
+   */
+  Result<InputStream, LocalFileAttributes> directoryResult(Path path, LocalFileAttributes attributes) {
+    if (!matches(path, attributes)) {
+      return null;
+    }
+
+    return Result.<InputStream, LocalFileAttributes>builder().output(null).attributes(attributes).build();
+  }
+
+  private boolean matches(Path path, LocalFileAttributes attributes) {
+    if (compiledMatcher != null) {
+      return compiledMatcher.acceptsPath(path) && compiledMatcher.acceptsAttributes(attributes);
+    }
+
+    return matcher.test(attributes);
+  }
+
+  /**
+   * @return the exception to throw when the contents of the {@code directory} cannot be listed
+   */
+  static MuleRuntimeException listingException(Path directory, Throwable cause) {
+    return new MuleRuntimeException(createStaticMessage(format("Could not list files from directory '%s'",
+                                                               directory.toAbsolutePath())),
+                                    cause);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.extension.file.api.CopyStrategy;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+
+/**
+ * Copies files according to a {@link CopyStrategy} other than {@link CopyStrategy#COPY}, falling back to copying the content
+ * whenever the strategy cannot be applied.
+ * <p>
+ * There's no Java API to clone a file, so {@link CopyStrategy#REFLINK} is implemented by a {@link ChannelFileCopier}, which
+ * leaves the copy to the operating system. On Linux, recent JVMs do so through {@code copy_file_range}, which clones the
+ * file on file systems that support it and copies its content otherwise. {@link CopyStrategy#AUTO} does the same, since a hard
+ * link is not an independent copy.
+ *
+ * @since 1.6.0
+ */
+final class LinkingFileCopier {
+
+  private static final Logger LOGGER = getLogger(LinkingFileCopier.class);
+
+  private final CopyStrategy strategy;
+  private final ChannelFileCopier contentCopier;
+
+  /**
+   * Creates a new instance
+   *
+   * @param strategy           the {@link CopyStrategy} to apply
+   * @param preserveTimestamps whether files which end up being copied should keep the times of the source
+   */
+  LinkingFileCopier(CopyStrategy strategy, boolean preserveTimestamps) {
+    this.strategy = strategy;
+    contentCopier = new ChannelFileCopier(Long.MAX_VALUE, preserveTimestamps);
+  }
+
+  /**
+   * Copies the {@code source} file into the {@code target}.
+   *
+   * @param source    the file to copy
+   * @param target    the path of the copy
+   * @param overwrite whether to overwrite the {@code target} if it already exists
+   * @throws FileAlreadyExistsException if the {@code target} exists and {@code overwrite} is {@code false}
+   * @throws IOException                if the file could not be copied
+   */
+  void copy(Path source, Path target, boolean overwrite) throws IOException {
+    if (strategy == CopyStrategy.HARD_LINK && link(source, target, overwrite)) {
+      return;
+    }
+
+    contentCopier.copy(source, target, overwrite);
+  }
+
+  /**
+   * @return whether the link was created. If not, the file system doesn't support linking these paths.
+   */
+  private boolean link(Path source, Path target, boolean overwrite) throws IOException {
+    try {
+      if (overwrite) {
+        Files.deleteIfExists(target);
+      }
+      Files.createLink(target, source);
+      return true;
+    } catch (FileAlreadyExistsException e) {
+      throw e;
+    } catch (UnsupportedOperationException | FileSystemException e) {
+      // i.e: the paths are on different devices, or the file system has no hard links
+      LOGGER.debug("Could not link '{}' to '{}', copying it instead. {}", target, source, e.getMessage());
+      return false;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@link ForkJoinPool pools} on which recursive listings list sub-directories concurrently.
+ * <p>
+ * One pool is kept per requested parallelism and reused by every listing which requests it, so that listing doesn't start and
+ * stop threads on each call. Since the parallelism is usually fixed by the flow, only a few pools are ever created. Idle pool
+ * threads are released by the pool itself, and all of them are stopped once the pools are {@link #close() closed}.
+ *
+ * @since 1.6.0
+ */
+public final class ListingPools {
+
+  private final Map<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+  private volatile boolean closed;
+
+  /**
+   * @param parallelism the maximum amount of directories to list concurrently
+   * @return the pool with the given {@code parallelism}
+   * @throws IllegalStateException if the pools were already {@link #close() closed}
+   */
+  public ForkJoinPool get(int parallelism) {
+    if (closed) {
+      throw new IllegalStateException("Listing pools are already closed");
+    }
+    return pools.computeIfAbsent(parallelism, ForkJoinPool::new);
+  }
+
+  /**
+   * Stops every pool. Listings which are still running fail.
+   */
+  public void close() {
+    closed = true;
+    pools.values().forEach(ForkJoinPool::shutdownNow);
+    pools.clear();
+  }
+}
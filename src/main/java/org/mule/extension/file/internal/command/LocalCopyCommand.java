@@ -6,6 +6,7 @@
  */
 package org.mule.extension.file.internal.command;
 
+import org.mule.extension.file.api.CopyStrategy;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.command.CopyCommand;
 import org.mule.extension.file.internal.LocalFileSystem;
@@ -15,6 +16,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import static org.apache.commons.io.FileUtils.copyDirectory;
+import static org.mule.extension.file.internal.command.ChannelFileCopier.copyTimestamps;
+import static org.mule.extension.file.internal.command.ResumableFileCopier.DEFAULT_CHECKPOINT_INTERVAL;
 
 /**
  * A {@link AbstractLocalCopyCommand} which implements the {@link CopyCommand} contract
@@ -39,6 +42,25 @@ public final class LocalCopyCommand extends AbstractLocalCopyCommand implements
     execute(sourcePath, targetDirectory, overwrite, createParentDirectories, renameTo);
   }
 
+  /**
+   * Same as {@link #copy(FileConnectorConfig, String, String, boolean, boolean, String)}, but tuning how the files are copied
+   * through the given {@code settings}.
+   *
+   * @param config                  the config that is parameterizing this operation
+   * @param sourcePath              the path to be copied
+   * @param targetDirectory         the target directory
+   * @param overwrite               whether to overwrite the target files if they already exist
+   * @param createParentDirectories whether to create the target's parent directories if they don't exist
+   * @param renameTo                the new file name, {@code null} if the file doesn't need to be renamed
+   * @param settings                the {@link CopySettings} to copy with
+   * @since 1.6.0
+   */
+  public void copy(FileConnectorConfig config, String sourcePath, String targetDirectory, boolean overwrite,
+                   boolean createParentDirectories, String renameTo, CopySettings settings) {
+    execute(sourcePath, targetDirectory, overwrite, createParentDirectories, renameTo,
+            (source, targetPath, overwriteTarget, options) -> doExecute(source, targetPath, overwriteTarget, options, settings));
+  }
+
   /**
    * Implements recursive copy
    *
@@ -56,6 +78,40 @@ public final class LocalCopyCommand extends AbstractLocalCopyCommand implements
     }
   }
 
+  private void doExecute(Path source, Path targetPath, boolean overwrite, CopyOption[] options, CopySettings settings)
+      throws Exception {
+    Long chunkSize = settings.getChunkSize();
+    CopyStrategy strategy = settings.getStrategy();
+    if (Files.isDirectory(source)) {
+      if (strategy != CopyStrategy.COPY) {
+        LinkingFileCopier fileCopier = new LinkingFileCopier(strategy, false);
+        new ParallelDirectoryCopier(settings.getConcurrency(), (file, target) -> fileCopier.copy(file, target, true))
+            .copy(source, targetPath);
+      } else if (chunkSize == null && settings.getConcurrency() <= 1) {
+        copyDirectory(source.toFile(), targetPath.toFile());
+      } else if (chunkSize == null) {
+        new ParallelDirectoryCopier(settings.getConcurrency()).copy(source, targetPath);
+      } else {
+        // directories are copied keeping the files' last modified time regardless of the settings, as they always were
+        ChannelFileCopier fileCopier = new ChannelFileCopier(chunkSize, false);
+        new ParallelDirectoryCopier(settings.getConcurrency(), (file, target) -> fileCopier.copy(file, target, true))
+            .copy(source, targetPath);
+      }
+    } else if (strategy != CopyStrategy.COPY) {
+      new LinkingFileCopier(strategy, settings.isPreserveTimestamps()).copy(source, targetPath, overwrite);
+    } else if (settings.isResumable()) {
+      new ResumableFileCopier(chunkSize != null ? chunkSize : DEFAULT_CHECKPOINT_INTERVAL, settings.isPreserveTimestamps())
+          .copy(source, targetPath, overwrite);
+    } else if (chunkSize != null) {
+      new ChannelFileCopier(chunkSize, settings.isPreserveTimestamps()).copy(source, targetPath, overwrite);
+    } else {
+      Files.copy(source, targetPath, options);
+      if (settings.isPreserveTimestamps()) {
+        copyTimestamps(source, targetPath);
+      }
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -34,11 +34,25 @@ public final class LocalDeleteCommand extends LocalFileCommand implements Delete
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalDeleteCommand.class);
 
+  private final Trash trash;
+
   /**
    * {@inheritDoc}
    */
   public LocalDeleteCommand(LocalFileSystem fileSystem) {
+    this(fileSystem, null);
+  }
+
+  /**
+   * Creates a new instance which moves the deleted directories into the given {@code trash}
+   *
+   * @param fileSystem the {@link LocalFileSystem} on which the command operates
+   * @param trash      the {@link Trash} into which directories are moved, or {@code null} to delete them in place
+   * @since 1.6.0
+   */
+  public LocalDeleteCommand(LocalFileSystem fileSystem, Trash trash) {
     super(fileSystem);
+    this.trash = trash;
   }
 
   /**
@@ -53,7 +67,9 @@ public final class LocalDeleteCommand extends LocalFileCommand implements Delete
     }
 
     try {
-      if (isDirectory(path)) {
+      if (isDirectory(path) && trash != null && trash.moveToTrash(path)) {
+        logDeletion(path);
+      } else if (isDirectory(path)) {
         walkFileTree(path, new SimpleFileVisitor<Path>() {
 
           @Override
@@ -7,32 +7,27 @@
 package org.mule.extension.file.internal.command;
 
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
-import static java.lang.String.format;
-import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.extension.file.api.LocalFileAttributes;
 import org.mule.extension.file.api.subset.LocalSubsetList;
 import org.mule.extension.file.api.subset.SortOrder;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.command.ListCommand;
-import org.mule.extension.file.common.api.exceptions.FileAccessDeniedException;
 import org.mule.extension.file.common.api.subset.SubsetList;
 import org.mule.extension.file.internal.LocalFileSystem;
-import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.extension.file.internal.util.BoundedSelector;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 
-import java.io.File;
 import java.io.InputStream;
 import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
-import org.slf4j.Logger;
-
 /**
  * A {@link LocalFileCommand} which implements the {@link ListCommand}
  *
@@ -40,16 +35,28 @@ import org.slf4j.Logger;
  */
 public final class LocalListCommand extends LocalFileCommand implements ListCommand<LocalFileAttributes> {
 
-  private static final Logger LOGGER = getLogger(LocalListCommand.class);
-
   private final LocalReadCommand readCommand;
+  private final ListingPools listingPools;
 
   /**
    * {@inheritDoc}
    */
   public LocalListCommand(LocalFileSystem fileSystem, LocalReadCommand readCommand) {
+    this(fileSystem, readCommand, new ListingPools());
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param fileSystem   the {@link LocalFileSystem} on which the listings are performed
+   * @param readCommand  the {@link LocalReadCommand} which reads the listed files
+   * @param listingPools the {@link ListingPools} on which sub-directories are listed concurrently
+   * @since 1.6.0
+   */
+  public LocalListCommand(LocalFileSystem fileSystem, LocalReadCommand readCommand, ListingPools listingPools) {
     super(fileSystem);
     this.readCommand = readCommand;
+    this.listingPools = listingPools;
   }
 
   /**
@@ -87,21 +94,189 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
                                                              Predicate<LocalFileAttributes> matcher,
                                                              Long timeBetweenSizeCheck,
                                                              SubsetList subsetList) {
+    return list(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, subsetList, 1);
+  }
+
+  /**
+   * Same as {@link #list(FileConnectorConfig, String, boolean, Predicate, Long, SubsetList)}, but when {@code recursive} is
+   * {@code true} and {@code parallelism} is greater than one, up to {@code parallelism} sub-directories are listed concurrently.
+   * The output is the same, and in the same order, as the one of a sequential listing.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param subsetList           parameter group that lets you obtain a subset of the results
+   * @param parallelism          the maximum amount of directories to list concurrently
+   * @return a {@link List} of {@link Result} objects each one containing each file's content in the payload and metadata in the
+   *         attributes
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exist or is not a directory
+   * @since 1.6.0
+   */
+  public List<Result<InputStream, LocalFileAttributes>> list(FileConnectorConfig config,
+                                                             String directoryPath,
+                                                             boolean recursive,
+                                                             Predicate<LocalFileAttributes> matcher,
+                                                             Long timeBetweenSizeCheck,
+                                                             SubsetList subsetList,
+                                                             int parallelism) {
+    return list(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, subsetList, parallelism,
+                WalkSettings.UNBOUNDED);
+  }
+
+  /**
+   * Same as {@link #list(FileConnectorConfig, String, boolean, Predicate, Long, SubsetList, int)}, but limits how far the tree
+   * is walked as defined by the given {@link WalkSettings}. Excluded entries, and entries beyond the maximum depth, are never
+   * read.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param subsetList           parameter group that lets you obtain a subset of the results
+   * @param parallelism          the maximum amount of directories to list concurrently
+   * @param walkSettings         the {@link WalkSettings} which limit the walked tree
+   * @return a {@link List} of {@link Result} objects each one containing each file's content in the payload and metadata in the
+   *         attributes
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exist or is not a directory
+   * @since 1.6.0
+   */
+  public List<Result<InputStream, LocalFileAttributes>> list(FileConnectorConfig config,
+                                                             String directoryPath,
+                                                             boolean recursive,
+                                                             Predicate<LocalFileAttributes> matcher,
+                                                             Long timeBetweenSizeCheck,
+                                                             SubsetList subsetList,
+                                                             int parallelism,
+                                                             WalkSettings walkSettings) {
+    if (!recursive || parallelism <= 1) {
+      return list(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, subsetList, null, walkSettings);
+    }
+
+    return list(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, subsetList, listingPools.get(parallelism),
+                walkSettings);
+  }
+
+  /**
+   * Same as {@link #list(FileConnectorConfig, String, boolean, Predicate, Long, SubsetList, int, WalkSettings)}, but listing
+   * the sub-directories concurrently on the given {@code pool} instead of on the shared {@link ListingPools}. This way, callers
+   * which list repeatedly, i.e: a listener on every poll, can keep the same pool. The pool is not shut down.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param subsetList           parameter group that lets you obtain a subset of the results
+   * @param pool                 the {@link ForkJoinPool} on which sub-directories are listed, or {@code null} to list them
+   *                             sequentially
+   * @param walkSettings         the {@link WalkSettings} which limit the walked tree
+   * @return a {@link List} of {@link Result} objects each one containing each file's content in the payload and metadata in the
+   *         attributes
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exist or is not a directory
+   * @since 1.6.0
+   */
+  public List<Result<InputStream, LocalFileAttributes>> list(FileConnectorConfig config,
+                                                             String directoryPath,
+                                                             boolean recursive,
+                                                             Predicate<LocalFileAttributes> matcher,
+                                                             Long timeBetweenSizeCheck,
+                                                             SubsetList subsetList,
+                                                             ForkJoinPool pool,
+                                                             WalkSettings walkSettings) {
+    LocalSubsetList subset = (LocalSubsetList) subsetList;
+    if (subset != null) {
+      validateSubset(subset);
+    }
+
+    if (recursive && pool != null) {
+      Path path = resolveDirectory(directoryPath);
+      DirectoryEntryResolver resolver =
+          new DirectoryEntryResolver(config, readCommand, true, matcher, timeBetweenSizeCheck, walkSettings);
+      return collect(new ParallelDirectoryLister(resolver, pool).list(path).iterator(), subset);
+    }
+
+    try (LocalListIterator iterator =
+        iterate(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, walkSettings)) {
+      return collect(iterator, subset);
+    }
+  }
+
+  /**
+   * Lists the contents of the {@code directoryPath} lazily. Unlike {@link #list(FileConnectorConfig, String, boolean, Predicate,
+   * Long, SubsetList)}, entries are not accumulated but read from the file system as the returned {@link LocalListIterator} is
+   * consumed, so memory usage doesn't depend on the amount of listed files.
+   * <p>
+   * The returned iterator must be {@link LocalListIterator#close() closed} if it's not fully consumed.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @return a {@link LocalListIterator}
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exist or is not a directory
+   */
+  public LocalListIterator iterate(FileConnectorConfig config,
+                                   String directoryPath,
+                                   boolean recursive,
+                                   Predicate<LocalFileAttributes> matcher,
+                                   Long timeBetweenSizeCheck) {
+    return iterate(config, directoryPath, recursive, matcher, timeBetweenSizeCheck, WalkSettings.UNBOUNDED);
+  }
+
+  /**
+   * Same as {@link #iterate(FileConnectorConfig, String, boolean, Predicate, Long)}, but limits how far the tree is walked as
+   * defined by the given {@link WalkSettings}.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param directoryPath        the path to the directory to be listed
+   * @param recursive            whether to include the contents of sub-directories
+   * @param matcher              a matcher used to filter the output
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param walkSettings         the {@link WalkSettings} which limit the walked tree
+   * @return a {@link LocalListIterator}
+   * @throws IllegalArgumentException if {@code directoryPath} points to a file which doesn't exist or is not a directory
+   * @since 1.6.0
+   */
+  public LocalListIterator iterate(FileConnectorConfig config,
+                                   String directoryPath,
+                                   boolean recursive,
+                                   Predicate<LocalFileAttributes> matcher,
+                                   Long timeBetweenSizeCheck,
+                                   WalkSettings walkSettings) {
+    Path path = resolveDirectory(directoryPath);
+    return new LocalListIterator(new DirectoryEntryResolver(config, readCommand, recursive, matcher, timeBetweenSizeCheck,
+                                                           walkSettings),
+                                 path);
+  }
+
+  private Path resolveDirectory(String directoryPath) {
     Path path = resolveExistingPath(directoryPath);
     if (!Files.isDirectory(path)) {
       throw cannotListFileException(path);
     }
 
+    return path;
+  }
+
+  private List<Result<InputStream, LocalFileAttributes>> collect(Iterator<Result<InputStream, LocalFileAttributes>> files,
+                                                                 LocalSubsetList subset) {
+    if (subset != null && subset.getLimit() > 0) {
+      return selectSubset(files, subset);
+    }
+
     List<Result<InputStream, LocalFileAttributes>> accumulator = new LinkedList<>();
-    doList(config, path.toFile(), accumulator, recursive, matcher, timeBetweenSizeCheck);
-    if (subsetList != null) {
-      return limitAndOrder(accumulator, (LocalSubsetList) subsetList);
+    files.forEachRemaining(accumulator::add);
+    if (subset != null) {
+      return limitAndOrder(accumulator, subset);
     }
     return accumulator;
   }
 
-  private List<Result<InputStream, LocalFileAttributes>> limitAndOrder(List<Result<InputStream, LocalFileAttributes>> accumulator,
-                                                                       LocalSubsetList subsetList) {
+  private void validateSubset(LocalSubsetList subsetList) {
     Integer offset = subsetList.getOffset();
     Integer limit = subsetList.getLimit();
     checkArgument(limit >= 0,
@@ -110,6 +285,33 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
     checkArgument(offset >= 0,
                   String.format("Subset attribute '%s' must be greater than or equal to zero but '%d' was received", "offset",
                                 offset));
+  }
+
+  /**
+   * Obtains a subset with a {@code limit} by keeping only the first {@code offset + limit} files while walking the directory,
+   * instead of sorting the whole listing.
+   */
+  private List<Result<InputStream, LocalFileAttributes>> selectSubset(Iterator<Result<InputStream, LocalFileAttributes>> files,
+                                                                LocalSubsetList subsetList) {
+    int offset = subsetList.getOffset();
+    int capacity = (int) Math.min((long) offset + subsetList.getLimit(), Integer.MAX_VALUE);
+    BoundedSelector<Result<InputStream, LocalFileAttributes>> selector =
+        new BoundedSelector<>(capacity, subsetList.getCriteria().getComparator(),
+                              subsetList.getOrder().equals(SortOrder.DESCENDING));
+
+    files.forEachRemaining(selector::offer);
+
+    if (offset >= selector.size()) {
+      return Collections.emptyList();
+    }
+    List<Result<InputStream, LocalFileAttributes>> selection = selector.toSortedList();
+    return selection.subList(offset, selection.size());
+  }
+
+  private List<Result<InputStream, LocalFileAttributes>> limitAndOrder(List<Result<InputStream, LocalFileAttributes>> accumulator,
+                                                                       LocalSubsetList subsetList) {
+    Integer offset = subsetList.getOffset();
+    Integer limit = subsetList.getLimit();
     if (limit == 0) {
       limit = accumulator.size();
     }
@@ -127,73 +329,4 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
     accumulator = accumulator.subList(offset, to);
     return accumulator;
   }
-
-  private void doList(FileConnectorConfig config,
-                      File parent,
-                      List<Result<InputStream, LocalFileAttributes>> accumulator,
-                      boolean recursive,
-                      Predicate<LocalFileAttributes> matcher,
-                      Long timeBetweenSizeCheck) {
-
-    if (!parent.canRead()) {
-      throw new FileAccessDeniedException(
-                                          format("Could not list files from directory '%s' because access was denied by the operating system",
-                                                 parent.getAbsolutePath()));
-    }
-
-    for (File child : parent.listFiles()) {
-      Path path = child.toPath();
-      try {
-        LocalFileAttributes attributes = new LocalFileAttributes(path);
-        if (child.isDirectory()) {
-          processDirectory(config, child, accumulator, recursive, matcher, timeBetweenSizeCheck, attributes);
-        } else {
-          processFile(config, accumulator, matcher, timeBetweenSizeCheck, attributes);
-        }
-
-      } catch (FileAccessDeniedException e) {
-        LOGGER.warn("A file with path {} was found while listing but access was denied", path);
-        LOGGER.debug(e.getMessage(), e);
-
-      } catch (MuleRuntimeException e) {
-        if (e.getCause() instanceof NoSuchFileException) {
-          LOGGER
-              .debug("A file with path {} was found while listing but was not found when trying to open a file channel to access the file",
-                     path);
-        } else {
-          throw e;
-        }
-      }
-    }
-  }
-
-  private void processDirectory(FileConnectorConfig config,
-                                File directory,
-                                List<Result<InputStream, LocalFileAttributes>> accumulator,
-                                boolean recursive,
-                                Predicate<LocalFileAttributes> matcher,
-                                Long timeBetweenSizeCheck,
-                                LocalFileAttributes directoryAttributes) {
-    try {
-      if (recursive) {
-        doList(config, directory, accumulator, recursive, matcher, timeBetweenSizeCheck);
-      }
-
-      if (matcher.test(directoryAttributes)) {
-        accumulator.add(Result.<InputStream, LocalFileAttributes>builder().output(null).attributes(directoryAttributes).build());
-      }
-    } catch (FileAccessDeniedException e) {
-      LOGGER.warn("A directory with path {} was found while listing but read access was denied", directory);
-      LOGGER.debug(e.getMessage(), e);
-    }
-  }
-
-  private void processFile(FileConnectorConfig config, List<Result<InputStream, LocalFileAttributes>> accumulator,
-                           Predicate<LocalFileAttributes> matcher, Long timeBetweenSizeCheck,
-                           LocalFileAttributes fileAttributes) {
-    if (matcher.test(fileAttributes)) {
-      accumulator.add(readCommand.read(config, fileAttributes, false, timeBetweenSizeCheck));
-    }
-  }
-
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static org.mule.extension.file.internal.command.DirectoryEntryResolver.listingException;
+import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.common.api.exceptions.FileAccessDeniedException;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterator} which lazily walks a directory tree, producing one {@link Result} per listed file or directory as entries
+ * are pulled from the underlying {@link DirectoryStream directory streams}.
+ * <p>
+ * Entries are produced in the same order in which {@link LocalListCommand} lists them: when listing recursively, the contents of
+ * a directory come before the directory itself. At most one {@link DirectoryStream} per level of depth is open at any given
+ * time, and all of them are closed as soon as the iterator is exhausted, fails or is {@link #close() closed}.
+ *
+ * @since 1.6.0
+ */
+public final class LocalListIterator implements Iterator<Result<InputStream, LocalFileAttributes>>, Closeable {
+
+  private final DirectoryEntryResolver resolver;
+  private final Deque<DirectoryFrame> frames = new ArrayDeque<>();
+
+  private Result<InputStream, LocalFileAttributes> next;
+
+  /**
+   * Creates a new instance and opens the {@code directory} for listing.
+   *
+   * @param resolver  the {@link DirectoryEntryResolver} which turns the walked entries into results
+   * @param directory the directory to be listed. It's assumed to exist and to be a directory
+   * @throws FileAccessDeniedException if the {@code directory} cannot be read
+   */
+  LocalListIterator(DirectoryEntryResolver resolver, Path directory) {
+    this.resolver = resolver;
+    frames.push(new DirectoryFrame(directory, resolver.openRootDirectory(directory), null, 0));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      next = computeNext();
+    }
+
+    return next != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Result<InputStream, LocalFileAttributes> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    Result<InputStream, LocalFileAttributes> result = next;
+    next = null;
+    return result;
+  }
+
+  /**
+   * Closes all the {@link DirectoryStream directory streams} which are still open. Invoking this method on an exhausted or
+   * already closed iterator has no effect.
+   */
+  @Override
+  public void close() {
+    while (!frames.isEmpty()) {
+      closeQuietly(frames.pop().stream);
+    }
+  }
+
+  private Result<InputStream, LocalFileAttributes> computeNext() {
+    try {
+      while (!frames.isEmpty()) {
+        DirectoryFrame frame = frames.peek();
+        Result<InputStream, LocalFileAttributes> result;
+        if (frame.hasNextChild()) {
+          result = visit(frame.nextChild(), frame.depth + 1);
+        } else {
+          frames.pop();
+          closeQuietly(frame.stream);
+          result = frame.attributes != null ? resolver.directoryResult(frame.directory, frame.attributes) : null;
+        }
+
+        if (result != null) {
+          return result;
+        }
+      }
+
+      return null;
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  private Result<InputStream, LocalFileAttributes> visit(Path child, int depth) {
+    if (resolver.skips(child, depth)) {
+      return null;
+    }
+
+    LocalFileAttributes attributes = resolver.readAttributes(child);
+    if (attributes == null) {
+      return null;
+    }
+
+    if (!attributes.isDirectory()) {
+      return resolver.fileResult(child, attributes);
+    }
+
+    if (!resolver.descendsInto(depth)) {
+      return resolver.directoryResult(child, attributes);
+    }
+
+    DirectoryStream<Path> stream = resolver.openDirectory(child);
+    if (stream != null) {
+      // the directory itself is produced once all of its contents have been listed
+      frames.push(new DirectoryFrame(child, stream, attributes, depth));
+    }
+
+    return null;
+  }
+
+  /**
+   * A directory which is being listed, together with its open {@link DirectoryStream}
+   */
+  private static final class DirectoryFrame {
+
+    private final Path directory;
+    private final DirectoryStream<Path> stream;
+    private final Iterator<Path> children;
+    private final LocalFileAttributes attributes;
+    private final int depth;
+
+    private DirectoryFrame(Path directory, DirectoryStream<Path> stream, LocalFileAttributes attributes, int depth) {
+      this.directory = directory;
+      this.stream = stream;
+      this.children = stream.iterator();
+      this.attributes = attributes;
+      this.depth = depth;
+    }
+
+    private boolean hasNextChild() {
+      try {
+        return children.hasNext();
+      } catch (DirectoryIteratorException e) {
+        throw listingException(directory, e.getCause());
+      }
+    }
+
+    private Path nextChild() {
+      return children.next();
+    }
+  }
+}
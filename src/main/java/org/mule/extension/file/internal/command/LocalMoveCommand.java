@@ -11,11 +11,14 @@ import org.mule.extension.file.common.api.command.MoveCommand;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.core.api.util.FileUtils;
 
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.CopyOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 import static org.apache.commons.io.FileUtils.moveDirectory;
+import static org.mule.extension.file.internal.command.ResumableFileCopier.DEFAULT_CHECKPOINT_INTERVAL;
 
 /**
  * A {@link AbstractLocalCopyCommand} which implements the {@link MoveCommand} contract
@@ -40,6 +43,46 @@ public final class LocalMoveCommand extends AbstractLocalCopyCommand implements
     execute(sourcePath, targetDirectory, overwrite, createParentDirectories, renameTo);
   }
 
+  /**
+   * Same as {@link #move(FileConnectorConfig, String, String, boolean, boolean, String)}, but optionally moving files into
+   * another file system in a way that can be resumed if it's interrupted.
+   * <p>
+   * A file which can't be renamed into the target, because it's on another file system, is copied through a
+   * {@link ResumableFileCopier} and deleted once the copy is complete. Hence, a new attempt after an interruption resumes the
+   * copy instead of starting over. Directories are moved as usual.
+   *
+   * @param config                  the config that is parameterizing this operation
+   * @param sourcePath              the path to be moved
+   * @param targetDirectory         the target directory
+   * @param overwrite               whether to overwrite the target files if they already exist
+   * @param createParentDirectories whether to create the target's parent directories if they don't exist
+   * @param renameTo                the new file name, {@code null} if the file doesn't need to be renamed
+   * @param resumable               whether moving a file into another file system can be resumed
+   * @since 1.6.0
+   */
+  public void move(FileConnectorConfig config, String sourcePath, String targetDirectory, boolean overwrite,
+                   boolean createParentDirectories, String renameTo, boolean resumable) {
+    if (!resumable) {
+      move(config, sourcePath, targetDirectory, overwrite, createParentDirectories, renameTo);
+      return;
+    }
+
+    execute(sourcePath, targetDirectory, overwrite, createParentDirectories, renameTo,
+            (source, targetPath, overwriteTarget, options) -> {
+              if (Files.isDirectory(source)) {
+                doExecute(source, targetPath, overwriteTarget, options);
+                return;
+              }
+
+              try {
+                Files.move(source, targetPath, ATOMIC_MOVE);
+              } catch (AtomicMoveNotSupportedException e) {
+                new ResumableFileCopier(DEFAULT_CHECKPOINT_INTERVAL, true).copy(source, targetPath, overwriteTarget);
+                Files.delete(source);
+              }
+            });
+  }
+
   /**
    * Implements recursive moving
    *
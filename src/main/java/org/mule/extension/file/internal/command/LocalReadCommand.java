@@ -77,6 +77,69 @@ public final class LocalReadCommand extends LocalFileCommand implements ReadComm
       throw cannotReadDirectoryException(path);
     }
 
+    return doRead(config, path, attributes, lock, timeBetweenSizeCheck, false, false);
+  }
+
+  /**
+   * Same as {@link #read(FileConnectorConfig, String, boolean, Long)}, but allows serving the content from memory mapped regions
+   * of the file, which avoids a system call and a copy per buffer when reading large files.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param filePath             the path of the file to be read
+   * @param lock                 whether or not to lock the file
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param memoryMapped         whether to map the file into memory instead of reading it through a buffer
+   * @return a {@link Result} with the file's content and attributes
+   * @since 1.6.0
+   */
+  public Result<InputStream, LocalFileAttributes> read(FileConnectorConfig config, String filePath, boolean lock,
+                                                       Long timeBetweenSizeCheck, boolean memoryMapped) {
+    return read(config, filePath, lock, timeBetweenSizeCheck, memoryMapped, false);
+  }
+
+  /**
+   * Same as {@link #read(FileConnectorConfig, String, boolean, Long, boolean)}, but allows locking the file with a shared lock.
+   * A shared lock doesn't require the file to be writable and doesn't exclude other readers holding shared locks, only
+   * writers.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param filePath             the path of the file to be read
+   * @param lock                 whether or not to lock the file
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @param memoryMapped         whether to map the file into memory instead of reading it through a buffer
+   * @param sharedLock           whether the lock should be a shared one. Ignored if {@code lock} is {@code false}
+   * @return a {@link Result} with the file's content and attributes
+   * @since 1.6.0
+   */
+  public Result<InputStream, LocalFileAttributes> read(FileConnectorConfig config, String filePath, boolean lock,
+                                                       Long timeBetweenSizeCheck, boolean memoryMapped, boolean sharedLock) {
+    Path path = resolveExistingPath(filePath);
+    LocalFileAttributes attributes = new LocalFileAttributes(path);
+    if (isDirectory(path)) {
+      throw cannotReadDirectoryException(path);
+    }
+
+    return doRead(config, path, attributes, lock, timeBetweenSizeCheck, memoryMapped, sharedLock);
+  }
+
+  /**
+   * Reads a file which was just found by a {@link LocalListCommand}. Since the {@code attributes} were obtained while walking
+   * the directory, the {@code path} is already known to exist and not to be a directory, so those checks are skipped.
+   *
+   * @param config               the config that is parameterizing this operation
+   * @param path                 the {@link Path} to the listed file
+   * @param attributes           the listed file's attributes
+   * @param timeBetweenSizeCheck wait time between size checks to determine if a file is ready to be read
+   * @return a {@link Result} with the file's content and attributes
+   */
+  Result<InputStream, LocalFileAttributes> readListedFile(FileConnectorConfig config, Path path,
+                                                          LocalFileAttributes attributes, Long timeBetweenSizeCheck) {
+    return doRead(config, path, attributes, false, timeBetweenSizeCheck, false, false);
+  }
+
+  private Result<InputStream, LocalFileAttributes> doRead(FileConnectorConfig config, Path path, LocalFileAttributes attributes,
+                                                          boolean lock, Long timeBetweenSizeCheck, boolean memoryMapped,
+                                                          boolean sharedLock) {
     if (!isReadable(path)) {
       throw new FileAccessDeniedException(format("Could not read the file '%s' because access was denied by the operating system",
                                                  path));
@@ -87,7 +150,10 @@ public final class LocalReadCommand extends LocalFileCommand implements ReadComm
     InputStream payload = null;
 
     try {
-      if (lock) {
+      if (lock && sharedLock) {
+        lazyChannel = new LazyValue<>(FileChannel.open(path, READ));
+        pathLock = fileSystem.lockShared(path);
+      } else if (lock) {
         lazyChannel = new LazyValue<>(FileChannel.open(path, READ, WRITE));
         pathLock = fileSystem.lock(path, lazyChannel.get());
       } else {
@@ -101,7 +167,8 @@ public final class LocalReadCommand extends LocalFileCommand implements ReadComm
         pathLock = new NullPathLock(path);
       }
 
-      payload = new FileInputStream(lazyChannel, pathLock, path, timeBetweenSizeCheck, attributes);
+      payload = new FileInputStream(lazyChannel, pathLock, path, timeBetweenSizeCheck, attributes, memoryMapped,
+                                    fileSystem.getMetrics());
 
       return Result.<InputStream, LocalFileAttributes>builder()
           .output(payload)
@@ -14,16 +14,20 @@ import static java.nio.file.StandardOpenOption.READ;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 import static java.nio.file.StandardOpenOption.WRITE;
 import static org.apache.commons.io.IOUtils.closeQuietly;
-import static org.apache.commons.io.IOUtils.copy;
+import static org.apache.commons.io.IOUtils.copyLarge;
+import static org.mule.extension.file.internal.util.FileChannelTransfers.transferFully;
+
 import org.mule.extension.file.common.api.FileWriteMode;
 import org.mule.extension.file.common.api.command.WriteCommand;
 import org.mule.extension.file.common.api.exceptions.FileAccessDeniedException;
 import org.mule.extension.file.common.api.exceptions.IllegalPathException;
 import org.mule.extension.file.common.api.lock.NullPathLock;
 import org.mule.extension.file.common.api.lock.PathLock;
+import org.mule.extension.file.internal.FileInputStream;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.extension.api.exception.ModuleException;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.Channels;
@@ -78,8 +82,13 @@ public final class LocalWriteCommand extends LocalFileCommand implements WriteCo
 
       pathLock = lock ? fileSystem.lock(path, channel) : new NullPathLock(path);
 
-      try (OutputStream out = Channels.newOutputStream(channel)) {
-        copy(content, out);
+      long start = channel.position();
+      if (transferContent(content, channel)) {
+        fileSystem.getMetrics().recordBytesWritten(channel.position() - start);
+      } else {
+        try (OutputStream out = Channels.newOutputStream(channel)) {
+          fileSystem.getMetrics().recordBytesWritten(copyLarge(content, out));
+        }
       }
     } catch (ModuleException e) {
       throw e;
@@ -111,6 +120,44 @@ public final class LocalWriteCommand extends LocalFileCommand implements WriteCo
     }
   }
 
+  /**
+   * Writes the {@code content} by having the operating system move the bytes from the source file straight into the
+   * {@code target}, which is possible when the {@code content} is a stream over a local regular file.
+   * <p>
+   * A plain {@link java.io.FileInputStream} is only transferred when its channel can seek and reports a size, since pipes can't
+   * seek and special files, such as the ones under {@code /proc}, report no size while having content. Subclasses are never
+   * transferred, since they might change what reading them returns.
+   *
+   * @return whether the content was written. If not, the content was left untouched
+   */
+  private boolean transferContent(InputStream content, FileChannel target) throws IOException {
+    if (content instanceof FileInputStream) {
+      return ((FileInputStream) content).transferTo(target);
+    }
+
+    if (content == null || content.getClass() != java.io.FileInputStream.class) {
+      return false;
+    }
+
+    FileChannel source = ((java.io.FileInputStream) content).getChannel();
+    long position;
+    long size;
+    try {
+      position = source.position();
+      size = source.size();
+    } catch (IOException e) {
+      // i.e: a pipe, on which seeking is illegal
+      return false;
+    }
+
+    if (size <= 0 || position > size) {
+      return false;
+    }
+
+    source.position(position + transferFully(source, position, target));
+    return true;
+  }
+
   private void validateFileSystemPath(final String path) {
     try {
       Paths.get(path);
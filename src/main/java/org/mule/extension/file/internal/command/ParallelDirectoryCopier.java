@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.lang.Thread.currentThread;
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies a directory tree using a bounded amount of worker threads.
+ * <p>
+ * The source tree is walked first, creating every directory on the target side. Only then are the files copied, each worker
+ * taking the next pending file until none is left. The outcome is the same as the one of a sequential copy: files are
+ * overwritten if they already exist, and both files and directories keep their last modified time. If any file cannot be
+ * copied, the files which were not picked yet are abandoned and the failure is thrown. Symbolic links are followed, so linked
+ * directories are copied with their contents, as a sequential copy does. Links which form a cycle are not followed again.
+ *
+ * @since 1.6.0
+ */
+final class ParallelDirectoryCopier {
+
+  private final int concurrency;
+  private final FileCopier fileCopier;
+
+  /**
+   * Creates a new instance which copies each file through {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}
+   *
+   * @param concurrency the maximum amount of files to copy concurrently
+   */
+  ParallelDirectoryCopier(int concurrency) {
+    this(concurrency, (source, target) -> Files.copy(source, target, REPLACE_EXISTING));
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param concurrency the maximum amount of files to copy concurrently
+   * @param fileCopier  the {@link FileCopier} which copies each file
+   */
+  ParallelDirectoryCopier(int concurrency, FileCopier fileCopier) {
+    this.concurrency = concurrency;
+    this.fileCopier = fileCopier;
+  }
+
+  /**
+   * Copies the contents of the {@code source} directory into the {@code target} one, creating it if necessary.
+   *
+   * @param source the directory to copy
+   * @param target the directory to copy into
+   * @throws IOException if the tree could not be walked or a file could not be copied
+   */
+  void copy(Path source, Path target) throws IOException {
+    List<Path> directories = new ArrayList<>();
+    List<Path> files = new ArrayList<>();
+    createSkeleton(source, target, directories, files);
+
+    copyFiles(source, target, files);
+
+    // deepest directories come last, and copying the time afterwards keeps the parents' from being changed by the children
+    for (int i = directories.size() - 1; i >= 0; i--) {
+      Path directory = directories.get(i);
+      copyLastModifiedTime(directory, target.resolve(source.relativize(directory)));
+    }
+  }
+
+  private void createSkeleton(Path source, Path target, List<Path> directories, List<Path> files) throws IOException {
+    Path absoluteTarget = target.toAbsolutePath().normalize();
+    Files.walkFileTree(source, EnumSet.of(FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+        // a target nested within the source must not be copied into itself
+        if (!directory.equals(source) && directory.toAbsolutePath().normalize().equals(absoluteTarget)) {
+          return FileVisitResult.SKIP_SUBTREE;
+        }
+
+        Files.createDirectories(target.resolve(source.relativize(directory)));
+        directories.add(directory);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+        files.add(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+        // a link to one of its own ancestors would otherwise be walked forever
+        if (e instanceof FileSystemLoopException) {
+          return FileVisitResult.CONTINUE;
+        }
+        throw e;
+      }
+    });
+  }
+
+  private void copyFiles(Path source, Path target, List<Path> files) throws IOException {
+    if (files.isEmpty()) {
+      return;
+    }
+
+    AtomicInteger next = new AtomicInteger();
+    int workers = Math.min(concurrency, files.size());
+    ExecutorService executor = newFixedThreadPool(workers);
+    try {
+      List<Future<?>> futures = new ArrayList<>(workers);
+      for (int i = 0; i < workers; i++) {
+        futures.add(executor.submit(() -> {
+          for (int index = next.getAndIncrement(); index < files.size(); index = next.getAndIncrement()) {
+            Path file = files.get(index);
+            Path targetFile = target.resolve(source.relativize(file));
+            try {
+              fileCopier.copy(file, targetFile);
+              copyLastModifiedTime(file, targetFile);
+            } catch (IOException | RuntimeException e) {
+              // makes the rest of the workers stop picking files
+              next.set(files.size());
+              throw e;
+            }
+          }
+          return null;
+        }));
+      }
+
+      for (Future<?> future : futures) {
+        awaitWorker(future);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void awaitWorker(Future<?> future) throws IOException {
+    try {
+      future.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw new InterruptedIOException("Thread was interrupted while copying files");
+    }
+  }
+
+  private static void copyLastModifiedTime(Path source, Path target) throws IOException {
+    FileTime lastModifiedTime = Files.getLastModifiedTime(source);
+    Files.setLastModifiedTime(target, lastModifiedTime);
+  }
+
+  /**
+   * Copies the content of a single file, overwriting the target if it already exists
+   */
+  @FunctionalInterface
+  interface FileCopier {
+
+    void copy(Path source, Path target) throws IOException;
+  }
+}
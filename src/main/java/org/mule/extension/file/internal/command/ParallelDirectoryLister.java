@@ -0,0 +1,210 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.lang.Thread.currentThread;
+import static org.mule.extension.file.internal.command.DirectoryEntryResolver.listingException;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.common.api.exceptions.FileAccessDeniedException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Lists a directory tree recursively, listing sibling directories concurrently on a {@link ForkJoinPool}.
+ * <p>
+ * Each directory is listed by its own task, which forks one task per sub-directory it finds and then joins them in the order in
+ * which they were found. Hence, the output is exactly the same, and in the same order, as the one of a sequential
+ * {@link LocalListIterator}, no matter how the tasks were scheduled.
+ * <p>
+ * The pool is not owned by the lister, so that it can be shared by consecutive listings, i.e: the polls of a listener.
+ *
+ * @since 1.6.0
+ */
+final class ParallelDirectoryLister {
+
+  private final DirectoryEntryResolver resolver;
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a new instance
+   *
+   * @param resolver the {@link DirectoryEntryResolver} which turns the walked entries into results
+   * @param pool     the {@link ForkJoinPool} on which the directories are listed. Its parallelism is the maximum amount of
+   *                 directories to list concurrently
+   */
+  ParallelDirectoryLister(DirectoryEntryResolver resolver, ForkJoinPool pool) {
+    this.resolver = resolver;
+    this.pool = pool;
+  }
+
+  /**
+   * Lists the {@code directory} and all of its sub-directories.
+   *
+   * @param directory the directory to be listed. It's assumed to exist and to be a directory
+   * @return the listed {@link Result results}
+   * @throws FileAccessDeniedException if the {@code directory} cannot be read
+   */
+  List<Result<InputStream, LocalFileAttributes>> list(Path directory) {
+    DirectoryStream<Path> stream = resolver.openRootDirectory(directory);
+    try {
+      return pool.submit(new DirectoryListingTask(directory, stream, null, 0)).get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw listingException(directory, e.getCause());
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw new MuleRuntimeException(createStaticMessage("Thread was interrupted while listing directory " + directory), e);
+    } finally {
+      closeQuietly(stream);
+    }
+  }
+
+  private final class DirectoryListingTask extends RecursiveTask<List<Result<InputStream, LocalFileAttributes>>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Path directory;
+    private final LocalFileAttributes attributes;
+    private final int depth;
+    private transient DirectoryStream<Path> stream;
+
+    private DirectoryListingTask(Path directory, DirectoryStream<Path> stream, LocalFileAttributes attributes, int depth) {
+      this.directory = directory;
+      this.stream = stream;
+      this.attributes = attributes;
+      this.depth = depth;
+    }
+
+    /**
+     * @return the results of this directory's contents followed by the directory itself, or {@code null} if the directory is to
+     *         be left out of the listing
+     */
+    @Override
+    protected List<Result<InputStream, LocalFileAttributes>> compute() {
+      if (stream == null) {
+        stream = resolver.openDirectory(directory);
+        if (stream == null) {
+          return null;
+        }
+      }
+
+      // results and tasks listing a sub-directory, in the order in which they were found
+      List<ListingEntry> entries = new ArrayList<>();
+      try (DirectoryStream<Path> children = stream) {
+        int childDepth = depth + 1;
+        for (Path child : children) {
+          if (resolver.skips(child, childDepth)) {
+            continue;
+          }
+
+          LocalFileAttributes childAttributes = resolver.readAttributes(child);
+          if (childAttributes == null) {
+            continue;
+          }
+
+          if (childAttributes.isDirectory() && resolver.descendsInto(childDepth)) {
+            DirectoryListingTask task = new DirectoryListingTask(child, null, childAttributes, childDepth);
+            task.fork();
+            entries.add(new ListingEntry(task));
+          } else {
+            Result<InputStream, LocalFileAttributes> result = childAttributes.isDirectory()
+                ? resolver.directoryResult(child, childAttributes)
+                : resolver.fileResult(child, childAttributes);
+            if (result != null) {
+              entries.add(new ListingEntry(result));
+            }
+          }
+        }
+      } catch (IOException | DirectoryIteratorException e) {
+        cancel(entries);
+        throw listingException(directory, e instanceof DirectoryIteratorException ? e.getCause() : e);
+      } catch (RuntimeException e) {
+        cancel(entries);
+        throw e;
+      }
+
+      return merge(entries);
+    }
+
+    private List<Result<InputStream, LocalFileAttributes>> merge(List<ListingEntry> entries) {
+      List<Result<InputStream, LocalFileAttributes>> results = new ArrayList<>(entries.size());
+      for (int i = 0; i < entries.size(); i++) {
+        ListingEntry entry = entries.get(i);
+        if (entry.task == null) {
+          results.add(entry.result);
+          continue;
+        }
+
+        List<Result<InputStream, LocalFileAttributes>> directoryResults;
+        try {
+          directoryResults = entry.task.join();
+        } catch (RuntimeException e) {
+          cancel(entries.subList(i + 1, entries.size()));
+          throw e;
+        }
+        if (directoryResults != null) {
+          results.addAll(directoryResults);
+        }
+      }
+
+      if (attributes != null) {
+        Result<InputStream, LocalFileAttributes> directoryResult = resolver.directoryResult(directory, attributes);
+        if (directoryResult != null) {
+          results.add(directoryResult);
+        }
+      }
+
+      return results;
+    }
+
+    /**
+     * Since the pool outlives the listing, the sub-directories which were still to be listed when it failed are cancelled
+     */
+    private void cancel(List<ListingEntry> entries) {
+      for (ListingEntry entry : entries) {
+        if (entry.task != null) {
+          entry.task.cancel(false);
+        }
+      }
+    }
+  }
+
+  /**
+   * Either the result of a listed entry or the task which lists a sub-directory
+   */
+  private static final class ListingEntry {
+
+    private final Result<InputStream, LocalFileAttributes> result;
+    private final DirectoryListingTask task;
+
+    private ListingEntry(Result<InputStream, LocalFileAttributes> result) {
+      this.result = result;
+      this.task = null;
+    }
+
+    private ListingEntry(DirectoryListingTask task) {
+      this.result = null;
+      this.task = task;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.extension.file.internal.command.ChannelFileCopier.copyTimestamps;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.slf4j.Logger;
+
+/**
+ * Copies files in a way which can be resumed if the copy is interrupted, for example because the JVM was shut down.
+ * <p>
+ * The content is not written into the target path but into a hidden partial file next to it. After each chunk, the partial file
+ * is flushed to the storage device and the amount of bytes copied so far is recorded in a checkpoint file, which also holds the
+ * size and last modified time of the source. Hence, every byte up to the checkpointed offset is known to be on disk.
+ * <p>
+ * When a copy into the same target starts and finds a checkpoint for the same source, it resumes from the checkpointed offset
+ * instead of starting over. If the source changed, or the checkpoint is unreadable, the copy starts from the beginning. Once
+ * the whole content was copied, the partial file is atomically renamed into the target path and the checkpoint is deleted, so
+ * the target path never holds an incomplete file. If the source shrinks during the copy, the copy fails and the partial file is
+ * left to be discarded by the next attempt.
+ *
+ * @since 1.6.0
+ */
+final class ResumableFileCopier {
+
+  private static final Logger LOGGER = getLogger(ResumableFileCopier.class);
+
+  static final long DEFAULT_CHECKPOINT_INTERVAL = 64L * 1024 * 1024;
+
+  private static final String PARTIAL_SUFFIX = ".part";
+  private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+  private static final long CHECKPOINT_MAGIC = 0x4d756c6543707421L;
+  private static final int CHECKPOINT_SIZE = 4 * Long.BYTES;
+
+  private final long checkpointInterval;
+  private final boolean preserveTimestamps;
+
+  /**
+   * Creates a new instance
+   *
+   * @param checkpointInterval the amount of bytes to copy between checkpoints
+   * @param preserveTimestamps whether the copies should keep the creation, last access and last modified times of the source
+   */
+  ResumableFileCopier(long checkpointInterval, boolean preserveTimestamps) {
+    this.checkpointInterval = checkpointInterval;
+    this.preserveTimestamps = preserveTimestamps;
+  }
+
+  /**
+   * Copies the {@code source} file into the {@code target}, resuming a previous copy between the same paths if there's one.
+   *
+   * @param source    the file to copy
+   * @param target    the path of the copy
+   * @param overwrite whether to overwrite the {@code target} if it already exists
+   * @throws FileAlreadyExistsException if the {@code target} exists and {@code overwrite} is {@code false}
+   * @throws IOException                if the file could not be copied, or was truncated while being copied
+   */
+  void copy(Path source, Path target, boolean overwrite) throws IOException {
+    Path partial = partialPath(target);
+    Path checkpoint = checkpointPath(target);
+    BasicFileAttributes sourceAttributes = Files.readAttributes(source, BasicFileAttributes.class);
+    long size = sourceAttributes.size();
+    long lastModified = sourceAttributes.lastModifiedTime().toMillis();
+
+    try (FileChannel sourceChannel = FileChannel.open(source, READ);
+        FileChannel partialChannel = FileChannel.open(partial, WRITE, CREATE);
+        FileChannel checkpointChannel = FileChannel.open(checkpoint, READ, WRITE, CREATE)) {
+      long offset = readCheckpoint(checkpointChannel, size, lastModified);
+      if (offset > partialChannel.size()) {
+        // the partial file lost content which was known to be written, so it can't be trusted
+        offset = 0;
+      }
+      if (offset > 0) {
+        LOGGER.info("Resuming copy of '{}' into '{}' from byte {} of {}", source, target, offset, size);
+      }
+
+      partialChannel.truncate(offset);
+      partialChannel.position(offset);
+      while (offset < size) {
+        long count = sourceChannel.transferTo(offset, Math.min(checkpointInterval, size - offset), partialChannel);
+        if (count <= 0) {
+          // the file was truncated while being copied, so the partial file must not become the target
+          throw new IOException(format("Could only copy %d of the %d bytes of '%s' into '%s' because the file was truncated",
+                                       offset, size, source, target));
+        }
+        offset += count;
+        partialChannel.force(false);
+        writeCheckpoint(checkpointChannel, size, lastModified, offset);
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Copied {} of {} bytes from '{}' to '{}'", offset, size, source, target);
+        }
+      }
+    }
+
+    if (preserveTimestamps) {
+      copyTimestamps(source, partial);
+    }
+    if (!overwrite && Files.exists(target)) {
+      throw new FileAlreadyExistsException(target.toString());
+    }
+
+    try {
+      Files.move(partial, target, ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(partial, target, REPLACE_EXISTING);
+    }
+    Files.deleteIfExists(checkpoint);
+  }
+
+  /**
+   * @param target the target of a copy
+   * @return the path of the file into which the content is copied until it's complete
+   */
+  static Path partialPath(Path target) {
+    return target.resolveSibling("." + target.getFileName() + PARTIAL_SUFFIX);
+  }
+
+  /**
+   * @param target the target of a copy
+   * @return the path of the file which keeps track of the copied bytes
+   */
+  static Path checkpointPath(Path target) {
+    return target.resolveSibling("." + target.getFileName() + PARTIAL_SUFFIX + CHECKPOINT_SUFFIX);
+  }
+
+  /**
+   * Records that the first {@code offset} bytes of a source with the given {@code size} and {@code lastModified} time were
+   * copied, and waits for the record to reach the storage device.
+   */
+  static void writeCheckpoint(FileChannel checkpointChannel, long size, long lastModified, long offset) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_SIZE);
+    buffer.putLong(size).putLong(lastModified).putLong(offset).putLong(CHECKPOINT_MAGIC ^ size ^ lastModified ^ offset);
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      checkpointChannel.write(buffer, buffer.position());
+    }
+    checkpointChannel.force(false);
+  }
+
+  /**
+   * @return the checkpointed offset, or {@code 0} if there's no valid checkpoint for a source with the given {@code size} and
+   *         {@code lastModified} time
+   */
+  private static long readCheckpoint(FileChannel checkpointChannel, long size, long lastModified) throws IOException {
+    if (checkpointChannel.size() != CHECKPOINT_SIZE) {
+      return 0;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_SIZE);
+    while (buffer.hasRemaining() && checkpointChannel.read(buffer, buffer.position()) >= 0) {
+      // keep reading until the buffer is full
+    }
+    buffer.flip();
+    if (buffer.remaining() != CHECKPOINT_SIZE) {
+      return 0;
+    }
+
+    long checkpointSize = buffer.getLong();
+    long checkpointLastModified = buffer.getLong();
+    long offset = buffer.getLong();
+    long check = buffer.getLong();
+    if (check != (CHECKPOINT_MAGIC ^ checkpointSize ^ checkpointLastModified ^ offset)
+        || checkpointSize != size || checkpointLastModified != lastModified || offset < 0 || offset > size) {
+      return 0;
+    }
+
+    return offset;
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.UUID.randomUUID;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.mule.extension.file.internal.metrics.TrashStatsMBean;
+import org.slf4j.Logger;
+
+/**
+ * A directory into which trees are moved to be deleted in the background.
+ * <p>
+ * Moving a tree into the trash is a single atomic rename, so the caller doesn't have to wait for each of its entries to be
+ * deleted, and the original path can be reused right away without racing the deletion. The trashed trees are then deleted on
+ * a {@link ForkJoinPool}, deleting sibling directories concurrently. Hence, the trash directory must be on the same file
+ * system as the deleted trees.
+ * <p>
+ * Trees which were not completely deleted, because the pool was shut down or an entry could not be deleted, are deleted again
+ * when the trash is opened the next time.
+ *
+ * @since 1.6.0
+ */
+public final class Trash implements TrashStatsMBean {
+
+  private static final Logger LOGGER = getLogger(Trash.class);
+
+  private final Path directory;
+  private final ForkJoinPool pool;
+  private final AtomicLong pendingEntries = new AtomicLong();
+  private final AtomicLong pendingBytes = new AtomicLong();
+
+  /**
+   * Creates the trash directory if it doesn't exist and schedules the deletion of any tree left in it.
+   *
+   * @param directory   the trash directory
+   * @param concurrency the maximum amount of directories to delete concurrently
+   * @throws IOException if the trash directory could not be created or listed
+   */
+  public Trash(Path directory, int concurrency) throws IOException {
+    this.directory = Files.createDirectories(directory.toAbsolutePath().normalize());
+    pool = new ForkJoinPool(concurrency);
+
+    try (Stream<Path> leftovers = Files.list(this.directory)) {
+      leftovers.forEach(this::scheduleDeletion);
+    }
+  }
+
+  /**
+   * Moves the {@code path} into the trash and schedules its deletion.
+   *
+   * @param path the path to delete
+   * @return {@code false} if the {@code path} cannot be moved into the trash, in which case the caller must delete it on its own
+   * @throws IOException if moving the {@code path} failed for any other reason
+   */
+  public boolean moveToTrash(Path path) throws IOException {
+    Path absolutePath = path.toAbsolutePath().normalize();
+    if (absolutePath.startsWith(directory) || directory.startsWith(absolutePath)) {
+      return false;
+    }
+
+    Path trashed = directory.resolve(randomUUID() + "-" + absolutePath.getFileName());
+    try {
+      Files.move(absolutePath, trashed, ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      LOGGER.warn("Could not move '{}' into trash directory '{}' because they are on different file systems. Deleting it in place.",
+                  absolutePath, directory);
+      return false;
+    }
+
+    LOGGER.debug("Moved '{}' into the trash as '{}'", absolutePath, trashed);
+    scheduleDeletion(trashed);
+    return true;
+  }
+
+  /**
+   * @return the amount of trashed trees which are not completely deleted yet
+   */
+  @Override
+  public long getPendingEntries() {
+    return pendingEntries.get();
+  }
+
+  /**
+   * @return the amount of bytes of the trashed files which are not deleted yet. Since trees are measured in the background,
+   *         recently trashed ones might not be accounted for yet.
+   */
+  @Override
+  public long getPendingBytes() {
+    return pendingBytes.get();
+  }
+
+  /**
+   * @return the trash directory
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Stops deleting the trashed trees. Whatever is left is deleted when the trash is opened again.
+   */
+  public void close() {
+    pool.shutdownNow();
+  }
+
+  private void scheduleDeletion(Path trashed) {
+    pendingEntries.incrementAndGet();
+    pool.execute(() -> {
+      long size = measure(trashed);
+      pendingBytes.addAndGet(size);
+      DeletionTask task = new DeletionTask(trashed);
+      try {
+        task.invoke();
+        LOGGER.debug("Deleted trashed entry '{}'", trashed);
+      } catch (Exception e) {
+        LOGGER.warn(format("Could not delete trashed entry '%s'. It will be deleted again the next time the trash is opened. %s",
+                           trashed, e.getMessage()),
+                    e);
+      } finally {
+        // whatever wasn't deleted, or changed its size since measured, is no longer pending
+        pendingBytes.addAndGet(task.deletedBytes.get() - size);
+        pendingEntries.decrementAndGet();
+      }
+    });
+  }
+
+  private long measure(Path trashed) {
+    try (Stream<Path> paths = Files.walk(trashed)) {
+      return paths.mapToLong(path -> {
+        try {
+          BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+          return attributes.isRegularFile() ? attributes.size() : 0;
+        } catch (IOException e) {
+          return 0;
+        }
+      }).sum();
+    } catch (Exception e) {
+      LOGGER.debug("Could not measure trashed entry '{}'. {}", trashed, e.getMessage());
+      return 0;
+    }
+  }
+
+  private final class DeletionTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Path path;
+    // shared by the whole tree, so that the root task knows how much was deleted
+    private final AtomicLong deletedBytes;
+
+    private DeletionTask(Path path) {
+      this(path, new AtomicLong());
+    }
+
+    private DeletionTask(Path path, AtomicLong deletedBytes) {
+      this.path = path;
+      this.deletedBytes = deletedBytes;
+    }
+
+    @Override
+    protected void compute() {
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (attributes.isDirectory()) {
+          deleteChildren();
+        }
+
+        Files.delete(path);
+        if (attributes.isRegularFile()) {
+          deletedBytes.addAndGet(attributes.size());
+          pendingBytes.addAndGet(-attributes.size());
+        }
+      } catch (NoSuchFileException e) {
+        // already deleted
+      } catch (IOException e) {
+        throw new TrashDeletionException(path, e);
+      }
+    }
+
+    private void deleteChildren() throws IOException {
+      List<DeletionTask> directories = new ArrayList<>();
+      try (DirectoryStream<Path> children = Files.newDirectoryStream(path)) {
+        for (Path child : children) {
+          DeletionTask childTask = new DeletionTask(child, deletedBytes);
+          if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+            directories.add(childTask);
+            childTask.fork();
+          } else {
+            childTask.compute();
+          }
+        }
+      } finally {
+        for (DeletionTask childTask : directories) {
+          childTask.join();
+        }
+      }
+    }
+  }
+
+  private static final class TrashDeletionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private TrashDeletionException(Path path, IOException cause) {
+      super(format("Could not delete '%s': %s", path, cause.getMessage()), cause);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.util.Collections.emptyList;
+import static org.mule.extension.file.internal.matcher.PathPatterns.REGEX_PREFIX;
+
+import org.mule.extension.file.internal.matcher.PathPatterns;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits how far a recursive listing walks a directory tree.
+ * <p>
+ * Entries whose path matches one of the exclude patterns are left out of the listing without reading their attributes and, if
+ * they're directories, without walking them. A trailing {@code /**} in a glob is ignored, since leaving out a directory
+ * already leaves out everything within it, so that both {@code **}{@code /archive} and {@code **}{@code /archive/**} prune
+ * the directories named {@code archive}.
+ * <p>
+ * Depths are relative to the listed directory, whose contents are at depth 1.
+ *
+ * @since 1.6.0
+ */
+public final class WalkSettings {
+
+  /**
+   * Settings which walk the whole tree
+   */
+  public static final WalkSettings UNBOUNDED = new WalkSettings(null, emptyList());
+
+  private static final String ANY_DESCENDANT = "/**";
+
+  private final Integer maxDepth;
+  private final List<PathMatcher> excludes;
+
+  /**
+   * Creates a new instance
+   *
+   * @param maxDepth        the maximum depth of the listed entries, or {@code null} for no limit
+   * @param excludePatterns patterns of the paths to leave out of the listing. May be {@code null}
+   * @throws IllegalArgumentException if {@code maxDepth} is not greater than zero or a pattern is not valid
+   */
+  public WalkSettings(Integer maxDepth, List<String> excludePatterns) {
+    if (maxDepth != null && maxDepth < 1) {
+      throw new IllegalArgumentException("maxDepth must be greater than zero");
+    }
+
+    this.maxDepth = maxDepth;
+    excludes = new ArrayList<>();
+    if (excludePatterns != null) {
+      for (String pattern : excludePatterns) {
+        excludes.add(PathPatterns.compile(trimDescendants(pattern)));
+      }
+    }
+  }
+
+  /**
+   * @param path a walked path
+   * @return whether the {@code path} is to be left out of the listing, together with all of its contents
+   */
+  boolean isExcluded(Path path) {
+    for (PathMatcher exclude : excludes) {
+      if (exclude.matches(path)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * @param depth the depth of a directory
+   * @return whether the contents of a directory at the given {@code depth} are within the maximum depth
+   */
+  boolean canDescend(int depth) {
+    return maxDepth == null || depth < maxDepth;
+  }
+
+  /**
+   * Tells whether a {@code path} found within the {@code root} without walking the tree, i.e: reported by a directory watcher,
+   * would have been reached by walking it
+   *
+   * @param root      the listed directory
+   * @param path      a path within the {@code root}
+   * @param recursive whether the listing is recursive
+   * @return whether the {@code path} is within the walked tree
+   */
+  public boolean includes(Path root, Path path, boolean recursive) {
+    Path relative = root.relativize(path);
+    int depth = relative.getNameCount();
+    if (depth > (recursive ? (maxDepth != null ? maxDepth : Integer.MAX_VALUE) : 1)) {
+      return false;
+    }
+
+    if (!excludes.isEmpty()) {
+      Path current = root;
+      for (Path name : relative) {
+        current = current.resolve(name);
+        if (isExcluded(current)) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Tells whether the contents of a {@code directory} found within the {@code root} without walking the tree would have been
+   * listed by walking it
+   *
+   * @param root      the listed directory
+   * @param directory the {@code root} itself or a directory within it
+   * @param recursive whether the listing is recursive
+   * @return whether the {@code directory} is walked
+   */
+  public boolean walks(Path root, Path directory, boolean recursive) {
+    if (root.equals(directory)) {
+      return true;
+    }
+
+    return recursive && canDescend(root.relativize(directory).getNameCount()) && includes(root, directory, true);
+  }
+
+  private static String trimDescendants(String pattern) {
+    if (!pattern.startsWith(REGEX_PREFIX) && pattern.endsWith(ANY_DESCENDANT) && pattern.length() > ANY_DESCENDANT.length()) {
+      return pattern.substring(0, pattern.length() - ANY_DESCENDANT.length());
+    }
+
+    return pattern;
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+
+/**
+ * Obtains the operating system lock of a {@link FileChannel} on behalf of a {@link FileChannelPathLock}.
+ *
+ * @since 1.6.0
+ */
+@FunctionalInterface
+interface ChannelLocker {
+
+  /**
+   * Locks the {@link FileChannel} right away, failing if it's already locked
+   */
+  ChannelLocker TRY_LOCK = (channel, shared) -> channel.tryLock(0, Long.MAX_VALUE, shared);
+
+  /**
+   * @param channel the {@link FileChannel} to lock
+   * @param shared  whether to take a shared lock, which requires a readable channel, rather than an exclusive one, which
+   *                requires a writable channel
+   * @return the acquired {@link FileLock}, or {@code null} if the file is locked by another process
+   * @throws IOException if the lock could not be requested
+   */
+  FileLock lock(FileChannel channel, boolean shared) throws IOException;
+
+  /**
+   * Same as {@link #lock(FileChannel, boolean)}, but waiting no longer than {@code maxWaitMillis}, nor than the maximum wait
+   * this locker was created with
+   *
+   * @param channel       the {@link FileChannel} to lock
+   * @param shared        whether to take a shared lock rather than an exclusive one
+   * @param maxWaitMillis the maximum time to wait. If not greater than zero, the lock is only tried once
+   * @return the acquired {@link FileLock}, or {@code null} if the file is locked by another process
+   * @throws IOException if the lock could not be requested
+   */
+  default FileLock lock(FileChannel channel, boolean shared, long maxWaitMillis) throws IOException {
+    return lock(channel, shared);
+  }
+
+  /**
+   * Creates a {@link ChannelLocker} which tries again after exponentially growing delays, randomized to keep competing
+   * processes from retrying in lockstep.
+   *
+   * @param maxWaitMillis the maximum time to keep trying
+   * @return a new {@link ChannelLocker}
+   */
+  static ChannelLocker backoff(long maxWaitMillis) {
+    return new BackoffChannelLocker(maxWaitMillis);
+  }
+
+  /**
+   * Creates a {@link ChannelLocker} which waits for the lock through {@link FileChannel#lock(long, long, boolean)} on a thread
+   * of the given {@code executor}, so that the waiting thread can give up once the {@code maxWaitMillis} elapse.
+   *
+   * @param executor      the {@link ExecutorService} on which to wait for the lock
+   * @param maxWaitMillis the maximum time to wait
+   * @return a new {@link ChannelLocker}
+   */
+  static ChannelLocker blocking(ExecutorService executor, long maxWaitMillis) {
+    return new BlockingChannelLocker(executor, maxWaitMillis);
+  }
+
+  final class BackoffChannelLocker implements ChannelLocker {
+
+    private static final long INITIAL_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+
+    private final long maxWaitMillis;
+
+    private BackoffChannelLocker(long maxWaitMillis) {
+      this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public FileLock lock(FileChannel channel, boolean shared) throws IOException {
+      return lock(channel, shared, maxWaitMillis);
+    }
+
+    @Override
+    public FileLock lock(FileChannel channel, boolean shared, long maxWaitMillis) throws IOException {
+      long deadline = System.nanoTime() + MILLISECONDS.toNanos(Math.min(maxWaitMillis, this.maxWaitMillis));
+      long backoff = INITIAL_BACKOFF_MILLIS;
+      while (true) {
+        FileLock lock = channel.tryLock(0, Long.MAX_VALUE, shared);
+        if (lock != null) {
+          return lock;
+        }
+
+        long remaining = NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+          return null;
+        }
+
+        // half of the delay is fixed and the other half random, so that it still grows while spreading the retries
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        try {
+          Thread.sleep(Math.min(delay, remaining));
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+          return null;
+        }
+        backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+      }
+    }
+  }
+
+  final class BlockingChannelLocker implements ChannelLocker {
+
+    private static final Logger LOGGER = getLogger(BlockingChannelLocker.class);
+
+    private final ExecutorService executor;
+    private final long maxWaitMillis;
+
+    private BlockingChannelLocker(ExecutorService executor, long maxWaitMillis) {
+      this.executor = executor;
+      this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public FileLock lock(FileChannel channel, boolean shared) throws IOException {
+      return lock(channel, shared, maxWaitMillis);
+    }
+
+    @Override
+    public FileLock lock(FileChannel channel, boolean shared, long maxWaitMillis) throws IOException {
+      long waitMillis = Math.min(maxWaitMillis, this.maxWaitMillis);
+      if (waitMillis <= 0) {
+        return channel.tryLock(0, Long.MAX_VALUE, shared);
+      }
+
+      AtomicBoolean abandoned = new AtomicBoolean(false);
+      Future<FileLock> future = executor.submit(() -> {
+        FileLock lock = channel.lock(0, Long.MAX_VALUE, shared);
+        if (abandoned.get()) {
+          lock.release();
+          return null;
+        }
+        return lock;
+      });
+
+      try {
+        return future.get(waitMillis, MILLISECONDS);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException(e.getCause());
+      } catch (TimeoutException | InterruptedException e) {
+        if (e instanceof InterruptedException) {
+          currentThread().interrupt();
+        }
+        // The waiting thread can't be interrupted since that would close the channel. It's left waiting until the lock is
+        // granted, which it then releases, or until the owner of the channel closes it after failing to lock it.
+        abandoned.set(true);
+        releaseIfGranted(future);
+        return null;
+      }
+    }
+
+    private void releaseIfGranted(Future<FileLock> future) {
+      if (!future.isDone()) {
+        return;
+      }
+
+      try {
+        FileLock lock = future.get();
+        if (lock != null) {
+          lock.release();
+        }
+      } catch (Exception e) {
+        LOGGER.debug("Could not release abandoned lock", e);
+      }
+    }
+  }
+}
@@ -25,12 +25,14 @@ import org.slf4j.LoggerFactory;
  *
  * @since 1.0
  */
-public final class FileChannelPathLock implements PathLock {
+public final class FileChannelPathLock implements TimedPathLock {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(FileChannelPathLock.class);
 
   private final Path path;
   private final FileChannel channel;
+  private final ChannelLocker channelLocker;
+  private final boolean shared;
   private FileLock lock;
 
   /**
@@ -40,8 +42,23 @@ public final class FileChannelPathLock implements PathLock {
    * @param channel a {@link FileChannel}
    */
   public FileChannelPathLock(Path path, FileChannel channel) {
+    this(path, channel, ChannelLocker.TRY_LOCK, false);
+  }
+
+  /**
+   * Creates a new instance which obtains the {@link FileLock} through the given {@code channelLocker}
+   *
+   * @param path          a {@link Path} pointing to the resource to be locked
+   * @param channel       a {@link FileChannel}
+   * @param channelLocker the {@link ChannelLocker} which obtains the {@link FileLock}
+   * @param shared        whether to obtain a shared {@link FileLock}, which only requires the {@code channel} to be readable
+   * @since 1.6.0
+   */
+  FileChannelPathLock(Path path, FileChannel channel, ChannelLocker channelLocker, boolean shared) {
     this.path = path.toAbsolutePath();
     this.channel = channel;
+    this.channelLocker = channelLocker;
+    this.shared = shared;
   }
 
   /**
@@ -49,12 +66,20 @@ public final class FileChannelPathLock implements PathLock {
    */
   @Override
   public boolean tryLock() {
+    return tryLock(Long.MAX_VALUE);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean tryLock(long maxWaitMillis) {
     if (isLocked()) {
       throw new FileLockedException("Lock is already acquired");
     }
 
     try {
-      lock = channel.tryLock();
+      lock = channelLocker.lock(channel, shared, maxWaitMillis);
       return isLocked();
     } catch (AccessDeniedException e) {
       release();
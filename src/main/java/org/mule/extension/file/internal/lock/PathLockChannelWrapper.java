@@ -30,15 +30,27 @@ public class PathLockChannelWrapper implements PathLock {
 
   private PathLock pathLock;
   private LazyValue<FileChannel> lazyFileChannel;
+  private Runnable onRelease;
 
   public PathLockChannelWrapper(PathLock pathLock, FileChannel fileChannel) {
-    this.pathLock = pathLock;
-    this.lazyFileChannel = new LazyValue<>(fileChannel);
+    this(pathLock, new LazyValue<>(fileChannel));
   }
 
   public PathLockChannelWrapper(PathLock pathLock, LazyValue<FileChannel> fileChannel) {
+    this(pathLock, fileChannel, () -> {
+    });
+  }
+
+  /**
+   * Creates a new instance which also runs the given {@code onRelease} callback when released, before closing the
+   * {@link FileChannel}. This allows releasing resources which depend on the channel, such as memory mapped regions.
+   *
+   * @since 1.6.0
+   */
+  public PathLockChannelWrapper(PathLock pathLock, LazyValue<FileChannel> fileChannel, Runnable onRelease) {
     this.pathLock = pathLock;
     this.lazyFileChannel = fileChannel;
+    this.onRelease = onRelease;
   }
 
   /**
@@ -63,6 +75,7 @@ public class PathLockChannelWrapper implements PathLock {
   @Override
   public void release() {
     pathLock.release();
+    onRelease.run();
     lazyFileChannel.ifComputed(fileChannel -> {
       try {
         fileChannel.close();
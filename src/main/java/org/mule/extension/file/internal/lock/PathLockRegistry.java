@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import static java.lang.Thread.currentThread;
+
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in memory table of locked paths, which allows threads of the same JVM to exclude each other from a path without going
+ * to the operating system.
+ * <p>
+ * Operating system locks are held by the whole process, so they don't exclude threads of the same JVM from each other: a
+ * second lock on the same file just fails. Checking this table first makes those threads fail, or wait, without a system
+ * call. Paths are normalized into absolute paths, so that different ways of referring to the same path share the same entry.
+ * <p>
+ * Each path is guarded by a {@link Semaphore} rather than a lock owned by a thread, since a path is often released by another
+ * thread than the one which locked it, i.e: when a stream is consumed asynchronously. A shared lock takes one of the
+ * semaphore's permits while an exclusive one takes all of them, so that any amount of shared locks can be held at the same
+ * time, but never together with an exclusive one. Entries are kept in a {@link ConcurrentHashMap}, whose bins are updated
+ * independently, and are removed once no thread holds or waits for them.
+ *
+ * @since 1.6.0
+ */
+public final class PathLockRegistry {
+
+  private final ConcurrentMap<Path, Entry> entries = new ConcurrentHashMap<>();
+  private final boolean fair;
+
+  /**
+   * Creates a new instance
+   *
+   * @param fair whether threads waiting for a path should acquire it in the order in which they started waiting
+   */
+  public PathLockRegistry(boolean fair) {
+    this.fair = fair;
+  }
+
+  /**
+   * Attempts to exclusively lock the {@code path}, waiting up to the given {@code timeout} for it to be released if it's
+   * locked.
+   *
+   * @param path    the path to lock
+   * @param timeout the maximum time to wait. If not greater than zero, the path is locked only if it's not already locked
+   * @param unit    the {@link TimeUnit} of the {@code timeout}
+   * @return whether the path was locked. If the thread is interrupted while waiting, {@code false} is returned and the
+   *         thread's interrupted status is set
+   */
+  public boolean tryAcquire(Path path, long timeout, TimeUnit unit) {
+    return tryAcquire(path, false, timeout, unit);
+  }
+
+  /**
+   * Attempts to lock the {@code path}, waiting up to the given {@code timeout} for it to be released if it's locked in a way
+   * which excludes the requested lock.
+   *
+   * @param path    the path to lock
+   * @param shared  whether to take a shared lock, which only excludes exclusive ones, rather than an exclusive one
+   * @param timeout the maximum time to wait. If not greater than zero, the path is locked only if it's not already locked
+   * @param unit    the {@link TimeUnit} of the {@code timeout}
+   * @return whether the path was locked. If the thread is interrupted while waiting, {@code false} is returned and the
+   *         thread's interrupted status is set
+   * @since 1.6.0
+   */
+  public boolean tryAcquire(Path path, boolean shared, long timeout, TimeUnit unit) {
+    Path key = normalize(path);
+    Entry entry = entries.compute(key, (k, existing) -> {
+      Entry result = existing != null ? existing : new Entry(fair);
+      result.users++;
+      return result;
+    });
+
+    boolean acquired = false;
+    try {
+      int permits = permits(shared);
+      acquired = timeout > 0 ? entry.permits.tryAcquire(permits, timeout, unit) : entry.permits.tryAcquire(permits);
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    } finally {
+      if (!acquired) {
+        leave(key);
+      }
+    }
+
+    return acquired;
+  }
+
+  /**
+   * Releases a {@code path} previously locked through {@link #tryAcquire(Path, long, TimeUnit)}
+   *
+   * @param path the locked path
+   */
+  public void release(Path path) {
+    release(path, false);
+  }
+
+  /**
+   * Releases a {@code path} previously locked through {@link #tryAcquire(Path, boolean, long, TimeUnit)}
+   *
+   * @param path   the locked path
+   * @param shared whether the lock was a shared one
+   * @since 1.6.0
+   */
+  public void release(Path path, boolean shared) {
+    Path key = normalize(path);
+    Entry entry = entries.get(key);
+    if (entry != null) {
+      entry.permits.release(permits(shared));
+      leave(key);
+    }
+  }
+
+  /**
+   * @return the amount of paths which are currently locked or waited for
+   */
+  int size() {
+    return entries.size();
+  }
+
+  private void leave(Path key) {
+    entries.computeIfPresent(key, (k, entry) -> --entry.users == 0 ? null : entry);
+  }
+
+  private static int permits(boolean shared) {
+    return shared ? 1 : Integer.MAX_VALUE;
+  }
+
+  private static Path normalize(Path path) {
+    return path.toAbsolutePath().normalize();
+  }
+
+  private static final class Entry {
+
+    private final Semaphore permits;
+    // only accessed within the map's atomic compute methods
+    private int users = 0;
+
+    private Entry(boolean fair) {
+      permits = new Semaphore(Integer.MAX_VALUE, fair);
+    }
+  }
+}
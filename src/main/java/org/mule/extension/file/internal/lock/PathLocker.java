@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.mule.extension.file.api.LockWaitMode.BACKOFF;
+import static org.mule.extension.file.api.LockWaitMode.FAIL_FAST;
+
+import org.mule.extension.file.api.LockWaitMode;
+import org.mule.extension.file.common.api.lock.PathLock;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates the {@link PathLock locks} of a {@link org.mule.extension.file.internal.LocalFileSystem}.
+ * <p>
+ * Every lock is first acquired on a {@link PathLockRegistry} shared by all the locks created by this instance, and then on the
+ * operating system through a {@link FileChannelPathLock}, waiting for other processes to release it as defined by a
+ * {@link LockWaitMode}. Threads competing for a path through different instances are excluded by the operating system lock
+ * only, as they were before the registry existed. Shared locks of the same path get a single operating system lock, tracked
+ * by {@link SharedFileLocks}.
+ *
+ * @since 1.6.0
+ */
+public final class PathLocker {
+
+  private final PathLockRegistry registry;
+  private final long waitTimeoutMillis;
+  private final ExecutorService blockingExecutor;
+  private final ChannelLocker channelLocker;
+  private final SharedFileLocks sharedLocks;
+
+  /**
+   * Creates a new instance which fails right away if a path is already locked
+   */
+  public PathLocker() {
+    this(0, false);
+  }
+
+  /**
+   * Creates a new instance which only waits for other threads of the same JVM to release a locked path
+   *
+   * @param waitTimeoutMillis the maximum time to wait for other threads of the same JVM to release a locked path
+   * @param fair              whether threads waiting for a path should acquire it in the order in which they started waiting
+   */
+  public PathLocker(long waitTimeoutMillis, boolean fair) {
+    this(waitTimeoutMillis, fair, FAIL_FAST);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param waitTimeoutMillis the maximum time to wait for a locked path to be released, first by other threads of the same JVM
+   *                          and then by other processes. If not greater than zero, locking fails right away
+   * @param fair              whether threads waiting for a path should acquire it in the order in which they started waiting
+   * @param waitMode          the {@link LockWaitMode} which defines how to wait for other processes to release a path
+   * @since 1.6.0
+   */
+  public PathLocker(long waitTimeoutMillis, boolean fair, LockWaitMode waitMode) {
+    registry = new PathLockRegistry(fair);
+    this.waitTimeoutMillis = waitTimeoutMillis;
+
+    if (waitTimeoutMillis <= 0 || waitMode == FAIL_FAST) {
+      blockingExecutor = null;
+      channelLocker = ChannelLocker.TRY_LOCK;
+    } else if (waitMode == BACKOFF) {
+      blockingExecutor = null;
+      channelLocker = ChannelLocker.backoff(waitTimeoutMillis);
+    } else {
+      blockingExecutor = newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "file-lock-waiter");
+        thread.setDaemon(true);
+        return thread;
+      });
+      channelLocker = ChannelLocker.blocking(blockingExecutor, waitTimeoutMillis);
+    }
+    sharedLocks = new SharedFileLocks(channelLocker);
+  }
+
+  /**
+   * Creates an exclusive lock for the {@code path}. The lock is not acquired yet.
+   *
+   * @param path    the path to lock
+   * @param channel the {@link FileChannel} through which the operating system lock is acquired
+   * @return a new {@link PathLock}
+   */
+  public PathLock createLock(Path path, FileChannel channel) {
+    return new RegisteredPathLock(registry, new FileChannelPathLock(path, channel, channelLocker, false), waitTimeoutMillis);
+  }
+
+  /**
+   * Creates a shared lock for the {@code path}, which can be held together with other shared locks but not with an exclusive
+   * one. The lock is not acquired yet.
+   * <p>
+   * The operating system lock is obtained through a read only channel opened by this instance, so the file doesn't need to
+   * be writable, and is shared by all the readers of the path.
+   *
+   * @param path the path to lock
+   * @return a new {@link PathLock}
+   * @since 1.6.0
+   */
+  public PathLock createSharedLock(Path path) {
+    return new RegisteredPathLock(registry, new SharedPathLock(path, sharedLocks), waitTimeoutMillis, true);
+  }
+
+  /**
+   * Stops the threads waiting for locks, if any
+   */
+  public void close() {
+    if (blockingExecutor != null) {
+      blockingExecutor.shutdownNow();
+    }
+  }
+}
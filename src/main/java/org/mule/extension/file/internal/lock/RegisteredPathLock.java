@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.extension.file.common.api.exceptions.FileLockedException;
+import org.mule.extension.file.common.api.lock.PathLock;
+
+import java.nio.file.Path;
+
+/**
+ * A {@link PathLock} which locks its path on a {@link PathLockRegistry} before delegating into another {@link PathLock},
+ * typically one held by the operating system.
+ * <p>
+ * Hence, threads of the same JVM competing for the same path are resolved in memory, and only the one which wins goes to the
+ * operating system. The wait timeout covers both: the operating system lock is only waited for during the time which is left
+ * after locking the path on the registry.
+ *
+ * @since 1.6.0
+ */
+public final class RegisteredPathLock implements PathLock {
+
+  private final PathLockRegistry registry;
+  private final PathLock delegate;
+  private final long waitTimeoutMillis;
+  private final boolean shared;
+  private boolean registered = false;
+
+  /**
+   * Creates a new instance
+   *
+   * @param registry          the {@link PathLockRegistry} on which the path is locked first
+   * @param delegate          the {@link PathLock} to acquire once the path is locked on the {@code registry}
+   * @param waitTimeoutMillis the maximum time to wait for other threads of the same JVM to release the path
+   */
+  public RegisteredPathLock(PathLockRegistry registry, PathLock delegate, long waitTimeoutMillis) {
+    this(registry, delegate, waitTimeoutMillis, false);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param registry          the {@link PathLockRegistry} on which the path is locked first
+   * @param delegate          the {@link PathLock} to acquire once the path is locked on the {@code registry}
+   * @param waitTimeoutMillis the maximum time to wait for other threads of the same JVM to release the path
+   * @param shared            whether the path is locked on the {@code registry} as a shared lock
+   * @since 1.6.0
+   */
+  public RegisteredPathLock(PathLockRegistry registry, PathLock delegate, long waitTimeoutMillis, boolean shared) {
+    this.registry = registry;
+    this.delegate = delegate;
+    this.waitTimeoutMillis = waitTimeoutMillis;
+    this.shared = shared;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized boolean tryLock() {
+    if (registered) {
+      throw new FileLockedException("Lock is already acquired");
+    }
+
+    long deadline = nanoTime() + MILLISECONDS.toNanos(waitTimeoutMillis);
+    if (!registry.tryAcquire(getPath(), shared, waitTimeoutMillis, MILLISECONDS)) {
+      return false;
+    }
+
+    registered = true;
+    boolean locked = false;
+    try {
+      if (delegate instanceof TimedPathLock) {
+        long remainingMillis = Math.max(0, NANOSECONDS.toMillis(deadline - nanoTime()));
+        locked = ((TimedPathLock) delegate).tryLock(remainingMillis);
+      } else {
+        locked = delegate.tryLock();
+      }
+    } finally {
+      if (!locked) {
+        unregister();
+      }
+    }
+
+    return locked;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized boolean isLocked() {
+    return registered && delegate.isLocked();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void release() {
+    try {
+      delegate.release();
+    } finally {
+      unregister();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Path getPath() {
+    return delegate.getPath();
+  }
+
+  private void unregister() {
+    if (registered) {
+      registered = false;
+      registry.release(getPath(), shared);
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Shares a single operating system shared lock per path among all the readers of the same JVM.
+ * <p>
+ * Operating system locks are held on behalf of the whole JVM, so a second shared lock on a file already locked by another
+ * thread fails with an {@link java.nio.channels.OverlappingFileLockException} instead of being granted. Hence, the first
+ * reader of a path locks it through a read only channel owned by this table, which later readers just join, and the last one
+ * to leave releases it. Owning the channel keeps the lock alive when the reader which acquired it closes its own channel
+ * before the others are done.
+ * <p>
+ * This table doesn't exclude writers by itself: it's meant to be used behind a {@link PathLockRegistry}, which never lets a
+ * shared lock be held together with an exclusive one.
+ *
+ * @since 1.6.0
+ */
+final class SharedFileLocks {
+
+  private static final Logger LOGGER = getLogger(SharedFileLocks.class);
+
+  private final ConcurrentMap<Path, Holder> holders = new ConcurrentHashMap<>();
+  private final ChannelLocker channelLocker;
+
+  /**
+   * Creates a new instance
+   *
+   * @param channelLocker the {@link ChannelLocker} through which the first reader of a path obtains the lock
+   */
+  SharedFileLocks(ChannelLocker channelLocker) {
+    this.channelLocker = channelLocker;
+  }
+
+  /**
+   * Joins the shared lock of the {@code path}, acquiring it if no other reader holds it
+   *
+   * @param path          the path to lock
+   * @param maxWaitMillis the maximum time to wait for other processes to release the path, if no other reader holds it
+   * @return whether the path is now locked on behalf of the caller
+   */
+  boolean acquire(Path path, long maxWaitMillis) {
+    Path key = path.toAbsolutePath().normalize();
+    while (true) {
+      Holder holder = holders.computeIfAbsent(key, Holder::new);
+      synchronized (holder) {
+        if (holder.removed) {
+          continue;
+        }
+
+        if (holder.readers == 0) {
+          boolean locked = false;
+          try {
+            locked = holder.lock(channelLocker, maxWaitMillis);
+          } finally {
+            if (!locked) {
+              discard(key, holder);
+            }
+          }
+
+          if (!locked) {
+            return false;
+          }
+        }
+
+        holder.readers++;
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Leaves the shared lock of the {@code path}, releasing it if no other reader holds it
+   *
+   * @param path the locked path
+   */
+  void release(Path path) {
+    Path key = path.toAbsolutePath().normalize();
+    Holder holder = holders.get(key);
+    if (holder == null) {
+      return;
+    }
+
+    synchronized (holder) {
+      if (!holder.removed && --holder.readers == 0) {
+        holder.unlock();
+        discard(key, holder);
+      }
+    }
+  }
+
+  /**
+   * @return the amount of paths which are currently locked
+   */
+  int size() {
+    return holders.size();
+  }
+
+  private void discard(Path key, Holder holder) {
+    holder.removed = true;
+    holders.remove(key, holder);
+  }
+
+  private static final class Holder {
+
+    private final Path path;
+    // all fields are only accessed while synchronized on the holder
+    private FileChannel channel;
+    private FileChannelPathLock lock;
+    private int readers = 0;
+    private boolean removed = false;
+
+    private Holder(Path path) {
+      this.path = path;
+    }
+
+    private boolean lock(ChannelLocker channelLocker, long maxWaitMillis) {
+      try {
+        channel = FileChannel.open(path, READ);
+      } catch (IOException e) {
+        if (LOGGER.isInfoEnabled()) {
+          LOGGER.info(format("Could not open path '%s' to obtain a shared lock on it", path), e);
+        }
+        return false;
+      }
+
+      lock = new FileChannelPathLock(path, channel, channelLocker, true);
+      boolean locked = false;
+      try {
+        locked = lock.tryLock(maxWaitMillis);
+      } finally {
+        if (!locked) {
+          unlock();
+        }
+      }
+
+      return locked;
+    }
+
+    private void unlock() {
+      try {
+        if (lock != null) {
+          lock.release();
+        }
+      } finally {
+        lock = null;
+        closeChannel();
+      }
+    }
+
+    private void closeChannel() {
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Found exception closing the shared lock channel of path '%s'", path), e);
+          }
+        } finally {
+          channel = null;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import org.mule.extension.file.common.api.exceptions.FileLockedException;
+import org.mule.extension.file.common.api.lock.PathLock;
+
+import java.nio.file.Path;
+
+/**
+ * A {@link PathLock} which holds a share of the operating system shared lock of its path, as tracked by
+ * {@link SharedFileLocks}.
+ *
+ * @since 1.6.0
+ */
+final class SharedPathLock implements TimedPathLock {
+
+  private final Path path;
+  private final SharedFileLocks sharedLocks;
+  private boolean locked = false;
+
+  SharedPathLock(Path path, SharedFileLocks sharedLocks) {
+    this.path = path.toAbsolutePath();
+    this.sharedLocks = sharedLocks;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean tryLock() {
+    return tryLock(Long.MAX_VALUE);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized boolean tryLock(long maxWaitMillis) {
+    if (locked) {
+      throw new FileLockedException("Lock is already acquired");
+    }
+
+    locked = sharedLocks.acquire(path, maxWaitMillis);
+    return locked;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized boolean isLocked() {
+    return locked;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void release() {
+    if (locked) {
+      locked = false;
+      sharedLocks.release(path);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Path getPath() {
+    return path;
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import org.mule.extension.file.common.api.lock.PathLock;
+
+/**
+ * A {@link PathLock} which can be told how long it may wait for the lock, so that a caller which already spent part of its
+ * wait timeout can pass on only the time that is left.
+ *
+ * @since 1.6.0
+ */
+interface TimedPathLock extends PathLock {
+
+  /**
+   * Same as {@link #tryLock()}, but waiting no longer than {@code maxWaitMillis}, nor than the wait this lock was created with
+   *
+   * @param maxWaitMillis the maximum time to wait for the lock. If not greater than zero, the lock is only tried once
+   * @return whether the lock was acquired
+   */
+  boolean tryLock(long maxWaitMillis);
+}
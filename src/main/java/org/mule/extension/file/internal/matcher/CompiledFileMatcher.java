@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.matcher;
+
+import static java.time.LocalDateTime.now;
+import static org.mule.extension.file.common.api.matcher.MatchPolicy.INCLUDE;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.api.LocalFileMatcher;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A {@link LocalFileMatcher} compiled into a {@link Predicate} which can be reused for as long as the matcher doesn't change,
+ * i.e: across the polls of a listener.
+ * <p>
+ * The conditions are split in two stages, evaluated from the cheapest to the most expensive. The first one only looks at the
+ * file's name and path, so it can be evaluated through {@link #acceptsPath(Path)} before reading the file's attributes. The
+ * second one holds the conditions on the file's type, size and times, which need them. Patterns are compiled through
+ * {@link PathPatterns}, so they're shared among all the matchers which use them.
+ * <p>
+ * Conditions relative to the current time are evaluated against a clock which only moves forward when {@link #resetClock()}
+ * is invoked, so that all the files of a poll are compared against the same time, as they were when the matcher was rebuilt
+ * on every poll.
+ * <p>
+ * The amount of files rejected by the matcher is counted, so that listeners can report how many entries each poll filtered
+ * out. See {@link #drainRejections()}.
+ *
+ * @since 1.6.0
+ */
+public final class CompiledFileMatcher implements Predicate<LocalFileAttributes> {
+
+  private final PathMatcher filenameMatcher;
+  private final PathMatcher pathMatcher;
+  private final Predicate<LocalFileAttributes> attributesPredicate;
+  private final boolean needsAttributes;
+  private final LongAdder rejections = new LongAdder();
+  private volatile LocalDateTime now = now();
+
+  /**
+   * Compiles the given {@code matcher}
+   *
+   * @param matcher the {@link LocalFileMatcher} to compile. If {@code null}, every file is accepted
+   * @return a new {@link CompiledFileMatcher}
+   */
+  public static CompiledFileMatcher compile(LocalFileMatcher matcher) {
+    return matcher != null ? new CompiledFileMatcher(matcher) : new CompiledFileMatcher();
+  }
+
+  private CompiledFileMatcher() {
+    filenameMatcher = null;
+    pathMatcher = null;
+    attributesPredicate = attributes -> true;
+    needsAttributes = false;
+  }
+
+  private CompiledFileMatcher(LocalFileMatcher matcher) {
+    filenameMatcher = pathMatcher(matcher.getFilenamePattern());
+    pathMatcher = pathMatcher(matcher.getPathPattern());
+
+    // the type and size conditions are still built by the matcher itself, only without the name conditions, which are
+    // evaluated first, and the time conditions, which are bound to this matcher's clock
+    LocalFileMatcher attributesMatcher = new LocalFileMatcher()
+        .setDirectories(matcher.getDirectories())
+        .setRegularFiles(matcher.getRegularFiles())
+        .setSymLinks(matcher.getSymLinks())
+        .setMinSize(matcher.getMinSize())
+        .setMaxSize(matcher.getMaxSize());
+    Predicate<LocalFileAttributes> predicate = attributesMatcher.build();
+    if (matcher.hasTimeConditions()) {
+      predicate = predicate.and(matcher.timeConditions(() -> now));
+    }
+    attributesPredicate = predicate;
+
+    needsAttributes = matcher.getDirectories() != INCLUDE || matcher.getRegularFiles() != INCLUDE
+        || matcher.getSymLinks() != INCLUDE || matcher.getMinSize() != null || matcher.getMaxSize() != null
+        || matcher.hasTimeConditions();
+  }
+
+  /**
+   * Moves the clock against which conditions relative to the current time are evaluated to the current time
+   */
+  public void resetClock() {
+    now = now();
+  }
+
+  /**
+   * Evaluates the conditions on the file's name and path, which don't need the file's attributes
+   *
+   * @param path the file's path
+   * @return whether the file passes the conditions on its name and path
+   */
+  public boolean acceptsPath(Path path) {
+    if (filenameMatcher != null) {
+      Path fileName = path.getFileName();
+      if (fileName == null || !filenameMatcher.matches(fileName)) {
+        rejections.increment();
+        return false;
+      }
+    }
+
+    if (pathMatcher != null && !pathMatcher.matches(path)) {
+      rejections.increment();
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * @return whether there are conditions which need the file's attributes. If not, {@link #acceptsPath(Path)} alone tells
+   *         whether a file is accepted
+   */
+  public boolean needsAttributes() {
+    return needsAttributes;
+  }
+
+  /**
+   * Evaluates the conditions which need the file's attributes. Together with {@link #acceptsPath(Path)}, this is equivalent to
+   * {@link #test(LocalFileAttributes)}, for callers which already evaluated the path conditions.
+   *
+   * @param attributes the file's attributes
+   * @return whether the file passes the conditions on its type, size and times
+   */
+  public boolean acceptsAttributes(LocalFileAttributes attributes) {
+    if (!needsAttributes || attributesPredicate.test(attributes)) {
+      return true;
+    }
+
+    rejections.increment();
+    return false;
+  }
+
+  /**
+   * Obtains the amount of files which were rejected since the last invocation of this method. Each rejected file is counted
+   * once, either by {@link #acceptsPath(Path)} or by {@link #acceptsAttributes(LocalFileAttributes)}.
+   *
+   * @return the amount of rejected files
+   */
+  public long drainRejections() {
+    return rejections.sumThenReset();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean test(LocalFileAttributes attributes) {
+    return acceptsPath(Paths.get(attributes.getPath())) && acceptsAttributes(attributes);
+  }
+
+  private static PathMatcher pathMatcher(String pattern) {
+    return pattern != null ? PathPatterns.compile(pattern) : null;
+  }
+}
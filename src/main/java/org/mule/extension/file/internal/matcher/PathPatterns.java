@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.matcher;
+
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles path patterns into {@link PathMatcher path matchers}, caching them so that each pattern is only compiled once.
+ * <p>
+ * Patterns follow the same syntax as the ones of a {@link org.mule.extension.file.api.LocalFileMatcher}: they may be prefixed
+ * with {@code glob:} or {@code regex:}, and are considered globs when they aren't. As in there, a glob must match the whole path
+ * while a regular expression only needs to match part of it.
+ *
+ * @since 1.6.0
+ */
+public final class PathPatterns {
+
+  public static final String GLOB_PREFIX = "glob:";
+  public static final String REGEX_PREFIX = "regex:";
+
+  private static final int MAX_CACHED_PATTERNS = 256;
+  private static final ConcurrentMap<String, PathMatcher> PATTERNS = new ConcurrentHashMap<>();
+
+  private PathPatterns() {}
+
+  /**
+   * @param pattern a path pattern
+   * @return the {@link PathMatcher} for the {@code pattern}
+   * @throws IllegalArgumentException if the {@code pattern} is not valid
+   */
+  public static PathMatcher compile(String pattern) {
+    PathMatcher matcher = PATTERNS.get(pattern);
+    if (matcher == null) {
+      // patterns usually come from the configuration, but they could also be built by expressions, which would grow the cache
+      // without bound
+      if (PATTERNS.size() >= MAX_CACHED_PATTERNS) {
+        PATTERNS.clear();
+      }
+      matcher = PATTERNS.computeIfAbsent(pattern, PathPatterns::doCompile);
+    }
+
+    return matcher;
+  }
+
+  private static PathMatcher doCompile(String pattern) {
+    if (pattern.startsWith(REGEX_PREFIX)) {
+      // the file system's regex matcher needs the whole path to match, unlike the matchers of the file commons
+      Pattern regex = Pattern.compile(pattern.substring(REGEX_PREFIX.length()));
+      return path -> regex.matcher(path.toString()).find();
+    }
+
+    return FileSystems.getDefault().getPathMatcher(pattern.startsWith(GLOB_PREFIX) ? pattern : GLOB_PREFIX + pattern);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+/**
+ * Receives the measurements taken by the operations of a {@link org.mule.extension.file.internal.LocalFileSystem}.
+ * <p>
+ * Implementations are invoked on the threads executing the operations, once per operation or per stream, so they must be
+ * thread safe and should neither block nor allocate. Alternative bindings are plugged in through a
+ * {@link FileMetricsFactory}.
+ *
+ * @since 1.6.0
+ */
+public interface FileMetrics {
+
+  /**
+   * Metrics which discard every measurement
+   */
+  FileMetrics NO_OP = new FileMetrics() {
+
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+
+    @Override
+    public void recordOperation(FileOperationType operation, long latencyNanos, boolean failed) {}
+
+    @Override
+    public void recordBytesRead(long bytes) {}
+
+    @Override
+    public void recordBytesWritten(long bytes) {}
+
+    @Override
+    public void recordFilesListed(long files) {}
+
+    @Override
+    public void recordLockWait(long waitNanos) {}
+  };
+
+  /**
+   * @return whether measurements are recorded at all, so that callers can skip taking the ones which are not free
+   */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Records the execution of an operation
+   *
+   * @param operation    the executed operation
+   * @param latencyNanos how long the operation took, in nanoseconds
+   * @param failed       whether the operation failed
+   */
+  void recordOperation(FileOperationType operation, long latencyNanos, boolean failed);
+
+  /**
+   * @param bytes the amount of bytes read from a file
+   */
+  void recordBytesRead(long bytes);
+
+  /**
+   * @param bytes the amount of bytes written into a file
+   */
+  void recordBytesWritten(long bytes);
+
+  /**
+   * @param files the amount of entries produced by a listing
+   */
+  void recordFilesListed(long files);
+
+  /**
+   * @param waitNanos how long it took to acquire a lock, in nanoseconds
+   */
+  void recordLockWait(long waitNanos);
+
+  /**
+   * Publishes the backlog of the config's trash directory, whose values are read whenever they're needed. Does nothing by
+   * default.
+   *
+   * @param trash the gauges of the trash directory
+   */
+  default void bindTrash(TrashStatsMBean trash) {}
+
+  /**
+   * Releases the resources held by these metrics, such as their registration on a monitoring system. No more measurements are
+   * recorded afterwards.
+   */
+  default void close() {}
+}
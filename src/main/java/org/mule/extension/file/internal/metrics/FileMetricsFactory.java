@@ -0,0 +1,42 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Creates the {@link FileMetrics} of each config.
+ * <p>
+ * Implementations are discovered through the {@link ServiceLoader} mechanism, by listing them in a
+ * {@code META-INF/services/org.mule.extension.file.internal.metrics.FileMetricsFactory} resource visible to the connector,
+ * which allows binding the measurements to a monitoring system other than JMX, such as Micrometer. If none is found, the
+ * measurements are exposed through {@link JmxFileMetrics}.
+ *
+ * @since 1.6.0
+ */
+public interface FileMetricsFactory {
+
+  /**
+   * @param configName the name of the config whose operations are measured
+   * @return the {@link FileMetrics} of the config
+   */
+  FileMetrics create(String configName);
+
+  /**
+   * Creates the {@link FileMetrics} of a config through the first {@link FileMetricsFactory} found, or as
+   * {@link JmxFileMetrics} if there's none
+   *
+   * @param configName the name of the config whose operations are measured
+   * @return the {@link FileMetrics} of the config
+   */
+  static FileMetrics createMetrics(String configName) {
+    Iterator<FileMetricsFactory> factories =
+        ServiceLoader.load(FileMetricsFactory.class, FileMetricsFactory.class.getClassLoader()).iterator();
+    return factories.hasNext() ? factories.next().create(configName) : new JmxFileMetrics(configName);
+  }
+}
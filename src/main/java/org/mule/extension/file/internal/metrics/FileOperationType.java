@@ -0,0 +1,17 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+/**
+ * The operations measured by {@link FileMetrics}
+ *
+ * @since 1.6.0
+ */
+public enum FileOperationType {
+
+  LIST, READ, WRITE, COPY, MOVE, DELETE, RENAME, CREATE_DIRECTORY
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+import static java.lang.String.format;
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static javax.management.ObjectName.quote;
+
+import javax.management.MBeanServer;
+
+/**
+ * {@link FileMetrics} kept in memory and exposed as MBeans of the platform {@link MBeanServer}, one per operation plus one for
+ * the transferred data, under the {@value #DOMAIN} domain:
+ * <ul>
+ * <li>{@code org.mule.extension.file:type=Operation,config=<config name>,name=<operation>}</li>
+ * <li>{@code org.mule.extension.file:type=Transfers,config=<config name>}</li>
+ * <li>{@code org.mule.extension.file:type=Trash,config=<config name>}, if the config has a trash directory</li>
+ * </ul>
+ * If the MBeans can't be registered, i.e: because another application uses a config with the same name, measurements are still
+ * taken but not exposed.
+ *
+ * @since 1.6.0
+ */
+public final class JmxFileMetrics implements FileMetrics {
+
+  static final String DOMAIN = MBeanRegistrations.DOMAIN;
+
+  private final OperationStats[] operations = new OperationStats[FileOperationType.values().length];
+  private final TransferStats transfers = new TransferStats();
+  private final MBeanRegistrations registrations;
+  private final String config;
+
+  /**
+   * Creates a new instance and registers its MBeans
+   *
+   * @param configName the name of the config whose operations are measured
+   */
+  public JmxFileMetrics(String configName) {
+    this(configName, getPlatformMBeanServer());
+  }
+
+  JmxFileMetrics(String configName, MBeanServer mBeanServer) {
+    this.registrations = new MBeanRegistrations(mBeanServer);
+    for (FileOperationType operation : FileOperationType.values()) {
+      operations[operation.ordinal()] = new OperationStats();
+    }
+
+    config = quote(configName);
+    for (FileOperationType operation : FileOperationType.values()) {
+      registrations.register(format("%s:type=Operation,config=%s,name=%s", DOMAIN, config, operation.name().toLowerCase()),
+                             operations[operation.ordinal()], OperationStatsMBean.class);
+    }
+    registrations.register(format("%s:type=Transfers,config=%s", DOMAIN, config), transfers, TransferStatsMBean.class);
+  }
+
+  @Override
+  public void recordOperation(FileOperationType operation, long latencyNanos, boolean failed) {
+    operations[operation.ordinal()].record(latencyNanos, failed);
+  }
+
+  @Override
+  public void recordBytesRead(long bytes) {
+    transfers.addBytesRead(bytes);
+  }
+
+  @Override
+  public void recordBytesWritten(long bytes) {
+    transfers.addBytesWritten(bytes);
+  }
+
+  @Override
+  public void recordFilesListed(long files) {
+    transfers.addFilesListed(files);
+  }
+
+  @Override
+  public void recordLockWait(long waitNanos) {
+    transfers.addLockWait(waitNanos);
+  }
+
+  @Override
+  public void bindTrash(TrashStatsMBean trash) {
+    registrations.register(format("%s:type=Trash,config=%s", DOMAIN, config), trash, TrashStatsMBean.class);
+  }
+
+  /**
+   * Unregisters the MBeans
+   */
+  @Override
+  public void close() {
+    registrations.close();
+  }
+
+  OperationStatsMBean getOperationStats(FileOperationType operation) {
+    return operations[operation.ordinal()];
+  }
+
+  TransferStatsMBean getTransferStats() {
+    return transfers;
+  }
+}
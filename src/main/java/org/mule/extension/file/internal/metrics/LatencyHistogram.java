@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non negative values, such as latencies in nanoseconds, which records them without allocating nor locking.
+ * <p>
+ * Values are counted in buckets whose width doubles every {@value #SUB_BUCKETS} buckets, so that each bucket spans at most an
+ * eighth of the values it holds. Percentiles are therefore reported with an error of up to 12.5%, over the whole range of
+ * {@code long} values, out of a fixed array of counters.
+ *
+ * @since 1.6.0
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param value the value to record. Negative values are recorded as zero
+   */
+  void record(long value) {
+    long recorded = Math.max(value, 0);
+    buckets.incrementAndGet(bucketOf(recorded));
+    count.increment();
+    total.add(recorded);
+
+    long current = max.get();
+    while (recorded > current && !max.compareAndSet(current, recorded)) {
+      current = max.get();
+    }
+  }
+
+  /**
+   * @return the amount of recorded values
+   */
+  long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return the mean of the recorded values, or zero if none was recorded
+   */
+  double getMean() {
+    long recorded = count.sum();
+    return recorded == 0 ? 0 : (double) total.sum() / recorded;
+  }
+
+  /**
+   * @return the highest recorded value, or zero if none was recorded
+   */
+  long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @param percentile a percentile, between 0 and 100
+   * @return the highest value of the bucket which holds the given {@code percentile}, or zero if no value was recorded
+   */
+  long getValueAtPercentile(double percentile) {
+    long recorded = count.sum();
+    if (recorded == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(recorded * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        return Math.min(highestValueOf(i), max.get());
+      }
+    }
+
+    // values recorded after counting them all weren't added to the buckets yet
+    return max.get();
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  static long highestValueOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
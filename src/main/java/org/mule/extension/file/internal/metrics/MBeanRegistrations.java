@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+import static java.lang.String.format;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps track of the MBeans registered by a component on an {@link MBeanServer}, so that they're all unregistered when the
+ * component is disposed. Failing to register an MBean, i.e: because another application already registered one with the same
+ * name, is not an error: a warning is logged and the measurements are just not exposed.
+ *
+ * @since 1.6.0
+ */
+public final class MBeanRegistrations implements AutoCloseable {
+
+  /**
+   * The domain of the MBeans registered by the connector
+   */
+  public static final String DOMAIN = "org.mule.extension.file";
+
+  private static final Logger LOGGER = getLogger(MBeanRegistrations.class);
+
+  private final List<ObjectName> registeredNames = new ArrayList<>();
+  private final MBeanServer mBeanServer;
+
+  /**
+   * @param mBeanServer the {@link MBeanServer} on which MBeans are registered
+   */
+  public MBeanRegistrations(MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+  }
+
+  /**
+   * Registers the given {@code implementation} as a standard MBean
+   *
+   * @param name                the MBean's object name
+   * @param implementation      the object which holds the measurements
+   * @param managementInterface the MBean's management interface, implemented by the {@code implementation}
+   * @param <T>                 the type of the management interface
+   */
+  public synchronized <T> void register(String name, T implementation, Class<T> managementInterface) {
+    try {
+      ObjectName objectName = new ObjectName(name);
+      mBeanServer.registerMBean(new StandardMBean(implementation, managementInterface), objectName);
+      registeredNames.add(objectName);
+    } catch (JMException e) {
+      LOGGER.warn(format("Could not register MBean '%s'. Its measurements will not be exposed. %s", name, e.getMessage()));
+      LOGGER.debug(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Unregisters all the registered MBeans
+   */
+  @Override
+  public synchronized void close() {
+    for (ObjectName name : registeredNames) {
+      try {
+        mBeanServer.unregisterMBean(name);
+      } catch (JMException e) {
+        LOGGER.debug("Could not unregister MBean '{}'", name, e);
+      }
+    }
+    registeredNames.clear();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The measurements of a single operation of a config
+ *
+ * @since 1.6.0
+ */
+final class OperationStats implements OperationStatsMBean {
+
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final LatencyHistogram latencies = new LatencyHistogram();
+  private final LongAdder errors = new LongAdder();
+
+  void record(long latencyNanos, boolean failed) {
+    latencies.record(latencyNanos);
+    if (failed) {
+      errors.increment();
+    }
+  }
+
+  @Override
+  public long getCount() {
+    return latencies.getCount();
+  }
+
+  @Override
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  @Override
+  public double getMeanLatencyMillis() {
+    return latencies.getMean() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getP50LatencyMillis() {
+    return percentile(50);
+  }
+
+  @Override
+  public double getP90LatencyMillis() {
+    return percentile(90);
+  }
+
+  @Override
+  public double getP99LatencyMillis() {
+    return percentile(99);
+  }
+
+  @Override
+  public double getP999LatencyMillis() {
+    return percentile(99.9);
+  }
+
+  @Override
+  public double getMaxLatencyMillis() {
+    return latencies.getMax() / NANOS_PER_MILLI;
+  }
+
+  private double percentile(double percentile) {
+    return latencies.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+/**
+ * Management interface of the measurements of a single operation of a config. Latencies are reported in milliseconds, and
+ * percentiles with an error of up to 12.5%.
+ *
+ * @since 1.6.0
+ */
+public interface OperationStatsMBean {
+
+  /**
+   * @return the amount of executions of the operation, including the failed ones
+   */
+  long getCount();
+
+  /**
+   * @return the amount of failed executions of the operation
+   */
+  long getErrors();
+
+  double getMeanLatencyMillis();
+
+  double getP50LatencyMillis();
+
+  double getP90LatencyMillis();
+
+  double getP99LatencyMillis();
+
+  double getP999LatencyMillis();
+
+  double getMaxLatencyMillis();
+}
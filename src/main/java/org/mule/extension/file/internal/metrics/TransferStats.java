@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The amount of data moved by the operations of a config and the time they waited for locks
+ *
+ * @since 1.6.0
+ */
+final class TransferStats implements TransferStatsMBean {
+
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final LongAdder bytesRead = new LongAdder();
+  private final LongAdder bytesWritten = new LongAdder();
+  private final LongAdder filesListed = new LongAdder();
+  private final LatencyHistogram lockWaits = new LatencyHistogram();
+
+  void addBytesRead(long bytes) {
+    bytesRead.add(bytes);
+  }
+
+  void addBytesWritten(long bytes) {
+    bytesWritten.add(bytes);
+  }
+
+  void addFilesListed(long files) {
+    filesListed.add(files);
+  }
+
+  void addLockWait(long waitNanos) {
+    lockWaits.record(waitNanos);
+  }
+
+  @Override
+  public long getBytesRead() {
+    return bytesRead.sum();
+  }
+
+  @Override
+  public long getBytesWritten() {
+    return bytesWritten.sum();
+  }
+
+  @Override
+  public long getFilesListed() {
+    return filesListed.sum();
+  }
+
+  @Override
+  public long getLockWaits() {
+    return lockWaits.getCount();
+  }
+
+  @Override
+  public double getMeanLockWaitMillis() {
+    return lockWaits.getMean() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getP99LockWaitMillis() {
+    return lockWaits.getValueAtPercentile(99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getMaxLockWaitMillis() {
+    return lockWaits.getMax() / NANOS_PER_MILLI;
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+/**
+ * Management interface of the amount of data moved by the operations of a config and of the time they waited for locks.
+ * Lock wait times are reported in milliseconds, and percentiles with an error of up to 12.5%.
+ *
+ * @since 1.6.0
+ */
+public interface TransferStatsMBean {
+
+  long getBytesRead();
+
+  long getBytesWritten();
+
+  long getFilesListed();
+
+  /**
+   * @return the amount of acquired locks
+   */
+  long getLockWaits();
+
+  double getMeanLockWaitMillis();
+
+  double getP99LockWaitMillis();
+
+  double getMaxLockWaitMillis();
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+/**
+ * Management interface of the trash directory of a config, into which deleted directories are moved to be deleted in the
+ * background.
+ *
+ * @since 1.6.0
+ */
+public interface TrashStatsMBean {
+
+  /**
+   * @return the amount of trashed trees which are not completely deleted yet
+   */
+  long getPendingEntries();
+
+  /**
+   * @return the amount of bytes of the trashed files which are not deleted yet
+   */
+  long getPendingBytes();
+}
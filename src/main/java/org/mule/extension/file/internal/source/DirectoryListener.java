@@ -7,28 +7,44 @@
 package org.mule.extension.file.internal.source;
 
 
+import static org.mule.extension.file.api.DispatchOrder.LISTING;
+import static org.mule.extension.file.api.DispatchOrder.OLDEST_FIRST;
 import static org.mule.extension.file.api.WatermarkMode.DISABLED;
+import static org.mule.extension.file.api.WatermarkMode.MODIFIED_TIMESTAMP;
 import static org.mule.extension.file.common.api.FileDisplayConstants.MATCHER;
 import static org.mule.metadata.api.utils.MetadataTypeUtils.isNotNull;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.api.meta.model.display.PathModel.Type.DIRECTORY;
 import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
 import static org.mule.runtime.extension.api.annotation.param.MediaType.ANY;
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED_TAB;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
 import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.SOURCE_STOPPING;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import static java.lang.String.format;
-import static java.lang.Thread.sleep;
-
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.management.ObjectName.quote;
+
+import org.mule.extension.file.api.DispatchOrder;
 import org.mule.extension.file.api.LocalFileAttributes;
 import org.mule.extension.file.api.LocalFileMatcher;
 import org.mule.extension.file.api.WatermarkMode;
 import org.mule.extension.file.common.api.lock.NullPathLock;
-import org.mule.extension.file.common.api.matcher.NullFilePayloadPredicate;
 import org.mule.extension.file.internal.FileConnector;
 import org.mule.extension.file.internal.FileInputStream;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.extension.file.internal.command.OnNewFileCommand;
+import org.mule.extension.file.internal.command.WalkSettings;
+import org.mule.extension.file.internal.matcher.CompiledFileMatcher;
+import org.mule.extension.file.internal.metrics.MBeanRegistrations;
+import org.mule.extension.file.internal.util.BoundedSelector;
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.exception.MuleException;
@@ -41,10 +57,12 @@ import org.mule.runtime.extension.api.annotation.param.Config;
 import org.mule.runtime.extension.api.annotation.param.ConfigOverride;
 import org.mule.runtime.extension.api.annotation.param.Connection;
 import org.mule.runtime.extension.api.annotation.param.MediaType;
+import org.mule.runtime.extension.api.annotation.param.NullSafe;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.ParameterGroup;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.source.PollContext;
@@ -52,17 +70,22 @@ import org.mule.runtime.extension.api.runtime.source.PollingSource;
 import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
 import org.slf4j.Logger;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * Polls a directory looking for files that have been created or updated. One message will be generated for each file that is
@@ -89,8 +112,6 @@ import java.util.stream.Collectors;
 @Alias("listener")
 public class DirectoryListener extends PollingSource<InputStream, LocalFileAttributes> {
 
-  private static final int MAX_SIZE_CHECK_RETRIES = 2;
-
   private static final Logger LOGGER = getLogger(DirectoryListener.class);
   private static final String ATTRIBUTES_CONTEXT_VAR = "attributes";
   private static final String POST_PROCESSING_GROUP_NAME = "Post processing action";
@@ -136,8 +157,9 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
 
   /**
    * Wait time in milliseconds between size checks to determine if a file is ready to be read. This allows a file write to
-   * complete before processing. You can disable this feature by omitting a value. When enabled, Mule performs two size checks
-   * waiting the specified time between calls. If both checks return the same value, the file is ready to be read.
+   * complete before processing. You can disable this feature by omitting a value. When enabled, Mule remembers the size and
+   * modification time of each file across polls, and the file is ready to be read once neither of them changed for the
+   * specified time.
    */
   @Parameter
   @ConfigOverride
@@ -152,10 +174,193 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
   @Summary("Time unit to be used in the wait time between size checks")
   private TimeUnit timeBetweenSizeCheckUnit;
 
+  /**
+   * The maximum amount of sub directories to list concurrently on each poll when {@link #recursive} is {@code true}. Values
+   * greater than one speed up polling deep directory trees on high latency file systems.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional(defaultValue = "1")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Maximum number of sub directories to list concurrently on each poll")
+  private int listingParallelism = 1;
+
+  /**
+   * The maximum depth of the polled entries when {@link #recursive} is {@code true}, where the contents of the listened
+   * directory are at depth 1. Deeper sub-directories are not walked. Unlimited by default.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Maximum depth of the polled entries when polling sub directories")
+  private Integer maxDepth;
+
+  /**
+   * Patterns of the paths to leave out of the polls, such as {@code **}{@code /archive}. Matching entries are never read, and
+   * matching sub directories are neither walked nor watched, so large sub directories which are not meant to be polled, such as
+   * archives of already processed files, don't slow down polling.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional
+  @NullSafe
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Patterns of the paths to leave out of the polls, without walking them")
+  private List<String> excludePatterns;
+
+  /**
+   * Whether to track changes on the directory through the operating system's file change notifications instead of scanning the
+   * whole directory on each poll. When enabled, each poll only looks at the files which were created or modified since the
+   * previous one, and polls on which nothing changed don't touch the file system at all. Since notifications might be lost, a
+   * full scan is still performed on the first poll, every {@link #reconciliationInterval} and whenever the operating system
+   * reports that events were dropped.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Whether to detect new files through file change notifications instead of scanning the directory on each poll")
+  private boolean watchDirectory = false;
+
+  /**
+   * When {@link #watchDirectory} is enabled, the time between full scans of the directory, which catch up with changes which
+   * might have gone unnoticed.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional(defaultValue = "1")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Time between full scans of the directory when watching it for changes")
+  private long reconciliationInterval = 1;
+
+  /**
+   * A {@link TimeUnit} which qualifies the {@link #reconciliationInterval} attribute.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional(defaultValue = "MINUTES")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Time unit to be used in the time between full scans of the directory")
+  private TimeUnit reconciliationIntervalUnit = MINUTES;
+
+  /**
+   * The path of a file on which to keep an index of the files which were successfully processed, so that they are not
+   * processed again unless they are modified. Relative paths are resolved against the connection's working directory. This is
+   * meant to be used when the {@link #watermarkMode} is {@code DISABLED} and processed files are left in the listened
+   * directory, in which case the index is much cheaper than the runtime's bookkeeping of processed items. The index file
+   * should not be placed inside the listened directory.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("File on which to keep an index of the processed files, so that they are not processed again unless modified")
+  private String processedFilesIndex;
+
+  /**
+   * A directory into which each file is atomically moved before being processed. This allows several nodes of a cluster to
+   * listen on the same shared directory, with the listener's {@code primaryNodeOnly} set to {@code false}: only the node which
+   * manages to move a file processes it, so ingestion is spread across the nodes without processing any file twice. Each node
+   * moves the files it claims into the {@code claimed} folder of its own sub-directory, named after the {@link #nodeId}, and
+   * post processing actions are applied to the moved file. Once processed, files which were neither deleted nor moved by a post
+   * action are deleted, so a {@code moveToDirectory} is needed to keep them, while files which the runtime didn't accept
+   * or whose processing failed are moved back into the listened directory, to be picked up again. Relative paths are resolved
+   * against the connection's working directory. The directory must be on the same file system as the listened one, and should
+   * not be placed inside it.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Directory into which files are atomically moved before being processed, so that several nodes can share the listened directory")
+  private String claimDirectory;
+
+  /**
+   * When a {@link #claimDirectory} is set, the id which identifies this node among the ones sharing the listened directory.
+   * Files which were claimed but not processed because the node went down are processed when a node with the same id starts.
+   * Defaults to a random id, in which case such files need to be recovered manually.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Id which identifies this node among the ones sharing the listened directory")
+  private String nodeId;
+
+  /**
+   * The maximum amount of files to dispatch on each poll. The rest of the files which are ready to be processed are left for the
+   * following polls, so that a large backlog, i.e: after an outage, is drained at a steady rate instead of flooding the flow.
+   * Which files are dispatched first is defined by the {@link #dispatchOrder}. Unlimited by default.
+   * <p>
+   * When a {@link #watermarkMode} is used, files which are left for a later poll must not be older than the dispatched ones, or
+   * the watermark would filter them out. Therefore, a limit can only be combined with the {@code MODIFIED_TIMESTAMP} watermark
+   * mode and the {@code OLDEST_FIRST} dispatch order.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Maximum amount of files to dispatch on each poll. The rest are left for the following polls")
+  private Integer maxItemsPerPoll;
+
+  /**
+   * The order in which the files found on each poll are dispatched. Together with {@link #maxItemsPerPoll}, it defines which
+   * files are dispatched first when there are more than can be dispatched on a single poll, i.e: {@code OLDEST_FIRST} drains a
+   * backlog in the order in which the files arrived. Only the files which are dispatched on each poll are held in memory to
+   * sort them, not the whole listing.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional(defaultValue = "LISTING")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Order in which the files found on each poll are dispatched")
+  private DispatchOrder dispatchOrder = LISTING;
+
+  /**
+   * Whether to expose the measurements of the polls as an MBean of the platform MBean server, named
+   * {@code org.mule.extension.file:type=Listener,name=<location>} after the location of the listener, and to log a summary of
+   * each poll at {@code INFO} level: how long it took, how many entries were scanned and rejected by the {@link #predicateBuilder
+   * matcher}, how many files were left for a later poll because they were still being written, how many were dispatched or
+   * rejected by the runtime, and the age of the oldest file which is still waiting to be dispatched. When disabled, the summary
+   * is only logged at {@code DEBUG} level.
+   *
+   * @since 1.6.0
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(tab = ADVANCED_TAB)
+  @Summary("Whether to expose the measurements of the polls through JMX and to log a summary of each poll")
+  private boolean pollStatisticsEnabled = false;
+
   private Path directoryPath;
   private LocalFileSystem fileSystem;
   private ComponentLocation location;
-  private Predicate<LocalFileAttributes> matcher;
+  private CompiledFileMatcher matcher;
+  private WalkSettings walkSettings;
+  private ForkJoinPool listingPool;
+  private DirectoryWatcher watcher;
+  private final FileStabilityTracker stabilityTracker = new FileStabilityTracker();
+  // files which were ready but not dispatched, which the watcher won't report again since they don't change
+  private final Set<Path> leftOutPaths = new LinkedHashSet<>();
+  private ProcessedFileIndex processedFileIndex;
+  private FileClaimer fileClaimer;
+  private boolean recoveryPending;
+  private long nextReconciliation;
+  private boolean reconciliationPending;
+  private PollStatistics pollStatistics;
+  private MBeanRegistrations mBeanRegistrations;
 
   public DirectoryListener(FileConnector config, ConnectionProvider<LocalFileSystem> fileSystemProvider) {
     this.config = config;
@@ -168,14 +373,44 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
   protected void doStart() throws MuleException {
     fileSystem = fileSystemProvider.connect();
 
-    refreshMatcher();
+    // the matcher doesn't change while the source is running, so it's compiled once and only its clock moves on every poll
+    matcher = CompiledFileMatcher.compile(predicateBuilder);
+    walkSettings = new WalkSettings(maxDepth, excludePatterns);
     directoryPath = resolveRootPath();
+    validateDispatchLimit();
+    // the pool lives as long as the source, so that its threads are not started again on every poll
+    if (recursive && listingParallelism > 1) {
+      listingPool = new ForkJoinPool(listingParallelism);
+    }
+
+    pollStatistics = new PollStatistics();
+    if (pollStatisticsEnabled) {
+      registerPollStatistics();
+    }
+
+    if (processedFilesIndex != null) {
+      openProcessedFileIndex();
+    }
+
+    if (claimDirectory != null) {
+      fileClaimer = new FileClaimer(directoryPath, Paths.get(fileSystem.getBasePath()).resolve(claimDirectory),
+                                    nodeId != null ? nodeId : UUID.randomUUID().toString());
+      recoveryPending = nodeId != null;
+    }
+
+    if (watchDirectory) {
+      startWatching();
+    }
   }
 
   @OnSuccess
   public void onSuccess(@ParameterGroup(name = POST_PROCESSING_GROUP_NAME) PostActionGroup postAction,
                         SourceCallbackContext ctx) {
+    if (processedFileIndex != null) {
+      ctx.<LocalFileAttributes>getVariable(ATTRIBUTES_CONTEXT_VAR).ifPresent(this::recordProcessed);
+    }
     postAction(postAction, ctx);
+    completeClaim(ctx, true);
   }
 
   @OnError
@@ -183,9 +418,32 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
                       SourceCallbackContext ctx) {
     if (postAction.isApplyPostActionWhenFailed()) {
       postAction(postAction, ctx);
+      completeClaim(ctx, true);
+    } else {
+      completeClaim(ctx, false);
     }
   }
 
+  /**
+   * When files are claimed, deletes the processed file so it's not recovered again, or releases it back into the
+   * listened directory if it's to be retried.
+   */
+  private void completeClaim(SourceCallbackContext ctx, boolean processed) {
+    FileClaimer claimer = fileClaimer;
+    if (claimer == null) {
+      return;
+    }
+
+    ctx.<LocalFileAttributes>getVariable(ATTRIBUTES_CONTEXT_VAR).ifPresent(attributes -> {
+      Path claimed = Paths.get(attributes.getPath());
+      if (processed) {
+        claimer.complete(claimed);
+      } else {
+        claimer.release(claimed);
+      }
+    });
+  }
+
   @OnTerminate
   public void onTerminate() {}
 
@@ -196,13 +454,30 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
       return;
     }
 
+    Set<Path> changedPaths = new LinkedHashSet<>();
+    boolean fullScan = true;
+    if (watcher != null) {
+      fullScan = !watcher.drainChanges(changedPaths) || reconciliationPending || currentTimeMillis() >= nextReconciliation;
+      // files which were still being written might not change anymore, so they need to be checked again, and so do the ones
+      // which the previous poll didn't get to dispatch
+      changedPaths.addAll(leftOutPaths);
+      leftOutPaths.clear();
+      stabilityTracker.getPendingPaths().forEach(path -> changedPaths.add(Paths.get(path)));
+      if (!fullScan && changedPaths.isEmpty()) {
+        return;
+      }
+    }
+
+    pollStatistics.beginPoll();
     LocalFileSystem fileSystem;
     try {
       fileSystem = fileSystemProvider.connect();
     } catch (Exception e) {
+      reconciliationPending = true;
       LOGGER.error(format("Could not obtain connection while trying to poll directory '%s'. %s", directoryPath.toString(),
                           e.getMessage()),
                    e);
+      endPoll();
       return;
     }
 
@@ -210,9 +485,26 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
       Long timeBetweenSizeCheckInMillis =
           config.getTimeBetweenSizeCheckInMillis(timeBetweenSizeCheck, timeBetweenSizeCheckUnit).orElse(null);
 
-      validateFilesSize(timeBetweenSizeCheckInMillis, pollContext);
+      if (recoveryPending) {
+        recoverClaimedFiles(pollContext);
+      }
+
+      if (fullScan) {
+        if (watcher != null) {
+          reconciliationPending = false;
+          nextReconciliation = currentTimeMillis() + reconciliationIntervalUnit.toMillis(reconciliationInterval);
+          watcher.resync();
+        }
+        processFiles(timeBetweenSizeCheckInMillis, pollContext,
+                     fileSystem.list(config, directoryPath.toString(), recursive, matcher, timeBetweenSizeCheckInMillis, null,
+                                     listingPool, walkSettings),
+                     true);
+      } else {
+        processFiles(timeBetweenSizeCheckInMillis, pollContext, readChangedFiles(changedPaths), false);
+      }
 
     } catch (Exception e) {
+      reconciliationPending = true;
       LOGGER.error(format("Found exception trying to poll directory '%s'. Will try again on the next poll. %s",
                           directoryPath.toString(), e.getMessage()),
                    e);
@@ -220,12 +512,120 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
       if (fileSystem != null) {
         fileSystemProvider.disconnect(fileSystem);
       }
+      endPoll();
     }
 
   }
 
+  private void endPoll() {
+    pollStatistics.endPoll(matcher.drainRejections());
+    if (pollStatisticsEnabled) {
+      LOGGER.info("Polled directory '{}': {}", directoryPath, pollStatistics.summary());
+    } else if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Polled directory '{}': {}", directoryPath, pollStatistics.summary());
+    }
+  }
+
+  private void registerPollStatistics() {
+    String name = location != null ? location.getLocation() : directoryPath.toString();
+    mBeanRegistrations = new MBeanRegistrations(getPlatformMBeanServer());
+    mBeanRegistrations.register(format("%s:type=Listener,name=%s", MBeanRegistrations.DOMAIN, quote(name)), pollStatistics,
+                                PollStatisticsMBean.class);
+  }
+
+  private void validateDispatchLimit() {
+    if (maxItemsPerPoll == null) {
+      return;
+    }
+
+    checkArgument(maxItemsPerPoll > 0,
+                  format("Parameter 'maxItemsPerPoll' must be greater than zero but '%d' was received", maxItemsPerPoll));
+    checkArgument(watermarkMode == DISABLED || (watermarkMode == MODIFIED_TIMESTAMP && dispatchOrder == OLDEST_FIRST),
+                  format("Parameter 'maxItemsPerPoll' can't be used with the '%s' watermark mode and the '%s' dispatch order, "
+                      + "since the files left for a later poll would be filtered out by the watermark",
+                         watermarkMode, dispatchOrder));
+  }
+
+  private void openProcessedFileIndex() {
+    Path indexPath = Paths.get(fileSystem.getBasePath()).resolve(processedFilesIndex);
+    try {
+      processedFileIndex = ProcessedFileIndex.open(indexPath);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage(format("Could not open processed files index '%s'", indexPath)), e);
+    }
+  }
+
+  private void recordProcessed(LocalFileAttributes attributes) {
+    try {
+      processedFileIndex.add(attributes);
+    } catch (IOException e) {
+      LOGGER.warn(format("Could not record file '%s' as processed. It might be processed again. %s", attributes.getPath(),
+                         e.getMessage()),
+                  e);
+    }
+  }
+
+  /**
+   * Processes the files which this node claimed before going down, and which therefore were never processed.
+   */
+  private void recoverClaimedFiles(PollContext<InputStream, LocalFileAttributes> pollContext) {
+    recoveryPending = false;
+    PollContext.PollItemStatus status = null;
+    for (Path claimed : fileClaimer.getClaimedFiles()) {
+      if (status == SOURCE_STOPPING) {
+        return;
+      }
+
+      LOGGER.info("Recovering file '{}', which was claimed but not processed", claimed);
+      status = processClaimedFile(claimed, pollContext);
+    }
+  }
+
+  private void startWatching() {
+    try {
+      watcher = new DirectoryWatcher(directoryPath, recursive, walkSettings);
+      reconciliationPending = true;
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.warn(format("Could not watch directory '%s' for changes. It will be scanned on every poll instead. %s",
+                         directoryPath, e.getMessage()),
+                  e);
+    }
+  }
+
+  /**
+   * Reads the entries which were reported as changed by the {@link DirectoryWatcher}, producing the same output that listing
+   * them would.
+   */
+  private List<Result<InputStream, LocalFileAttributes>> readChangedFiles(Collection<Path> changedPaths) {
+    List<Result<InputStream, LocalFileAttributes>> files = new ArrayList<>(changedPaths.size());
+    for (Path path : changedPaths) {
+      if (!walkSettings.includes(directoryPath, path, recursive) || !matcher.acceptsPath(path)
+          || !Files.exists(path, NOFOLLOW_LINKS)) {
+        continue;
+      }
+
+      try {
+        LocalFileAttributes attributes = new LocalFileAttributes(path);
+        if (!matcher.test(attributes)) {
+          continue;
+        }
+
+        if (attributes.isDirectory()) {
+          files.add(Result.<InputStream, LocalFileAttributes>builder().output(null).attributes(attributes).build());
+        } else {
+          files.add(createResult(path, attributes));
+        }
+      } catch (RuntimeException e) {
+        // the file was removed or became unreadable after the change was reported
+        LOGGER.debug("A change on file '{}' was detected but the file could not be read", path, e);
+      }
+    }
+
+    return files;
+  }
+
   private void refreshMatcher() {
-    matcher = predicateBuilder != null ? predicateBuilder.build() : new NullFilePayloadPredicate<>();
+    matcher.resetClock();
   }
 
   private PollContext.PollItemStatus processFile(Result<InputStream, LocalFileAttributes> file, LocalFileAttributes attributes,
@@ -233,7 +633,7 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
     String fullPath = attributes.getPath();
 
 
-    return pollContext.accept(item -> {
+    PollContext.PollItemStatus status = pollContext.accept(item -> {
       SourceCallbackContext ctx = item.getSourceCallbackContext();
       try {
 
@@ -250,6 +650,8 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
         onRejectedItem(file, ctx);
       }
     });
+    pollStatistics.dispatched(status, attributes);
+    return status;
   }
 
   private void postAction(PostActionGroup postAction, SourceCallbackContext ctx) {
@@ -292,6 +694,29 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
 
   @Override
   protected void doStop() {
+    stabilityTracker.clear();
+    leftOutPaths.clear();
+    if (mBeanRegistrations != null) {
+      mBeanRegistrations.close();
+      mBeanRegistrations = null;
+    }
+
+    fileClaimer = null;
+    if (listingPool != null) {
+      listingPool.shutdownNow();
+      listingPool = null;
+    }
+
+    if (watcher != null) {
+      closeQuietly(watcher);
+      watcher = null;
+    }
+
+    if (processedFileIndex != null) {
+      processedFileIndex.close();
+      processedFileIndex = null;
+    }
+
     if (fileSystem != null) {
       fileSystemProvider.disconnect(fileSystem);
     }
@@ -312,95 +737,160 @@ public class DirectoryListener extends PollingSource<InputStream, LocalFileAttri
     }
   }
 
-  private void validateFilesSize(final Long timeBetweenSizeCheckInMillis,
-                                 PollContext<InputStream, LocalFileAttributes> pollContext) {
-    Map<String, Result<InputStream, LocalFileAttributes>> filesToProcess =
-        toMap(fileSystem.list(config, directoryPath.toString(), recursive, matcher, timeBetweenSizeCheckInMillis, null));
-
-
-    Map<String, Result<InputStream, LocalFileAttributes>> pendingFilesByTimeCheck =
-        processFilesAndCalculateFilesPendingFromProcessDueSizeCheck(filesToProcess, timeBetweenSizeCheckInMillis, pollContext);
+  private PollContext.PollItemStatus dispatchFile(Result<InputStream, LocalFileAttributes> file,
+                                                  LocalFileAttributes attributes,
+                                                  PollContext<InputStream, LocalFileAttributes> pollContext) {
+    PollContext.PollItemStatus status =
+        fileClaimer != null ? claimAndProcessFile(file, attributes, pollContext) : processFile(file, attributes, pollContext);
+    if (status == SOURCE_STOPPING) {
+      leaveForNextPoll(attributes);
+    }
+    return status;
+  }
 
-    int retries = 0;
-    if (isNotNull(timeBetweenSizeCheckInMillis) && timeBetweenSizeCheckInMillis > 0 && !pendingFilesByTimeCheck.isEmpty()) {
-      while (retries < MAX_SIZE_CHECK_RETRIES) {
-        pendingFilesByTimeCheck =
-            processFilesAndCalculateFilesPendingFromProcessDueSizeCheck(pendingFilesByTimeCheck, timeBetweenSizeCheckInMillis,
-                                                                        pollContext);
-        retries++;
-      }
+  private PollContext.PollItemStatus claimAndProcessFile(Result<InputStream, LocalFileAttributes> file,
+                                                         LocalFileAttributes attributes,
+                                                         PollContext<InputStream, LocalFileAttributes> pollContext) {
+    closeResultQuietly(file);
+    Path claimed = fileClaimer.claim(Paths.get(attributes.getPath()));
+    if (claimed == null) {
+      return null;
     }
 
+    return processClaimedFile(claimed, pollContext);
   }
 
-  private Map<String, Result<InputStream, LocalFileAttributes>> processFilesAndCalculateFilesPendingFromProcessDueSizeCheck(final Map<String, Result<InputStream, LocalFileAttributes>> filesToProcess,
-                                                                                                                            final Long timeBetweenSizeCheckInMillis,
-                                                                                                                            final PollContext<InputStream, LocalFileAttributes> pollContext) {
-    try {
-      Map<String, Result<InputStream, LocalFileAttributes>> pendingFilesByTimeCheck = new HashMap<>();
+  /**
+   * Dispatches a claimed file, releasing it back into the listened directory if the runtime doesn't accept it, so that it's
+   * not stranded in the claim directory.
+   */
+  private PollContext.PollItemStatus processClaimedFile(Path claimed,
+                                                        PollContext<InputStream, LocalFileAttributes> pollContext) {
+    LocalFileAttributes claimedAttributes = new LocalFileAttributes(claimed);
+    PollContext.PollItemStatus status = processFile(createResult(claimed, claimedAttributes), claimedAttributes, pollContext);
+    if (status != ACCEPTED) {
+      fileClaimer.release(claimed);
+    }
+    return status;
+  }
 
-      if (filesToProcess.isEmpty()) {
-        return pendingFilesByTimeCheck;// no files to process
-      }
+  /**
+   * Dispatches the listed files which are ready to be read. When a {@code timeBetweenSizeCheckInMillis} is set, a file is only
+   * ready once its size and modification time haven't changed for that long across polls. Files which aren't ready yet are
+   * left for a later poll. Files which are in the {@link ProcessedFileIndex} are skipped.
+   * <p>
+   * When there's a {@link #maxItemsPerPoll} limit or a {@link #dispatchOrder}, the files which are ready are selected while
+   * going through the listing, holding no more than the files to dispatch, which are then dispatched in order. Files which
+   * don't fit in the selection are left for a later poll.
+   *
+   * @param completeListing whether the {@code files} are the whole contents of the directory, and not only the changed ones
+   */
+  private void processFiles(final Long timeBetweenSizeCheckInMillis,
+                            PollContext<InputStream, LocalFileAttributes> pollContext,
+                            List<Result<InputStream, LocalFileAttributes>> files,
+                            boolean completeListing) {
+    boolean checkSize = isNotNull(timeBetweenSizeCheckInMillis) && timeBetweenSizeCheckInMillis > 0;
+    long now = NANOSECONDS.toMillis(nanoTime());
+    Set<String> listedPaths = new HashSet<>();
+    ProcessedFileIndex index = processedFileIndex;
+    ProcessedFileIndex.Fingerprints liveFingerprints =
+        index != null && completeListing ? new ProcessedFileIndex.Fingerprints() : null;
+    PollContext.PollItemStatus status = null;
+    pollStatistics.scanned(files.size());
+    BoundedSelector<Result<InputStream, LocalFileAttributes>> selector = null;
+    if (maxItemsPerPoll != null || dispatchOrder != LISTING) {
+      int capacity = maxItemsPerPoll != null ? maxItemsPerPoll : Integer.MAX_VALUE;
+      selector = new BoundedSelector<>(capacity, dispatchOrder.getComparator(), false);
+    }
 
-      if (isNotNull(timeBetweenSizeCheckInMillis) && timeBetweenSizeCheckInMillis > 0) {
-        sleep(timeBetweenSizeCheckInMillis);
+    for (Result<InputStream, LocalFileAttributes> file : files) {
+      if (!file.getAttributes().isPresent()) {
+        closeResultQuietly(file);
+        continue;
       }
 
-      List<Result<InputStream, LocalFileAttributes>> currentList =
-          fileSystem.list(config, directoryPath.toString(), recursive, matcher, timeBetweenSizeCheckInMillis, null);
+      LocalFileAttributes attributes = file.getAttributes().get();
+      listedPaths.add(attributes.getPath());
 
-
-      if (currentList.isEmpty()) {
-        return pendingFilesByTimeCheck;// files already processed
+      if (fileClaimer != null && (attributes.isDirectory() || fileClaimer.isClaimed(Paths.get(attributes.getPath())))) {
+        closeResultQuietly(file);
+        continue;
       }
 
-      Map<String, Result<InputStream, LocalFileAttributes>> currentFilesMap = toMap(currentList);
-      Map<String, Result<InputStream, LocalFileAttributes>> filteredOldMap = filesToProcess.entrySet().stream()
-          .filter(entry -> currentFilesMap.containsKey(entry.getKey()))
-          .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-      processFiles(pollContext, pendingFilesByTimeCheck, currentFilesMap, filteredOldMap);
-      return pendingFilesByTimeCheck;
-    } catch (InterruptedException e) {
-      throw new MuleRuntimeException(createStaticMessage("Execution was interrupted while waiting to recheck file sizes"), e);
-    }
-  }
+      long fingerprint = 0;
+      boolean processed = false;
+      if (index != null) {
+        fingerprint = ProcessedFileIndex.fingerprint(attributes);
+        processed = index.contains(fingerprint);
+        if (liveFingerprints != null) {
+          liveFingerprints.add(fingerprint);
+        }
+      }
 
-  private void processFiles(PollContext<InputStream, LocalFileAttributes> pollContext,
-                            Map<String, Result<InputStream, LocalFileAttributes>> pendingFilesByTimeCheck,
-                            Map<String, Result<InputStream, LocalFileAttributes>> currentFilesMap,
-                            Map<String, Result<InputStream, LocalFileAttributes>> filteredOldMap) {
-    PollContext.PollItemStatus status = null;
-    for (final Map.Entry<String, Result<InputStream, LocalFileAttributes>> file : filteredOldMap.entrySet()) {
       if (status == SOURCE_STOPPING) {
-        closeResultQuietly(file.getValue());
-        continue;
+        if (!processed) {
+          leaveForNextPoll(attributes);
+          pollStatistics.pending(attributes);
+        }
+        closeResultQuietly(file);
+      } else if (!matcher.test(attributes)) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Skipping file '{}' because the matcher rejected it", attributes.getPath());
+        }
+        closeResultQuietly(file);
+      } else if (processed) {
+        LOGGER.debug("Skipping file '{}' because it was already processed", attributes.getPath());
+        closeResultQuietly(file);
+      } else if (checkSize && !stabilityTracker.isStable(attributes, timeBetweenSizeCheckInMillis, now)) {
+        LOGGER.debug("File on path {} is still being written.", attributes.getPath());
+        pollStatistics.deferred(attributes);
+        closeResultQuietly(file);
+      } else if (selector != null) {
+        offer(selector, file);
+      } else {
+        status = dispatchFile(file, attributes, pollContext);
       }
+    }
 
-      Result<InputStream, LocalFileAttributes> currentInputStreamLocalFileAttributesResult = currentFilesMap.get(file.getKey());
-      LocalFileAttributes currentAttributes = currentInputStreamLocalFileAttributesResult.getAttributes().get();
-      LocalFileAttributes oldAttributes = file.getValue().getAttributes().get();
-      if (matcher.test(currentAttributes)) {
-        if (currentAttributes.getSize() == oldAttributes.getSize()) {
-          status =
-              processFile(file.getValue(), currentAttributes, pollContext);
+    if (selector != null) {
+      for (Result<InputStream, LocalFileAttributes> file : selector.toSortedList()) {
+        LocalFileAttributes attributes = file.getAttributes().get();
+        if (status == SOURCE_STOPPING) {
+          leaveForNextPoll(attributes);
+          pollStatistics.pending(attributes);
+          closeResultQuietly(file);
         } else {
-          LOGGER.warn("File on path {} is still being written.", currentAttributes.getPath());
-          pendingFilesByTimeCheck.put(file.getKey(), file.getValue());// tracking files that fails for size check
-        }
-      } else {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("Skipping file '{}' because the matcher rejected it", currentAttributes.getPath());
+          status = dispatchFile(file, attributes, pollContext);
         }
       }
     }
+
+    stabilityTracker.retainAll(listedPaths);
+    if (liveFingerprints != null) {
+      index.compact(liveFingerprints);
+    }
   }
 
+  private void offer(BoundedSelector<Result<InputStream, LocalFileAttributes>> selector,
+                     Result<InputStream, LocalFileAttributes> file) {
+    Result<InputStream, LocalFileAttributes> leftOut = selector.offer(file);
+    if (leftOut != null) {
+      LocalFileAttributes leftOutAttributes = leftOut.getAttributes().get();
+      LOGGER.debug("File on path {} is left for a later poll because the maximum items per poll was reached",
+                   leftOutAttributes.getPath());
+      leaveForNextPoll(leftOutAttributes);
+      pollStatistics.limited(leftOutAttributes);
+      closeResultQuietly(leftOut);
+    }
+  }
 
-  private Map<String, Result<InputStream, LocalFileAttributes>> toMap(final List<Result<InputStream, LocalFileAttributes>> fileList) {
-    return fileList.stream()
-        .filter(file -> file.getAttributes().isPresent())
-        .collect(Collectors.toMap(file -> file.getAttributes().get().getPath(), Function.identity()));
+  /**
+   * Remembers a file which is ready but wasn't dispatched by this poll. When watching the directory, the next poll only reads
+   * the changed files, so the ones left out are added to them. Otherwise, the next poll lists them anyway.
+   */
+  private void leaveForNextPoll(LocalFileAttributes attributes) {
+    if (watcher != null) {
+      leftOutPaths.add(Paths.get(attributes.getPath()));
+    }
   }
 }
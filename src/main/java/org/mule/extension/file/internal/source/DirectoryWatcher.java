@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.extension.file.internal.command.WalkSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Tracks the changes on a directory through a {@link WatchService}, so that the {@link DirectoryListener} only has to look at the
+ * files which were created or modified since the last poll instead of scanning the whole tree.
+ * <p>
+ * Since a {@link WatchService} only watches the directories which were explicitly registered, every sub-directory is registered
+ * when watching recursively, including the ones which are created while watching. Events might still be lost, either because
+ * the operating system dropped them ({@link java.nio.file.StandardWatchEventKinds#OVERFLOW}) or because a watched directory was
+ * removed or became inaccessible. {@link #drainChanges(Collection)} reports those cases so that the caller can fall back to a
+ * full scan.
+ *
+ * @since 1.6.0
+ */
+final class DirectoryWatcher implements Closeable {
+
+  private static final Logger LOGGER = getLogger(DirectoryWatcher.class);
+
+  private final Path root;
+  private final boolean recursive;
+  private final WalkSettings walkSettings;
+  private final WatchService watchService;
+  private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance and starts watching the {@code root} directory.
+   *
+   * @param root      the directory to watch
+   * @param recursive whether to also watch the {@code root} sub-directories
+   * @throws IOException if the {@code root} directory could not be watched
+   */
+  DirectoryWatcher(Path root, boolean recursive) throws IOException {
+    this(root, recursive, WalkSettings.UNBOUNDED);
+  }
+
+  /**
+   * Creates a new instance and starts watching the {@code root} directory, leaving out the sub-directories which a listing
+   * limited by the given {@code walkSettings} wouldn't walk.
+   *
+   * @param root         the directory to watch
+   * @param recursive    whether to also watch the {@code root} sub-directories
+   * @param walkSettings the {@link WalkSettings} which limit the watched tree
+   * @throws IOException if the {@code root} directory could not be watched
+   */
+  DirectoryWatcher(Path root, boolean recursive, WalkSettings walkSettings) throws IOException {
+    this.root = root;
+    this.recursive = recursive;
+    this.walkSettings = walkSettings;
+    watchService = root.getFileSystem().newWatchService();
+    try {
+      if (recursive) {
+        registerTree(root, null);
+      } else {
+        watch(root);
+      }
+    } catch (IOException e) {
+      watchService.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Consumes the events received since the last invocation, adding to {@code candidates} the paths of the entries which were
+   * created or modified. When watching recursively, directories which were created are watched from now on and the entries they
+   * already contain are added as candidates as well, contents first, just like a recursive listing would return them.
+   *
+   * @param candidates the collection to which the changed paths are added
+   * @return {@code false} if changes might have been lost, in which case a full scan is needed to catch up
+   */
+  boolean drainChanges(Collection<Path> candidates) {
+    boolean complete = true;
+    WatchKey key;
+    while ((key = watchService.poll()) != null) {
+      Path directory = watchedDirectories.get(key);
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          LOGGER.debug("Events were lost while watching directory '{}'", root);
+          complete = false;
+        } else if (directory != null) {
+          complete &= onEntryChanged(directory.resolve((Path) event.context()), event.kind() == ENTRY_CREATE, candidates);
+        }
+      }
+
+      if (!key.reset()) {
+        watchedDirectories.remove(key);
+        if (root.equals(directory)) {
+          LOGGER.warn("Directory '{}' is no longer accessible and will stop being watched", root);
+          complete = false;
+        }
+      }
+    }
+
+    return complete;
+  }
+
+  /**
+   * Makes sure the root, and every sub-directory when recursive, is being watched. This is to be invoked after a full scan, since
+   * the creation of directories might have gone unnoticed while events were lost, and the root itself stops being watched if
+   * it's deleted and created again.
+   */
+  void resync() {
+    if (!recursive) {
+      try {
+        watch(root);
+      } catch (IOException e) {
+        LOGGER.warn("Could not watch directory '{}'. Changes on it will only be noticed by full scans", root, e);
+      }
+      return;
+    }
+
+    try {
+      registerTree(root, null);
+    } catch (IOException e) {
+      LOGGER.warn("Could not watch all the sub-directories of '{}'. Changes on them will only be noticed by full scans", root, e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    watchedDirectories.clear();
+    watchService.close();
+  }
+
+  private boolean onEntryChanged(Path path, boolean created, Collection<Path> candidates) {
+    if (!recursive || !Files.isDirectory(path, NOFOLLOW_LINKS)) {
+      candidates.add(path);
+      return true;
+    }
+
+    // a watched directory is reported as modified whenever its contents change, which is already covered by its own events
+    if (!created) {
+      return true;
+    }
+
+    try {
+      registerTree(path, candidates);
+      return true;
+    } catch (IOException e) {
+      LOGGER.warn("Could not watch new directory '{}'. Its contents will only be noticed by full scans", path, e);
+      return false;
+    }
+  }
+
+  private void registerTree(Path directory, Collection<Path> candidates) throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        if (!walkSettings.walks(root, dir, true)) {
+          // the directory itself might still be listed, but not its contents
+          if (candidates != null) {
+            candidates.add(dir);
+          }
+          return SKIP_SUBTREE;
+        }
+
+        try {
+          watch(dir);
+          return CONTINUE;
+        } catch (AccessDeniedException | NoSuchFileException e) {
+          LOGGER.debug("Could not watch directory '{}'", dir, e);
+          return SKIP_SUBTREE;
+        }
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if (candidates != null) {
+          candidates.add(file);
+        }
+        return CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+        if (candidates != null) {
+          candidates.add(dir);
+        }
+        return CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException exc) {
+        LOGGER.debug("Could not visit '{}' while registering directories to watch", file, exc);
+        return CONTINUE;
+      }
+    });
+  }
+
+  private void watch(Path directory) throws IOException {
+    watchedDirectories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY), directory);
+  }
+}
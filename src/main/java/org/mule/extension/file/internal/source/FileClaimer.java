@@ -0,0 +1,208 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static java.lang.String.format;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.Collections.emptyList;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+/**
+ * Claims files on behalf of a node, so that several nodes can listen on the same shared directory without processing a file
+ * more than once.
+ * <p>
+ * A file is claimed by atomically moving it into a directory which belongs to the claiming node. Since the file system
+ * guarantees that only one of several concurrent moves of the same file succeeds, the node which performed it becomes the only
+ * one to process the file, while the rest simply skip it. For this to work, the claim directory must be on the same file system
+ * as the listened one.
+ * <p>
+ * The files being processed are kept in the {@value #CLAIMED} sub-directory of the node's directory. Once they are
+ * {@link #complete(Path) processed}, the ones which a post action didn't already move or delete are deleted, so that the claim
+ * directory only ever holds the files in progress. Files which end up not being processed, i.e: because the runtime didn't
+ * accept them or their processing failed, are {@link #release(Path) released} back into the listened directory, so that they
+ * are picked up again. Files which were claimed but never processed because the node went down remain in the
+ * {@value #CLAIMED} directory, from which they are {@link #getClaimedFiles() recovered} when the node starts again with the
+ * same id.
+ *
+ * @since 1.6.0
+ */
+final class FileClaimer {
+
+  static final String CLAIMED = "claimed";
+
+  private static final Logger LOGGER = getLogger(FileClaimer.class);
+
+  private final Path listenedDirectory;
+  private final Path claimDirectory;
+  private final Path claimedDirectory;
+
+  /**
+   * Creates a new instance
+   *
+   * @param listenedDirectory the directory on which the claimed files are found
+   * @param claimDirectory    the directory into which the files are claimed
+   * @param nodeId            the id of the claiming node
+   */
+  FileClaimer(Path listenedDirectory, Path claimDirectory, String nodeId) {
+    this.listenedDirectory = listenedDirectory.toAbsolutePath().normalize();
+    this.claimDirectory = claimDirectory.toAbsolutePath().normalize();
+    claimedDirectory = this.claimDirectory.resolve(nodeId).resolve(CLAIMED);
+  }
+
+  /**
+   * Attempts to claim a file.
+   * <p>
+   * Atomic moves replace existing targets on most platforms, so a file is not claimed while another one with the same path is
+   * still claimed by this node. Since only this node moves files into its directory, and it does so from a single thread,
+   * checking that the target doesn't exist before moving is enough to never replace a file which is being processed.
+   *
+   * @param file a file found on the listened directory
+   * @return the path to which the file was moved, or {@code null} if the file was claimed by another node, no longer exists or
+   *         has the same path as a file which is still being processed
+   * @throws MuleRuntimeException if the claim directory does not support atomic moves from the listened directory
+   */
+  Path claim(Path file) {
+    Path target = claimedDirectory.resolve(listenedDirectory.relativize(file.toAbsolutePath().normalize()));
+    try {
+      if (Files.exists(target, NOFOLLOW_LINKS)) {
+        LOGGER.debug("File '{}' will be claimed once the file with the same path which was already claimed is processed", file);
+        return null;
+      }
+
+      Files.createDirectories(target.getParent());
+      return Files.move(file, target, ATOMIC_MOVE);
+    } catch (NoSuchFileException e) {
+      LOGGER.debug("File '{}' was claimed by another node", file);
+    } catch (FileAlreadyExistsException e) {
+      LOGGER.debug("File '{}' will be claimed once the file with the same path which was already claimed is processed", file);
+    } catch (AtomicMoveNotSupportedException e) {
+      throw new MuleRuntimeException(createStaticMessage(format("Files cannot be atomically moved from '%s' into '%s'. The claim "
+          + "directory must be on the same file system as the listened one", listenedDirectory, claimDirectory)), e);
+    } catch (IOException e) {
+      LOGGER.warn(format("Could not claim file '%s'. %s", file, e.getMessage()), e);
+    }
+
+    return null;
+  }
+
+  /**
+   * Records that a claimed file was processed, by deleting it, so that it's not recovered again. Files which were already moved
+   * or deleted, i.e: by a post action, are left alone.
+   *
+   * @param claimed the path of a claimed file
+   */
+  void complete(Path claimed) {
+    if (relativeToClaimed(claimed) == null) {
+      return;
+    }
+
+    try {
+      if (Files.deleteIfExists(claimed)) {
+        deleteEmptyParents(claimed);
+      }
+    } catch (IOException e) {
+      LOGGER.warn(format("Could not delete processed claimed file '%s'. It will be processed again when the node restarts. %s",
+                         claimed, e.getMessage()),
+                  e);
+    }
+  }
+
+  /**
+   * Moves a claimed file which was not processed back into the listened directory, so that it's claimed again on a later poll,
+   * by this node or any other. If a new file with the same path was placed into the listened directory in the meantime, the
+   * claimed file is kept, so that it's recovered when the node restarts.
+   *
+   * @param claimed the path of a claimed file
+   */
+  void release(Path claimed) {
+    Path relativePath = relativeToClaimed(claimed);
+    if (relativePath == null || !Files.exists(claimed, NOFOLLOW_LINKS)) {
+      return;
+    }
+
+    Path target = listenedDirectory.resolve(relativePath);
+    try {
+      if (Files.exists(target, NOFOLLOW_LINKS)) {
+        LOGGER.warn("Could not release claimed file '{}' because file '{}' already exists. It will be processed when the node "
+            + "restarts", claimed, target);
+        return;
+      }
+
+      Files.createDirectories(target.getParent());
+      Files.move(claimed, target, ATOMIC_MOVE);
+      deleteEmptyParents(claimed);
+    } catch (IOException e) {
+      LOGGER.warn(format("Could not release claimed file '%s'. It will be processed when the node restarts. %s", claimed,
+                         e.getMessage()),
+                  e);
+    }
+  }
+
+  /**
+   * @param path a listed path
+   * @return whether the {@code path} is within the claim directory, in which case it must not be claimed again
+   */
+  boolean isClaimed(Path path) {
+    return path.toAbsolutePath().normalize().startsWith(claimDirectory);
+  }
+
+  /**
+   * @return the files which are currently claimed by this node
+   */
+  List<Path> getClaimedFiles() {
+    if (!Files.isDirectory(claimedDirectory)) {
+      return emptyList();
+    }
+
+    try (Stream<Path> files = Files.walk(claimedDirectory)) {
+      return files.filter(Files::isRegularFile).collect(Collectors.toList());
+    } catch (IOException e) {
+      LOGGER.warn(format("Could not look for files previously claimed into '%s'. %s", claimedDirectory, e.getMessage()), e);
+      return emptyList();
+    }
+  }
+
+  /**
+   * Deletes the directories which held a claimed file of a sub-directory and are now empty, so that they don't pile up
+   */
+  private void deleteEmptyParents(Path claimed) {
+    Path directory = claimed.toAbsolutePath().normalize().getParent();
+    while (directory != null && directory.startsWith(claimedDirectory) && !directory.equals(claimedDirectory)) {
+      try {
+        Files.delete(directory);
+      } catch (DirectoryNotEmptyException | NoSuchFileException e) {
+        return;
+      } catch (IOException e) {
+        LOGGER.debug("Could not delete empty claim directory '{}'", directory, e);
+        return;
+      }
+      directory = directory.getParent();
+    }
+  }
+
+  private Path relativeToClaimed(Path claimed) {
+    Path path = claimed.toAbsolutePath().normalize();
+    return path.startsWith(claimedDirectory) ? claimedDirectory.relativize(path) : null;
+  }
+}
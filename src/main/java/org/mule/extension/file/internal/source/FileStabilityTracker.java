@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers the size and modification time of the files seen by the {@link DirectoryListener} across polls, so that a file is
+ * only considered ready to be read once it hasn't changed for a given window of time.
+ * <p>
+ * This replaces waiting for the window on the polling thread and listing the directory again: each poll only needs to observe
+ * the files once, and a file which is still being written is simply picked up by a later poll. A file is only stable after
+ * two matching observations taken at least the window apart. Its modification time alone is never trusted, since it comes from
+ * the file server's clock and may have been set to an old value by the writer, i.e: when copying with {@code cp -p}.
+ * <p>
+ * This class is not thread-safe, since polls on a given source never overlap.
+ *
+ * @since 1.6.0
+ */
+final class FileStabilityTracker {
+
+  private final Map<String, Observation> observations = new HashMap<>();
+
+  /**
+   * Records an observation of a file.
+   *
+   * @param attributes   the file's current attributes
+   * @param windowMillis the time in milliseconds during which the file must not change to be considered stable
+   * @param now          the current time in milliseconds, taken from a monotonic clock
+   * @return whether the file hasn't changed for at least {@code windowMillis}
+   */
+  boolean isStable(LocalFileAttributes attributes, long windowMillis, long now) {
+    String path = attributes.getPath();
+    long size = attributes.getSize();
+    Instant lastModifiedTime = attributes.lastModifiedInstant();
+
+    Observation observation = observations.get(path);
+    if (observation == null || !observation.matches(size, lastModifiedTime)) {
+      observations.put(path, new Observation(size, lastModifiedTime, now));
+      return false;
+    }
+
+    if (!observation.stable && now - observation.unchangedSince >= windowMillis) {
+      observation.stable = true;
+    }
+
+    return observation.stable;
+  }
+
+  /**
+   * @return the paths of the files which were observed but are not stable yet
+   */
+  List<String> getPendingPaths() {
+    List<String> pending = new ArrayList<>();
+    observations.forEach((path, observation) -> {
+      if (!observation.stable) {
+        pending.add(path);
+      }
+    });
+
+    return pending;
+  }
+
+  /**
+   * Forgets about every file which is not included in {@code paths}, typically because it no longer exists.
+   *
+   * @param paths the paths of the files to keep tracking
+   */
+  void retainAll(Collection<String> paths) {
+    observations.keySet().retainAll(paths);
+  }
+
+  /**
+   * Forgets about every file
+   */
+  void clear() {
+    observations.clear();
+  }
+
+  private static final class Observation {
+
+    private final long size;
+    private final Instant lastModifiedTime;
+    private final long unchangedSince;
+    private boolean stable = false;
+
+    private Observation(long size, Instant lastModifiedTime, long unchangedSince) {
+      this.size = size;
+      this.lastModifiedTime = lastModifiedTime;
+      this.unchangedSince = unchangedSince;
+    }
+
+    private boolean matches(long size, Instant lastModifiedTime) {
+      return this.size == size && Objects.equals(this.lastModifiedTime, lastModifiedTime);
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.SOURCE_STOPPING;
+
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.Locale.ROOT;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus;
+
+import java.time.Instant;
+
+/**
+ * Measures the polls of a {@link DirectoryListener}.
+ * <p>
+ * The counters of the poll in progress are only touched by the polling thread, and are published all at once when the poll
+ * ends, so that the {@link PollStatisticsMBean} attributes always describe a complete poll. Files which were found but not
+ * dispatched, either because they were still being written, because the maximum items per poll was reached or because the
+ * source was stopping, make up the backlog, whose age is the one of the oldest modification among them.
+ *
+ * @since 1.6.0
+ */
+final class PollStatistics implements PollStatisticsMBean {
+
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+  private static final long NO_BACKLOG = Long.MAX_VALUE;
+
+  // the poll in progress
+  private long pollStart;
+  private long scanned;
+  private long deferred;
+  private long limited;
+  private long dispatched;
+  private long rejected;
+  private long oldestPending = NO_BACKLOG;
+
+  // the last complete poll, written by the polling thread only
+  private volatile long polls;
+  private volatile long lastPollDurationNanos;
+  private volatile long lastScanned;
+  private volatile long lastMatcherRejections;
+  private volatile long lastDeferred;
+  private volatile long lastLimited;
+  private volatile long lastDispatched;
+  private volatile long lastRejected;
+  private volatile long totalDispatched;
+  private volatile long totalRejected;
+  private volatile long lastOldestPending = NO_BACKLOG;
+
+  /**
+   * Starts measuring a new poll
+   */
+  void beginPoll() {
+    pollStart = nanoTime();
+    scanned = 0;
+    deferred = 0;
+    limited = 0;
+    dispatched = 0;
+    rejected = 0;
+    oldestPending = NO_BACKLOG;
+  }
+
+  /**
+   * @param entries the amount of entries which passed the matcher, to which the ones it rejected are added when the poll ends
+   */
+  void scanned(int entries) {
+    scanned += entries;
+  }
+
+  /**
+   * Records a file which was left for a later poll because it was still being written
+   */
+  void deferred(LocalFileAttributes attributes) {
+    deferred++;
+    pending(attributes);
+  }
+
+  /**
+   * Records a file which was left for a later poll because the maximum items per poll was reached
+   */
+  void limited(LocalFileAttributes attributes) {
+    limited++;
+    pending(attributes);
+  }
+
+  /**
+   * Records a file which was left for a later poll for any other reason
+   */
+  void pending(LocalFileAttributes attributes) {
+    Instant lastModifiedTime = attributes.lastModifiedInstant();
+    if (lastModifiedTime != null) {
+      oldestPending = Math.min(oldestPending, lastModifiedTime.toEpochMilli());
+    }
+  }
+
+  /**
+   * Records the outcome of handing a file to the runtime
+   *
+   * @param status     the status returned by the poll context
+   * @param attributes the file's attributes
+   */
+  void dispatched(PollItemStatus status, LocalFileAttributes attributes) {
+    if (status == ACCEPTED) {
+      dispatched++;
+    } else {
+      rejected++;
+      if (status == SOURCE_STOPPING) {
+        pending(attributes);
+      }
+    }
+  }
+
+  /**
+   * Publishes the measurements of the poll in progress
+   *
+   * @param matcherRejections the amount of entries which were rejected by the matcher during the poll
+   */
+  void endPoll(long matcherRejections) {
+    lastPollDurationNanos = nanoTime() - pollStart;
+    lastScanned = scanned + matcherRejections;
+    lastMatcherRejections = matcherRejections;
+    lastDeferred = deferred;
+    lastLimited = limited;
+    lastDispatched = dispatched;
+    lastRejected = rejected;
+    lastOldestPending = oldestPending;
+    totalDispatched += dispatched;
+    totalRejected += rejected;
+    polls++;
+  }
+
+  /**
+   * @return the measurements of the last complete poll, as {@code key=value} pairs
+   */
+  String summary() {
+    return format(ROOT,
+                  "durationMillis=%.3f entriesScanned=%d matcherRejections=%d deferredBySizeCheck=%d deferredByLimit=%d "
+                      + "dispatched=%d rejected=%d backlogAgeMillis=%d",
+                  getLastPollDurationMillis(), lastScanned, lastMatcherRejections, lastDeferred, lastLimited, lastDispatched,
+                  lastRejected, getBacklogAgeMillis());
+  }
+
+  @Override
+  public long getPolls() {
+    return polls;
+  }
+
+  @Override
+  public double getLastPollDurationMillis() {
+    return lastPollDurationNanos / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public long getLastPollEntriesScanned() {
+    return lastScanned;
+  }
+
+  @Override
+  public long getLastPollMatcherRejections() {
+    return lastMatcherRejections;
+  }
+
+  @Override
+  public long getLastPollDeferredBySizeCheck() {
+    return lastDeferred;
+  }
+
+  @Override
+  public long getLastPollDeferredByLimit() {
+    return lastLimited;
+  }
+
+  @Override
+  public long getLastPollDispatched() {
+    return lastDispatched;
+  }
+
+  @Override
+  public long getLastPollRejected() {
+    return lastRejected;
+  }
+
+  @Override
+  public long getTotalDispatched() {
+    return totalDispatched;
+  }
+
+  @Override
+  public long getTotalRejected() {
+    return totalRejected;
+  }
+
+  @Override
+  public long getBacklogAgeMillis() {
+    long oldest = lastOldestPending;
+    return oldest == NO_BACKLOG ? 0 : Math.max(0, currentTimeMillis() - oldest);
+  }
+}
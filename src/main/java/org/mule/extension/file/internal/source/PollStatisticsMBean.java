@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+/**
+ * Management interface of the polls of a {@link DirectoryListener}. The {@code LastPoll} attributes describe the most recent
+ * poll which looked at the directory, while the rest accumulate over all the polls since the listener was started.
+ *
+ * @since 1.6.0
+ */
+public interface PollStatisticsMBean {
+
+  /**
+   * @return the amount of polls which looked at the directory
+   */
+  long getPolls();
+
+  double getLastPollDurationMillis();
+
+  /**
+   * @return the amount of entries which were looked at, whether they were accepted by the matcher or not
+   */
+  long getLastPollEntriesScanned();
+
+  long getLastPollMatcherRejections();
+
+  /**
+   * @return the amount of files which were left for a later poll because they were still being written
+   */
+  long getLastPollDeferredBySizeCheck();
+
+  /**
+   * @return the amount of files which were left for a later poll because the maximum items per poll was reached
+   */
+  long getLastPollDeferredByLimit();
+
+  /**
+   * @return the amount of files which were accepted by the runtime for processing
+   */
+  long getLastPollDispatched();
+
+  /**
+   * @return the amount of files which the runtime didn't accept for processing, i.e: because they were already being processed
+   */
+  long getLastPollRejected();
+
+  long getTotalDispatched();
+
+  long getTotalRejected();
+
+  /**
+   * @return the time elapsed since the oldest modification of the files which were found on the last poll but are still
+   *         waiting to be dispatched, or {@code 0} if there are none
+   */
+  long getBacklogAgeMillis();
+}
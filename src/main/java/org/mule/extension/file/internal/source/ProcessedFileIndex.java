@@ -0,0 +1,385 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.core.api.util.IOUtils.closeQuietly;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+
+/**
+ * A persistent set of the files which were already processed by a {@link DirectoryListener}, keyed by path, size and
+ * modification time, so that a file is processed again if it's modified.
+ * <p>
+ * Each key is reduced to a 64 bits fingerprint. Fingerprints are appended to a memory mapped log file, which is loaded on
+ * startup in time proportional to its size, and kept in an open addressing hash table which lives off the heap. Hence, checking
+ * whether a file was processed doesn't allocate, no matter how many files the index holds. Since fingerprints are hashes, two
+ * different keys might collide, which would cause a file to be skipped. With 64 bits fingerprints, the odds of that are
+ * negligible even for hundreds of millions of files.
+ * <p>
+ * The log only grows, so it's {@link #compact(Fingerprints) compacted} from time to time, keeping only the fingerprints of the
+ * files which still exist.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 1.6.0
+ */
+final class ProcessedFileIndex implements Closeable {
+
+  private static final Logger LOGGER = getLogger(ProcessedFileIndex.class);
+
+  private static final int MAGIC = 0x4d464958;
+  // version 1 fingerprinted the modification time in the JVM's time zone, so its fingerprints can't be reused
+  private static final int VERSION = 2;
+  private static final int HEADER_SIZE = 16;
+  private static final int COUNT_OFFSET = 8;
+  private static final int ENTRY_SIZE = 8;
+  private static final int MIN_LOG_CAPACITY = 1 << 16;
+  private static final int MAX_LOG_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / ENTRY_SIZE;
+  private static final int MIN_TABLE_CAPACITY = 1 << 10;
+  private static final int MIN_COMPACTION_SIZE = 1 << 10;
+  private static final long EMPTY = 0;
+
+  private final Path file;
+  private FileChannel channel;
+  private MappedByteBuffer log;
+  private int logCapacity;
+  private int size;
+  private ByteBuffer table;
+  private int tableMask;
+
+  /**
+   * Opens the index stored on the given {@code file}, creating it if it doesn't exist.
+   *
+   * @param file the file on which the index is stored
+   * @return a {@link ProcessedFileIndex}
+   * @throws IOException if the index could not be read
+   */
+  static ProcessedFileIndex open(Path file) throws IOException {
+    ProcessedFileIndex index = new ProcessedFileIndex(file);
+    index.load();
+    return index;
+  }
+
+  private ProcessedFileIndex(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * @param attributes a file's attributes
+   * @return whether the file was processed, and wasn't modified since
+   */
+  synchronized boolean contains(LocalFileAttributes attributes) {
+    return contains(fingerprint(attributes));
+  }
+
+  /**
+   * @param fingerprint a {@link #fingerprint(LocalFileAttributes) fingerprint}
+   * @return whether the fingerprint belongs to the index
+   */
+  synchronized boolean contains(long fingerprint) {
+    checkOpen();
+    int slot = slot(fingerprint);
+    long value;
+    while ((value = table.getLong(slot * ENTRY_SIZE)) != EMPTY) {
+      if (value == fingerprint) {
+        return true;
+      }
+      slot = (slot + 1) & tableMask;
+    }
+
+    return false;
+  }
+
+  /**
+   * Records the given file as processed.
+   *
+   * @param attributes the processed file's attributes
+   * @throws IOException if the index could not be written
+   */
+  synchronized void add(LocalFileAttributes attributes) throws IOException {
+    checkOpen();
+    long fingerprint = fingerprint(attributes);
+    if (contains(fingerprint)) {
+      return;
+    }
+
+    if (size == logCapacity) {
+      mapLog(growCapacity(logCapacity));
+    }
+
+    log.putLong(HEADER_SIZE + size * ENTRY_SIZE, fingerprint);
+    log.putLong(COUNT_OFFSET, size + 1);
+    insert(fingerprint);
+    size++;
+  }
+
+  /**
+   * @return the amount of files in the index
+   */
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Rewrites the index so that it only holds the given {@code live} fingerprints, as long as that would shrink it to less than
+   * half its size. Otherwise, this method does nothing. Live fingerprints which are not in the index are ignored.
+   *
+   * @param live the fingerprints of the files which still exist
+   */
+  synchronized void compact(Fingerprints live) {
+    checkOpen();
+    if (size < MIN_COMPACTION_SIZE) {
+      return;
+    }
+
+    int liveCount = 0;
+    for (int i = 0; i < live.count; i++) {
+      if (contains(live.values[i])) {
+        liveCount++;
+      }
+    }
+
+    if (liveCount * 2 >= size) {
+      return;
+    }
+
+    Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+    try {
+      try (FileChannel target = FileChannel.open(compacted, CREATE, WRITE, TRUNCATE_EXISTING)) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + liveCount * ENTRY_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(liveCount);
+        for (int i = 0; i < live.count && buffer.hasRemaining(); i++) {
+          if (contains(live.values[i])) {
+            buffer.putLong(live.values[i]);
+          }
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          target.write(buffer);
+        }
+        target.force(true);
+      }
+
+      int previousSize = size;
+      closeChannel();
+      Files.move(compacted, file, REPLACE_EXISTING, ATOMIC_MOVE);
+      load();
+      LOGGER.debug("Compacted processed files index '{}' from {} to {} entries", file, previousSize, size);
+    } catch (IOException e) {
+      LOGGER.warn(format("Could not compact processed files index '%s'. %s", file, e.getMessage()), e);
+      try {
+        Files.deleteIfExists(compacted);
+        if (channel == null) {
+          load();
+        }
+      } catch (IOException reloadException) {
+        LOGGER.error(format("Could not reopen processed files index '%s'", file), reloadException);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (log != null) {
+      log.force();
+    }
+    closeChannel();
+    table = null;
+  }
+
+  /**
+   * Reduces a file's path, size and modification time to a 64 bits fingerprint without allocating.
+   *
+   * @param attributes a file's attributes
+   * @return the file's fingerprint
+   */
+  static long fingerprint(LocalFileAttributes attributes) {
+    // FNV-1a over the path
+    String path = attributes.getPath();
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < path.length(); i++) {
+      hash ^= path.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+
+    hash = mix(hash ^ attributes.getSize());
+    // the instant doesn't depend on the time zone, so changing it doesn't make every file look modified
+    Instant lastModifiedTime = attributes.lastModifiedInstant();
+    if (lastModifiedTime != null) {
+      hash = mix(hash ^ lastModifiedTime.getEpochSecond());
+      hash = mix(hash ^ lastModifiedTime.getNano());
+    }
+    return hash == EMPTY ? 1 : hash;
+  }
+
+  private void load() throws IOException {
+    channel = FileChannel.open(file, CREATE, READ, WRITE);
+    try {
+      long fileSize = channel.size();
+      if (fileSize >= HEADER_SIZE && isPreviousVersion()) {
+        LOGGER.warn("Processed files index '{}' was written by a previous version and can't be reused. It will be rebuilt, so "
+            + "the files which are still in the listened directory will be processed again", file);
+        channel.truncate(0);
+        fileSize = 0;
+      }
+
+      if (fileSize == 0) {
+        mapLog(MIN_LOG_CAPACITY);
+        log.putInt(0, MAGIC).putInt(4, VERSION).putLong(COUNT_OFFSET, 0);
+        size = 0;
+      } else {
+        if (fileSize < HEADER_SIZE) {
+          throw invalidIndex();
+        }
+
+        mapLog((int) Math.min(Math.max((fileSize - HEADER_SIZE) / ENTRY_SIZE, MIN_LOG_CAPACITY), MAX_LOG_CAPACITY));
+        if (log.getInt(0) != MAGIC || log.getInt(4) != VERSION) {
+          throw invalidIndex();
+        }
+
+        long count = log.getLong(COUNT_OFFSET);
+        if (count < 0 || count > logCapacity || HEADER_SIZE + count * ENTRY_SIZE > fileSize) {
+          throw invalidIndex();
+        }
+        size = (int) count;
+      }
+
+      table = allocateTable(size);
+      for (int i = 0; i < size; i++) {
+        insert(log.getLong(HEADER_SIZE + i * ENTRY_SIZE));
+      }
+    } catch (IOException | RuntimeException e) {
+      closeChannel();
+      throw e;
+    }
+  }
+
+  private boolean isPreviousVersion() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(8);
+    channel.read(header, 0);
+    header.flip();
+    return header.remaining() == 8 && header.getInt() == MAGIC && header.getInt() < VERSION;
+  }
+
+  private void mapLog(int capacity) throws IOException {
+    if (capacity > MAX_LOG_CAPACITY) {
+      throw new IOException(format("Processed files index '%s' is full", file));
+    }
+
+    // mapping beyond the end of the file extends it. The previous mapping is released once it's no longer referenced
+    log = channel.map(READ_WRITE, 0, HEADER_SIZE + (long) capacity * ENTRY_SIZE);
+    logCapacity = capacity;
+  }
+
+  private void insert(long fingerprint) {
+    if ((size + 1) * 2 > table.capacity() / ENTRY_SIZE) {
+      ByteBuffer previous = table;
+      table = allocateTable(size + 1);
+      for (int offset = 0; offset < previous.capacity(); offset += ENTRY_SIZE) {
+        long value = previous.getLong(offset);
+        if (value != EMPTY) {
+          put(value);
+        }
+      }
+    }
+
+    put(fingerprint);
+  }
+
+  private void put(long fingerprint) {
+    int slot = slot(fingerprint);
+    long value;
+    while ((value = table.getLong(slot * ENTRY_SIZE)) != EMPTY) {
+      if (value == fingerprint) {
+        return;
+      }
+      slot = (slot + 1) & tableMask;
+    }
+    table.putLong(slot * ENTRY_SIZE, fingerprint);
+  }
+
+  private ByteBuffer allocateTable(int entries) {
+    int capacity = MIN_TABLE_CAPACITY;
+    while (capacity < entries * 2) {
+      capacity <<= 1;
+    }
+    tableMask = capacity - 1;
+    return ByteBuffer.allocateDirect(capacity * ENTRY_SIZE);
+  }
+
+  private int slot(long fingerprint) {
+    return (int) (mix(fingerprint) & tableMask);
+  }
+
+  private static int growCapacity(int capacity) {
+    return (int) Math.min((long) capacity * 2, MAX_LOG_CAPACITY);
+  }
+
+  /**
+   * A growable list of fingerprints, used to collect the ones which are still live without boxing them.
+   */
+  static final class Fingerprints {
+
+    private long[] values = new long[64];
+    private int count = 0;
+
+    void add(long fingerprint) {
+      if (count == values.length) {
+        values = Arrays.copyOf(values, count * 2);
+      }
+      values[count++] = fingerprint;
+    }
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private IOException invalidIndex() {
+    return new IOException(format("File '%s' is not a valid processed files index", file));
+  }
+
+  private void checkOpen() {
+    if (table == null) {
+      throw new IllegalStateException(format("Processed files index '%s' is closed", file));
+    }
+  }
+
+  private void closeChannel() {
+    log = null;
+    if (channel != null) {
+      closeQuietly(channel);
+      channel = null;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.util;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the first {@code capacity} elements of a sequence according to a {@link Comparator}, without ever holding more than
+ * {@code capacity} elements.
+ * <p>
+ * Offering {@code N} elements costs {@code O(N log capacity)} time and {@code O(capacity)} memory. Elements which compare as
+ * equal keep the order in which they were offered, and when the selection is {@code reversed} that order is reversed as well, so
+ * the result is exactly the same as stable sorting the whole sequence, reversing it if needed and keeping its head.
+ *
+ * @param <T> the type of the selected elements
+ * @since 1.6.0
+ */
+public final class BoundedSelector<T> {
+
+  private final int capacity;
+  private final Comparator<Candidate<T>> order;
+  private final PriorityQueue<Candidate<T>> heap;
+  private long sequence = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param capacity   the maximum amount of elements to select
+   * @param comparator the {@link Comparator} which defines the order of the selection
+   * @param reversed   whether the elements to select are the last ones according to the {@code comparator} instead of the first
+   */
+  public BoundedSelector(int capacity, Comparator<? super T> comparator, boolean reversed) {
+    checkArgument(capacity > 0, "capacity must be greater than zero");
+    this.capacity = capacity;
+
+    Comparator<Candidate<T>> ascending = (left, right) -> {
+      int result = comparator.compare(left.element, right.element);
+      return result != 0 ? result : Long.compare(left.sequence, right.sequence);
+    };
+
+    order = reversed ? ascending.reversed() : ascending;
+    // the head of the heap is the worst of the selected elements, which is the one to evict when a better one is offered
+    heap = new PriorityQueue<>(order.reversed());
+  }
+
+  /**
+   * Offers an element to the selection.
+   *
+   * @param element the offered element
+   * @return the element which was left out of the selection as a consequence of this offer, which might be the offered element
+   *         itself or a previously selected one. {@code null} if no element was left out
+   */
+  public T offer(T element) {
+    Candidate<T> candidate = new Candidate<>(element, sequence++);
+    if (heap.size() < capacity) {
+      heap.add(candidate);
+      return null;
+    }
+
+    if (order.compare(candidate, heap.peek()) >= 0) {
+      return element;
+    }
+
+    T evicted = heap.poll().element;
+    heap.add(candidate);
+    return evicted;
+  }
+
+  /**
+   * @return the amount of currently selected elements
+   */
+  public int size() {
+    return heap.size();
+  }
+
+  /**
+   * @return the selected elements, in order
+   */
+  public List<T> toSortedList() {
+    List<Candidate<T>> candidates = new ArrayList<>(heap);
+    candidates.sort(order);
+
+    List<T> selection = new ArrayList<>(candidates.size());
+    for (Candidate<T> candidate : candidates) {
+      selection.add(candidate.element);
+    }
+
+    return selection;
+  }
+
+  private static final class Candidate<T> {
+
+    private final T element;
+    private final long sequence;
+
+    private Candidate(T element, long sequence) {
+      this.element = element;
+      this.sequence = sequence;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.util;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.LongConsumer;
+
+/**
+ * Utilities to move bytes out of a {@link FileChannel} through {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+ * which lets the operating system move them without copying them into the JVM's memory whenever it's able to.
+ *
+ * @since 1.6.0
+ */
+public final class FileChannelTransfers {
+
+  private FileChannelTransfers() {}
+
+  /**
+   * Transfers all the bytes of the {@code source} from the given {@code position} up to its end into the {@code target}.
+   * Unlike a single {@link FileChannel#transferTo(long, long, WritableByteChannel)} invocation, which might transfer less bytes
+   * than requested, this method doesn't return until the end of the {@code source} is reached.
+   *
+   * @param source   the channel to read from. Its position is not modified
+   * @param position the position of the {@code source} on which to start transferring
+   * @param target   the channel to write to
+   * @return the amount of transferred bytes
+   * @throws IOException if the transfer fails
+   */
+  public static long transferFully(FileChannel source, long position, WritableByteChannel target) throws IOException {
+    return transferFully(source, position, target, Long.MAX_VALUE, transferred -> {
+    });
+  }
+
+  /**
+   * Same as {@link #transferFully(FileChannel, long, WritableByteChannel)}, but requesting at most {@code chunkSize} bytes on each
+   * {@link FileChannel#transferTo(long, long, WritableByteChannel)} invocation and notifying the {@code progress} after each one
+   * of them.
+   *
+   * @param source    the channel to read from. Its position is not modified
+   * @param position  the position of the {@code source} on which to start transferring
+   * @param target    the channel to write to
+   * @param chunkSize the maximum amount of bytes to request on each transfer
+   * @param progress  notified with the total amount of bytes transferred so far after each chunk
+   * @return the amount of transferred bytes
+   * @throws IOException if the transfer fails
+   */
+  public static long transferFully(FileChannel source, long position, WritableByteChannel target, long chunkSize,
+                                   LongConsumer progress)
+      throws IOException {
+    long size = source.size();
+    long transferred = 0;
+    while (position + transferred < size) {
+      long count = source.transferTo(position + transferred, Math.min(chunkSize, size - position - transferred), target);
+      if (count <= 0) {
+        // the file was truncated while being transferred
+        break;
+      }
+      transferred += count;
+      progress.accept(transferred);
+    }
+
+    return transferred;
+  }
+}
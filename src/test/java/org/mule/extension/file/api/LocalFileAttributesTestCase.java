@@ -0,0 +1,65 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.api;
+
+import static java.nio.file.Files.createSymbolicLink;
+import static java.nio.file.Files.setLastModifiedTime;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalFileAttributesTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void timesAreConvertedOnAccess() throws Exception {
+    Path file = temporaryFolder.newFile("file.txt").toPath();
+    Instant modified = Instant.parse("2020-01-02T03:04:05.123Z");
+    setLastModifiedTime(file, FileTime.from(modified));
+
+    LocalFileAttributes attributes = new LocalFileAttributes(file);
+    assertThat(attributes.getLastModifiedTime(), is(LocalDateTime.ofInstant(modified, ZoneId.systemDefault())));
+    assertThat(attributes.isRegularFile(), is(true));
+    assertThat(attributes.isSymbolicLink(), is(false));
+
+    LocalDateTime overridden = LocalDateTime.now();
+    attributes.setLastModifiedTime(overridden);
+    assertThat(attributes.getLastModifiedTime(), is(overridden));
+  }
+
+  @Test
+  public void symbolicLinkDescribesItsTarget() throws Exception {
+    Path target = temporaryFolder.newFile("target.txt").toPath();
+    Files.write(target, "content".getBytes());
+    Path link = temporaryFolder.getRoot().toPath().resolve("link.txt");
+    try {
+      createSymbolicLink(link, target);
+    } catch (UnsupportedOperationException e) {
+      assumeTrue("Symbolic links are not supported", false);
+    }
+
+    LocalFileAttributes attributes = new LocalFileAttributes(link);
+    assertThat(attributes.isSymbolicLink(), is(true));
+    assertThat(attributes.isRegularFile(), is(true));
+    assertThat(attributes.getSize(), is(7L));
+  }
+}
@@ -143,6 +143,20 @@ public class DirectoryListenerFunctionalTestCase extends FileConnectorTestCase {
     assertPoll(file, nonRecursiveContent);
   }
 
+  @Test
+  @Description("Verifies that files created in new subdirs are picked when watching the directory")
+  public void watchDirectory() throws Exception {
+    stopFlow("listenWithoutMatcher");
+
+    startFlow("listenWatchingDirectory");
+    File subdir = new File(listenerFolder, "watchedSubdir");
+    assertThat(subdir.mkdirs(), is(true));
+    File file = new File(subdir, WATCH_FILE);
+    write(file, WATCH_CONTENT);
+
+    assertPoll(file, WATCH_CONTENT);
+  }
+
   @Test
   @Description("Verifies that files are moved after processing")
   public void moveTo() throws Exception {
@@ -24,6 +24,8 @@ import org.mule.extension.file.common.api.exceptions.IllegalPathException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -37,6 +39,7 @@ public class FileListTestCase extends FileConnectorTestCase {
 
   private static String FILE_BEING_WRITTEN = "test-file-2.html";
   private static String LONG_CONTENT = "longlonglonglonglonglonglonglonglonglonglonglonglonglonglonglonglong";
+  private static String SYMBOLIC_LINK_NAME = "test-link.html";
 
   @Override
   protected String getConfigFile() {
@@ -95,6 +98,25 @@ public class FileListTestCase extends FileConnectorTestCase {
     assertThat(assertListedFiles(messages), is(true));
   }
 
+  @Test
+  public void listWithSymbolicLink() throws Exception {
+    assumeFalse(IS_OS_WINDOWS);
+    Path root = temporaryFolder.getRoot().toPath();
+    Files.createSymbolicLink(root.resolve(SYMBOLIC_LINK_NAME), root.resolve(String.format(TEST_FILE_PATTERN, 0)));
+    List<Message> messages = doList(".", false);
+
+    assertThat(messages, hasSize(7));
+    assertThat(assertListedFiles(messages), is(true));
+
+    FileAttributes link = messages.stream()
+        .map(message -> (FileAttributes) message.getAttributes().getValue())
+        .filter(attributes -> attributes.getName().equals(SYMBOLIC_LINK_NAME))
+        .findFirst().get();
+
+    assertThat(link.isSymbolicLink(), is(true));
+    assertThat(link.isRegularFile(), is(true));
+  }
+
   @Test
   public void listDirectoryWithoutReadPermission() throws Exception {
     assumeFalse(IS_OS_WINDOWS);
@@ -7,6 +7,9 @@
 package org.mule.extension.file.internal;
 
 import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
@@ -17,6 +20,7 @@ import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.io.File;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.junit.Rule;
@@ -25,6 +29,8 @@ import org.junit.rules.TemporaryFolder;
 
 public class FileInputStreamTestCase extends AbstractMuleTestCase {
 
+  private static final String CONTENT = "who watches the watchmen?";
+
   @Rule
   public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
@@ -45,4 +51,37 @@ public class FileInputStreamTestCase extends AbstractMuleTestCase {
     verify(spyFileChannel).close();
   }
 
+  @Test
+  public void unreadStreamIsTransferredToChannel() throws Exception {
+    File file = temporaryFolder.newFile();
+    Files.write(file.toPath(), CONTENT.getBytes());
+    File target = temporaryFolder.newFile();
+
+    FileInputStream fileInputStream = newFileInputStream(file.toPath());
+    try (FileChannel targetChannel = FileChannel.open(target.toPath(), WRITE)) {
+      assertThat(fileInputStream.transferTo(targetChannel), is(true));
+    }
+
+    assertThat(new String(Files.readAllBytes(target.toPath())), is(CONTENT));
+  }
+
+  @Test
+  public void partiallyReadStreamIsNotTransferred() throws Exception {
+    File file = temporaryFolder.newFile();
+    Files.write(file.toPath(), CONTENT.getBytes());
+    File target = temporaryFolder.newFile();
+
+    try (FileInputStream fileInputStream = newFileInputStream(file.toPath());
+        FileChannel targetChannel = FileChannel.open(target.toPath(), WRITE)) {
+      fileInputStream.read();
+      assertThat(fileInputStream.transferTo(targetChannel), is(false));
+    }
+
+    assertThat(target.length(), is(0L));
+  }
+
+  private FileInputStream newFileInputStream(Path path) throws Exception {
+    return new FileInputStream(FileChannel.open(path, READ), new NullPathLock(path), path, null, new LocalFileAttributes(path));
+  }
+
 }
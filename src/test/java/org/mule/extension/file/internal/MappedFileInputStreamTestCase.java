@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedFileInputStreamTestCase extends AbstractMuleTestCase {
+
+  private static final int REGION_SIZE = 16;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private byte[] content;
+  private File file;
+
+  @Before
+  public void setUp() throws Exception {
+    content = new byte[REGION_SIZE * 3 + 5];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    file = temporaryFolder.newFile();
+    Files.write(file.toPath(), content);
+  }
+
+  @Test
+  public void readsAcrossRegions() throws Exception {
+    try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+      MappedFileInputStream stream = new MappedFileInputStream(channel, REGION_SIZE);
+      assertThat(IOUtils.toByteArray(stream), is(content));
+      assertThat(stream.read(), is(-1));
+    }
+  }
+
+  @Test
+  public void skipAndAvailable() throws Exception {
+    try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+      MappedFileInputStream stream = new MappedFileInputStream(channel, REGION_SIZE);
+      assertThat(stream.available(), is(content.length));
+      assertThat(stream.skip(REGION_SIZE * 2 + 3), is((long) REGION_SIZE * 2 + 3));
+      assertThat(stream.read(), is(REGION_SIZE * 2 + 3));
+      assertThat(stream.available(), is(content.length - REGION_SIZE * 2 - 4));
+      assertThat(stream.skip(Long.MAX_VALUE), is((long) content.length - REGION_SIZE * 2 - 4));
+      assertThat(stream.read(), is(-1));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void releasedStreamCannotBeRead() throws Exception {
+    try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+      MappedFileInputStream stream = new MappedFileInputStream(channel, REGION_SIZE);
+      stream.read();
+      stream.release();
+      stream.read();
+    }
+  }
+}
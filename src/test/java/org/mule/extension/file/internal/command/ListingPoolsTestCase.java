@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ListingPoolsTestCase extends AbstractMuleTestCase {
+
+  private final ListingPools listingPools = new ListingPools();
+
+  @After
+  public void tearDown() {
+    listingPools.close();
+  }
+
+  @Test
+  public void poolIsReusedForTheSameParallelism() {
+    ForkJoinPool pool = listingPools.get(4);
+
+    assertThat(pool.getParallelism(), is(4));
+    assertThat(listingPools.get(4), is(sameInstance(pool)));
+    assertThat(listingPools.get(2), is(not(sameInstance(pool))));
+  }
+
+  @Test
+  public void poolsAreShutDownWhenClosed() {
+    ForkJoinPool pool = listingPools.get(4);
+
+    listingPools.close();
+
+    assertThat(pool.isShutdown(), is(true));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void closedPoolsCannotBeUsed() {
+    listingPools.close();
+
+    listingPools.get(4);
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.file.api.CopyStrategy.AUTO;
+import static org.mule.extension.file.api.CopyStrategy.COPY;
+import static org.mule.extension.file.api.CopyStrategy.HARD_LINK;
+import static org.mule.extension.file.api.CopyStrategy.REFLINK;
+
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalCopyCommandTestCase extends AbstractMuleTestCase {
+
+  private static final FileTime LAST_MODIFIED_TIME = FileTime.fromMillis(1_500_000_000_000L);
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private LocalCopyCommand copyCommand;
+  private File source;
+
+  @Before
+  public void setUp() throws Exception {
+    copyCommand = new LocalCopyCommand(new LocalFileSystem(temporaryFolder.getRoot().getAbsolutePath()));
+
+    source = temporaryFolder.newFolder("source");
+    for (int i = 0; i < 20; i++) {
+      File directory = new File(source, "directory" + i % 4 + File.separator + "nested" + i % 2);
+      directory.mkdirs();
+      writeFile(new File(directory, "file" + i + ".txt"), "content" + i);
+    }
+    new File(source, "empty").mkdirs();
+    writeFile(new File(source, "root.txt"), "root");
+  }
+
+  @Test
+  public void parallelCopyProducesTheSameTreeAsSequentialCopy() throws Exception {
+    temporaryFolder.newFolder("sequential");
+    temporaryFolder.newFolder("parallel");
+
+    copyCommand.copy(null, "source", "sequential", false, false, null);
+    copyCommand.copy(null, "source", "parallel", false, false, null, new CopySettings(4, null, false, false, COPY));
+
+    Map<String, String> expected = snapshot(new File(temporaryFolder.getRoot(), "sequential/source").toPath());
+    assertThat(snapshot(new File(temporaryFolder.getRoot(), "parallel/source").toPath()), is(expected));
+    assertThat(expected, is(snapshot(source.toPath())));
+  }
+
+  @Test
+  public void parallelCopyOverwritesExistingFiles() throws Exception {
+    File target = temporaryFolder.newFolder("target", "source", "directory0", "nested0");
+    writeFile(new File(target, "file0.txt"), "old content");
+
+    copyCommand.copy(null, "source", "target", true, false, null, new CopySettings(4, null, false, false, COPY));
+
+    assertThat(snapshot(new File(temporaryFolder.getRoot(), "target/source").toPath()), is(snapshot(source.toPath())));
+  }
+
+  @Test
+  public void chunkedCopyProducesTheSameTreeAsSequentialCopy() throws Exception {
+    temporaryFolder.newFolder("chunked");
+
+    copyCommand.copy(null, "source", "chunked", false, false, null, new CopySettings(2, 3L, false, false, COPY));
+
+    assertThat(snapshot(new File(temporaryFolder.getRoot(), "chunked/source").toPath()), is(snapshot(source.toPath())));
+  }
+
+  @Test
+  public void chunkedFileCopyPreservesTimestampsOnlyWhenRequested() throws Exception {
+    temporaryFolder.newFolder("preserved");
+    temporaryFolder.newFolder("notPreserved");
+
+    copyCommand.copy(null, "source/root.txt", "preserved", false, false, null, new CopySettings(1, 3L, true, false, COPY));
+    copyCommand.copy(null, "source/root.txt", "notPreserved", false, false, null, new CopySettings(1, 3L, false, false, COPY));
+
+    Path preserved = new File(temporaryFolder.getRoot(), "preserved/root.txt").toPath();
+    Path notPreserved = new File(temporaryFolder.getRoot(), "notPreserved/root.txt").toPath();
+    assertThat(new String(Files.readAllBytes(preserved), UTF_8), is("root"));
+    assertThat(Files.getLastModifiedTime(preserved), is(LAST_MODIFIED_TIME));
+    assertThat(Files.getLastModifiedTime(notPreserved).equals(LAST_MODIFIED_TIME), is(false));
+  }
+
+  @Test
+  public void hardLinkedFileIsTheSameFile() throws Exception {
+    temporaryFolder.newFolder("linked");
+
+    copyCommand.copy(null, "source/root.txt", "linked", false, false, null, new CopySettings(1, null, false, false, HARD_LINK));
+
+    assertThat(Files.isSameFile(new File(temporaryFolder.getRoot(), "linked/root.txt").toPath(),
+                                new File(source, "root.txt").toPath()),
+               is(true));
+  }
+
+  @Test
+  public void linkingStrategiesProduceTheSameTreeAsSequentialCopy() throws Exception {
+    temporaryFolder.newFolder("auto");
+    temporaryFolder.newFolder("reflink");
+
+    copyCommand.copy(null, "source", "auto", false, false, null, new CopySettings(2, null, false, false, AUTO));
+    copyCommand.copy(null, "source", "reflink", false, false, null, new CopySettings(2, null, false, false, REFLINK));
+
+    assertThat(snapshot(new File(temporaryFolder.getRoot(), "auto/source").toPath()), is(snapshot(source.toPath())));
+    assertThat(snapshot(new File(temporaryFolder.getRoot(), "reflink/source").toPath()), is(snapshot(source.toPath())));
+  }
+
+  @Test
+  public void autoStrategyDoesNotLinkTheSource() throws Exception {
+    temporaryFolder.newFolder("auto");
+
+    copyCommand.copy(null, "source/root.txt", "auto", false, false, null, new CopySettings(1, null, false, false, AUTO));
+
+    Path copy = new File(temporaryFolder.getRoot(), "auto/root.txt").toPath();
+    assertThat(Files.isSameFile(copy, new File(source, "root.txt").toPath()), is(false));
+    Files.write(copy, "changed".getBytes(UTF_8));
+    assertThat(new String(Files.readAllBytes(new File(source, "root.txt").toPath()), UTF_8), is("root"));
+  }
+
+  @Test
+  public void parallelCopyFollowsLinkedDirectoriesAsSequentialCopy() throws Exception {
+    File linked = temporaryFolder.newFolder("linked");
+    writeFile(new File(linked, "linkedFile.txt"), "linked content");
+    Files.createSymbolicLink(new File(source, "link").toPath(), linked.toPath());
+    temporaryFolder.newFolder("sequential");
+    temporaryFolder.newFolder("parallel");
+
+    copyCommand.copy(null, "source", "sequential", false, false, null);
+    copyCommand.copy(null, "source", "parallel", false, false, null, new CopySettings(4, null, false, false, COPY));
+
+    Path copiedLink = new File(temporaryFolder.getRoot(), "parallel/source/link/linkedFile.txt").toPath();
+    assertThat(new String(Files.readAllBytes(copiedLink), UTF_8), is("linked content"));
+    assertThat(snapshot(new File(temporaryFolder.getRoot(), "parallel/source").toPath()),
+               is(snapshot(new File(temporaryFolder.getRoot(), "sequential/source").toPath())));
+  }
+
+  private void writeFile(File file, String content) throws IOException {
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+    Files.setLastModifiedTime(file.toPath(), LAST_MODIFIED_TIME);
+  }
+
+  private Map<String, String> snapshot(Path root) throws IOException {
+    Map<String, String> snapshot = new TreeMap<>();
+    try (Stream<Path> paths = Files.walk(root, FOLLOW_LINKS)) {
+      for (Path path : (Iterable<Path>) paths::iterator) {
+        String content = Files.isDirectory(path) ? "<directory>"
+            : new String(Files.readAllBytes(path), UTF_8) + "@" + Files.getLastModifiedTime(path).toMillis();
+        snapshot.put(root.relativize(path).toString(), content);
+      }
+    }
+
+    return snapshot;
+  }
+}
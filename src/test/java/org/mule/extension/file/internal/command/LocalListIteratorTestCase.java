@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static org.hamcrest.CoreMatchers.is;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+
+import org.mule.extension.file.common.api.matcher.NullFilePayloadPredicate;
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalListIteratorTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private LocalListCommand listCommand;
+
+  @Before
+  public void setUp() throws Exception {
+    LocalFileSystem fileSystem = new LocalFileSystem(temporaryFolder.getRoot().getAbsolutePath());
+    listCommand = new LocalListCommand(fileSystem, new LocalReadCommand(fileSystem));
+
+    File subDirectory = temporaryFolder.newFolder("subDirectory");
+    new File(subDirectory, "nested.txt").createNewFile();
+  }
+
+  @Test
+  public void directoryContentsComeBeforeTheDirectory() throws Exception {
+    assertThat(listNames(true), contains("nested.txt", "subDirectory"));
+  }
+
+  @Test
+  public void nonRecursiveDoesNotDescend() throws Exception {
+    assertThat(listNames(false), contains("subDirectory"));
+  }
+
+  @Test
+  public void parallelListingKeepsTheSequentialOrder() throws Exception {
+    File deeper = temporaryFolder.newFolder("subDirectory", "deeper");
+    new File(deeper, "deepest.txt").createNewFile();
+    temporaryFolder.newFolder("sibling");
+    temporaryFolder.newFile("root.txt");
+
+    List<String> parallelNames = new ArrayList<>();
+    listCommand.list(null, ".", true, new NullFilePayloadPredicate<>(), null, null, 4)
+        .forEach(result -> parallelNames.add(result.getAttributes().get().getName()));
+
+    assertThat(parallelNames, is(listNames(true)));
+  }
+
+  @Test
+  public void maxDepthLimitsTheWalk() throws Exception {
+    File deeper = temporaryFolder.newFolder("subDirectory", "deeper");
+    new File(deeper, "deepest.txt").createNewFile();
+
+    assertThat(listNames(new WalkSettings(2, null)), contains("nested.txt", "deeper", "subDirectory"));
+  }
+
+  @Test
+  public void excludedDirectoriesAreNotWalked() throws Exception {
+    File archive = temporaryFolder.newFolder("subDirectory", "archive");
+    new File(archive, "archived.txt").createNewFile();
+    temporaryFolder.newFile("root.txt");
+
+    List<String> names = listNames(new WalkSettings(null, asList("**/archive/**")));
+    assertThat(names, containsInAnyOrder("nested.txt", "subDirectory", "root.txt"));
+
+    List<String> parallelNames = new ArrayList<>();
+    WalkSettings walkSettings = new WalkSettings(null, asList("**/archive"));
+    listCommand.list(null, ".", true, new NullFilePayloadPredicate<>(), null, null, 4, walkSettings)
+        .forEach(result -> parallelNames.add(result.getAttributes().get().getName()));
+    assertThat(parallelNames, is(names));
+  }
+
+  @Test
+  public void closedIteratorHasNoMoreElements() throws Exception {
+    LocalListIterator iterator = listCommand.iterate(null, ".", true, new NullFilePayloadPredicate<>(), null);
+    iterator.close();
+
+    assertThat(iterator.hasNext(), is(false));
+  }
+
+  private List<String> listNames(WalkSettings walkSettings) {
+    List<String> names = new ArrayList<>();
+    try (LocalListIterator iterator =
+        listCommand.iterate(null, ".", true, new NullFilePayloadPredicate<>(), null, walkSettings)) {
+      iterator.forEachRemaining(result -> names.add(result.getAttributes().get().getName()));
+    }
+
+    return names;
+  }
+
+  private List<String> listNames(boolean recursive) {
+    List<String> names = new ArrayList<>();
+    try (LocalListIterator iterator = listCommand.iterate(null, ".", recursive, new NullFilePayloadPredicate<>(), null)) {
+      iterator.forEachRemaining(result -> names.add(result.getAttributes().get().getName()));
+    }
+
+    return names;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.mule.extension.file.common.api.FileWriteMode.OVERWRITE;
+
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalWriteCommandTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private LocalWriteCommand writeCommand;
+  private File source;
+
+  @Before
+  public void setUp() throws Exception {
+    writeCommand = new LocalWriteCommand(new LocalFileSystem(temporaryFolder.getRoot().getAbsolutePath()));
+    source = temporaryFolder.newFile("source.txt");
+    Files.write(source.toPath(), "file content".getBytes(UTF_8));
+  }
+
+  @Test
+  public void fileStreamIsWrittenFromItsPosition() throws Exception {
+    try (FileInputStream content = new FileInputStream(source)) {
+      content.skip(5);
+      writeCommand.write("target.txt", content, OVERWRITE, false, false);
+    }
+
+    assertThat(read("target.txt"), is("content"));
+  }
+
+  @Test
+  public void subclassOfFileStreamIsRead() throws Exception {
+    try (FileInputStream content = new FileInputStream(source) {
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        for (int i = off; i < off + read; i++) {
+          b[i] = (byte) Character.toUpperCase(b[i]);
+        }
+        return read;
+      }
+    }) {
+      writeCommand.write("target.txt", content, OVERWRITE, false, false);
+    }
+
+    assertThat(read("target.txt"), is("FILE CONTENT"));
+  }
+
+  @Test
+  public void specialFileWithoutSizeIsRead() throws Exception {
+    File special = new File("/proc/self/status");
+    assumeTrue(special.exists() && special.length() == 0);
+
+    try (FileInputStream content = new FileInputStream(special)) {
+      writeCommand.write("target.txt", content, OVERWRITE, false, false);
+    }
+
+    assertThat(read("target.txt"), startsWith("Name:"));
+  }
+
+  private String read(String path) throws IOException {
+    Path target = temporaryFolder.getRoot().toPath().resolve(path);
+    return new String(Files.readAllBytes(target), UTF_8);
+  }
+}
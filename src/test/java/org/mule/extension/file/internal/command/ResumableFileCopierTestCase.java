@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.file.internal.command.ResumableFileCopier.checkpointPath;
+import static org.mule.extension.file.internal.command.ResumableFileCopier.partialPath;
+import static org.mule.extension.file.internal.command.ResumableFileCopier.writeCheckpoint;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResumableFileCopierTestCase extends AbstractMuleTestCase {
+
+  private static final int CHECKPOINT_INTERVAL = 16;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private byte[] content;
+  private Path source;
+  private Path target;
+  private ResumableFileCopier copier;
+
+  @Before
+  public void setUp() throws Exception {
+    content = new byte[CHECKPOINT_INTERVAL * 4 + 3];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    source = temporaryFolder.newFile("source.bin").toPath();
+    Files.write(source, content);
+    target = temporaryFolder.newFolder("target").toPath().resolve("target.bin");
+    copier = new ResumableFileCopier(CHECKPOINT_INTERVAL, false);
+  }
+
+  @Test
+  public void completeCopyLeavesNoPartialFiles() throws Exception {
+    copier.copy(source, target, false);
+
+    assertThat(Files.readAllBytes(target), is(content));
+    assertThat(Files.exists(partialPath(target)), is(false));
+    assertThat(Files.exists(checkpointPath(target)), is(false));
+  }
+
+  @Test
+  public void resumesFromTheCheckpointedOffset() throws Exception {
+    // the already copied bytes are not what the source has, so that the test can tell they were not copied again
+    byte[] copied = new byte[CHECKPOINT_INTERVAL * 2];
+    Arrays.fill(copied, (byte) -1);
+    interruptedCopy(copied, Files.size(source), Files.getLastModifiedTime(source).toMillis());
+
+    copier.copy(source, target, false);
+
+    byte[] expected = content.clone();
+    System.arraycopy(copied, 0, expected, 0, copied.length);
+    assertThat(Files.readAllBytes(target), is(expected));
+  }
+
+  @Test
+  public void startsOverIfTheSourceChanged() throws Exception {
+    byte[] copied = new byte[CHECKPOINT_INTERVAL * 2];
+    Arrays.fill(copied, (byte) -1);
+    interruptedCopy(copied, Files.size(source) + 1, Files.getLastModifiedTime(source).toMillis());
+
+    copier.copy(source, target, false);
+
+    assertThat(Files.readAllBytes(target), is(content));
+  }
+
+  private void interruptedCopy(byte[] copied, long sourceSize, long sourceLastModified) throws Exception {
+    // a few more bytes than the checkpointed ones were written before the interruption
+    byte[] partialContent = Arrays.copyOf(copied, copied.length + 5);
+    Files.write(partialPath(target), partialContent);
+    try (FileChannel checkpoint = FileChannel.open(checkpointPath(target), WRITE, CREATE)) {
+      writeCheckpoint(checkpoint, sourceSize, sourceLastModified, copied.length);
+    }
+  }
+}
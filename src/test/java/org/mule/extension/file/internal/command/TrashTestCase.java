@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.command;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TrashTestCase extends AbstractMuleTestCase {
+
+  private static final int PROBER_TIMEOUT = 10000;
+  private static final int PROBER_DELAY = 100;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File trashDirectory;
+  private Trash trash;
+
+  @Before
+  public void setUp() throws Exception {
+    trashDirectory = new File(temporaryFolder.getRoot(), "trash");
+  }
+
+  @After
+  public void tearDown() {
+    if (trash != null) {
+      trash.close();
+    }
+  }
+
+  @Test
+  public void deletedDirectoryIsMovedIntoTheTrashAndDeletedInTheBackground() throws Exception {
+    File directory = createTree("batch");
+    trash = new Trash(trashDirectory.toPath(), 2);
+
+    new LocalDeleteCommand(new LocalFileSystem(temporaryFolder.getRoot().getAbsolutePath(), trash), trash).delete("batch");
+
+    assertThat(directory.exists(), is(false));
+    assertTrashIsEmpty();
+  }
+
+  @Test
+  public void leftoversAreDeletedWhenTheTrashIsOpened() throws Exception {
+    trashDirectory.mkdirs();
+    createTree("trash/leftover");
+
+    trash = new Trash(trashDirectory.toPath(), 2);
+
+    assertTrashIsEmpty();
+  }
+
+  @Test
+  public void trashDirectoryAncestorsAreDeletedInPlace() throws Exception {
+    trash = new Trash(trashDirectory.toPath(), 2);
+
+    assertThat(trash.moveToTrash(temporaryFolder.getRoot().toPath()), is(false));
+    assertThat(trashDirectory.exists(), is(true));
+  }
+
+  private void assertTrashIsEmpty() {
+    new PollingProber(PROBER_TIMEOUT, PROBER_DELAY).check(new JUnitLambdaProbe(() -> {
+      assertThat(trashDirectory.list().length, is(0));
+      assertThat(trash.getPendingEntries(), is(0L));
+      assertThat(trash.getPendingBytes(), is(0L));
+      return true;
+    }));
+  }
+
+  private File createTree(String name) throws Exception {
+    File root = new File(temporaryFolder.getRoot(), name);
+    for (int i = 0; i < 10; i++) {
+      File directory = new File(root, "directory" + i % 3 + File.separator + "nested" + i % 2);
+      directory.mkdirs();
+      Files.write(new File(directory, "file" + i + ".txt").toPath(), ("content" + i).getBytes());
+    }
+
+    return root;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChannelLockerTestCase extends AbstractMuleTestCase {
+
+  private FileChannel channel;
+  private FileLock fileLock;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    channel = mock(FileChannel.class);
+    fileLock = mock(FileLock.class);
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void backoffRetriesUntilGranted() throws Exception {
+    when(channel.tryLock(anyLong(), anyLong(), anyBoolean())).thenReturn(null, null, fileLock);
+
+    assertThat(ChannelLocker.backoff(10000).lock(channel, false), is(sameInstance(fileLock)));
+    verify(channel, times(3)).tryLock(anyLong(), anyLong(), anyBoolean());
+  }
+
+  @Test
+  public void backoffGivesUpAfterMaxWait() throws Exception {
+    when(channel.tryLock(anyLong(), anyLong(), anyBoolean())).thenReturn(null);
+
+    long start = System.currentTimeMillis();
+    assertThat(ChannelLocker.backoff(200).lock(channel, false), is(nullValue()));
+    assertThat(System.currentTimeMillis() - start >= 200, is(true));
+  }
+
+  @Test
+  public void backoffWaitsNoLongerThanTheRemainingTime() throws Exception {
+    when(channel.tryLock(anyLong(), anyLong(), anyBoolean())).thenReturn(null);
+
+    long start = System.currentTimeMillis();
+    assertThat(ChannelLocker.backoff(10000).lock(channel, false, 200), is(nullValue()));
+    assertThat(System.currentTimeMillis() - start < 5000, is(true));
+  }
+
+  @Test
+  public void blockingOnlyTriesOnceWithoutRemainingTime() throws Exception {
+    when(channel.tryLock(anyLong(), anyLong(), anyBoolean())).thenReturn(fileLock);
+
+    assertThat(ChannelLocker.blocking(executor, 10000).lock(channel, false, 0), is(sameInstance(fileLock)));
+    verify(channel, times(0)).lock(anyLong(), anyLong(), anyBoolean());
+  }
+
+  @Test
+  public void blockingReturnsTheGrantedLock() throws Exception {
+    when(channel.lock(anyLong(), anyLong(), anyBoolean())).thenReturn(fileLock);
+
+    assertThat(ChannelLocker.blocking(executor, 10000).lock(channel, false), is(sameInstance(fileLock)));
+  }
+
+  @Test
+  public void blockingReleasesLocksGrantedAfterGivingUp() throws Exception {
+    CountDownLatch granted = new CountDownLatch(1);
+    CountDownLatch released = new CountDownLatch(1);
+    when(channel.lock(anyLong(), anyLong(), anyBoolean())).thenAnswer(invocation -> {
+      granted.await();
+      return fileLock;
+    });
+    doAnswer(invocation -> {
+      released.countDown();
+      return null;
+    }).when(fileLock).release();
+
+    assertThat(ChannelLocker.blocking(executor, 100).lock(channel, false), is(nullValue()));
+
+    granted.countDown();
+    assertThat(released.await(10, SECONDS), is(true));
+  }
+}
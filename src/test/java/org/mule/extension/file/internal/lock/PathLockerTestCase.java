@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.lock;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.extension.file.common.api.lock.PathLock;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PathLockerTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File file;
+
+  @Before
+  public void setUp() throws Exception {
+    file = temporaryFolder.newFile("locked.txt");
+  }
+
+  @Test
+  public void secondLockFailsWithoutWaiting() throws Exception {
+    PathLocker locker = new PathLocker();
+    try (FileChannel first = FileChannel.open(file.toPath(), READ, WRITE);
+        FileChannel second = FileChannel.open(file.toPath(), READ, WRITE)) {
+      PathLock firstLock = locker.createLock(file.toPath(), first);
+      assertThat(firstLock.tryLock(), is(true));
+
+      // a relative path to the same file must be excluded too
+      assertThat(locker.createLock(temporaryFolder.getRoot().toPath().resolve("./locked.txt"), second).tryLock(), is(false));
+
+      firstLock.release();
+      PathLock secondLock = locker.createLock(file.toPath(), second);
+      assertThat(secondLock.tryLock(), is(true));
+      secondLock.release();
+    }
+  }
+
+  @Test
+  public void waitingLockIsAcquiredOnceReleased() throws Exception {
+    PathLocker locker = new PathLocker(SECONDS.toMillis(10), true);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (FileChannel first = FileChannel.open(file.toPath(), READ, WRITE);
+        FileChannel second = FileChannel.open(file.toPath(), READ, WRITE)) {
+      PathLock firstLock = locker.createLock(file.toPath(), first);
+      assertThat(firstLock.tryLock(), is(true));
+
+      PathLock secondLock = locker.createLock(file.toPath(), second);
+      Future<Boolean> secondLocked = executor.submit(secondLock::tryLock);
+      Thread.sleep(200);
+      assertThat(secondLocked.isDone(), is(false));
+
+      firstLock.release();
+      assertThat(secondLocked.get(10, SECONDS), is(true));
+      secondLock.release();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void releasedPathsAreRemovedFromTheRegistry() throws Exception {
+    PathLockRegistry registry = new PathLockRegistry(false);
+    assertThat(registry.tryAcquire(file.toPath(), 0, SECONDS), is(true));
+    assertThat(registry.tryAcquire(file.toPath(), 0, SECONDS), is(false));
+    assertThat(registry.size(), is(1));
+
+    registry.release(file.toPath());
+    assertThat(registry.size(), is(0));
+  }
+
+  @Test
+  public void sharedLocksAreHeldTogether() throws Exception {
+    PathLocker locker = new PathLocker();
+    PathLock firstLock = locker.createSharedLock(file.toPath());
+    PathLock secondLock = locker.createSharedLock(file.toPath());
+    assertThat(firstLock.tryLock(), is(true));
+    assertThat(secondLock.tryLock(), is(true));
+
+    // the operating system lock outlives the reader which acquired it
+    firstLock.release();
+    assertThat(secondLock.isLocked(), is(true));
+    secondLock.release();
+  }
+
+  @Test
+  public void sharedAndExclusiveLocksExcludeEachOther() throws Exception {
+    PathLocker locker = new PathLocker();
+    try (FileChannel channel = FileChannel.open(file.toPath(), READ, WRITE)) {
+      PathLock sharedLock = locker.createSharedLock(file.toPath());
+      assertThat(sharedLock.tryLock(), is(true));
+      assertThat(locker.createLock(file.toPath(), channel).tryLock(), is(false));
+      sharedLock.release();
+
+      PathLock exclusiveLock = locker.createLock(file.toPath(), channel);
+      assertThat(exclusiveLock.tryLock(), is(true));
+      assertThat(locker.createSharedLock(file.toPath()).tryLock(), is(false));
+      exclusiveLock.release();
+    }
+  }
+}
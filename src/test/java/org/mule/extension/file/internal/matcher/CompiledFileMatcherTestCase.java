@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.matcher;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.file.common.api.matcher.MatchPolicy.REQUIRE;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.extension.file.api.LocalFileMatcher;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.function.Predicate;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CompiledFileMatcherTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void nameConditionsDontNeedAttributes() throws Exception {
+    CompiledFileMatcher matcher = CompiledFileMatcher.compile(new LocalFileMatcher().setFilenamePattern("*.txt"));
+    Path root = temporaryFolder.getRoot().toPath();
+
+    assertThat(matcher.needsAttributes(), is(false));
+    assertThat(matcher.acceptsPath(root.resolve("file.txt")), is(true));
+    assertThat(matcher.acceptsPath(root.resolve("file.csv")), is(false));
+  }
+
+  @Test
+  public void attributeConditionsAreEvaluatedAfterNameConditions() throws Exception {
+    File directory = temporaryFolder.newFolder("directory.txt");
+    File file = temporaryFolder.newFile("file.txt");
+    CompiledFileMatcher matcher =
+        CompiledFileMatcher.compile(new LocalFileMatcher().setFilenamePattern("regex:.*\\.txt").setRegularFiles(REQUIRE));
+
+    assertThat(matcher.needsAttributes(), is(true));
+    assertThat(matcher.acceptsPath(directory.toPath()), is(true));
+    assertThat(matcher.test(new LocalFileAttributes(directory.toPath())), is(false));
+    assertThat(matcher.test(new LocalFileAttributes(file.toPath())), is(true));
+  }
+
+  @Test
+  public void regexPatternsMatchPartOfTheNameAsTheFileMatcher() throws Exception {
+    LocalFileMatcher builder = new LocalFileMatcher().setFilenamePattern("regex:\\.txt");
+    CompiledFileMatcher matcher = CompiledFileMatcher.compile(builder);
+    Predicate<LocalFileAttributes> predicate = builder.build();
+
+    for (String name : new String[] {"file.txt", "file.txt.bak", "file.csv"}) {
+      LocalFileAttributes attributes = new LocalFileAttributes(temporaryFolder.newFile(name).toPath());
+      assertThat(name, matcher.test(attributes), is(predicate.test(attributes)));
+    }
+    assertThat(matcher.acceptsPath(temporaryFolder.getRoot().toPath().resolve("file.txt.bak")), is(true));
+  }
+
+  @Test
+  public void relativeTimeConditionsUseTheClockOfThePoll() throws Exception {
+    LocalFileMatcher builder = new LocalFileMatcher();
+    builder.setNotUpdatedInTheLast(200L);
+    builder.setTimeUnit(MILLISECONDS);
+    CompiledFileMatcher matcher = CompiledFileMatcher.compile(builder);
+    LocalFileAttributes attributes = new LocalFileAttributes(temporaryFolder.newFile("file.txt").toPath());
+
+    assertThat(matcher.test(attributes), is(false));
+    Thread.sleep(400);
+    assertThat(matcher.test(attributes), is(false));
+
+    matcher.resetClock();
+    assertThat(matcher.test(attributes), is(true));
+  }
+
+  @Test
+  public void missingMatcherAcceptsEverything() throws Exception {
+    CompiledFileMatcher matcher = CompiledFileMatcher.compile(null);
+
+    assertThat(matcher.needsAttributes(), is(false));
+    assertThat(matcher.test(new LocalFileAttributes(temporaryFolder.newFile("file.csv").toPath())), is(true));
+  }
+
+  @Test
+  public void rejectionsAreCountedOncePerFile() throws Exception {
+    File directory = temporaryFolder.newFolder("directory.txt");
+    File file = temporaryFolder.newFile("file.txt");
+    CompiledFileMatcher matcher =
+        CompiledFileMatcher.compile(new LocalFileMatcher().setFilenamePattern("*.txt").setRegularFiles(REQUIRE));
+
+    matcher.test(new LocalFileAttributes(directory.toPath()));
+    matcher.test(new LocalFileAttributes(file.toPath()));
+    matcher.test(new LocalFileAttributes(temporaryFolder.newFile("file.csv").toPath()));
+
+    assertThat(matcher.drainRejections(), is(2L));
+    assertThat(matcher.drainRejections(), is(0L));
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.file.internal.metrics.FileOperationType.READ;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class JmxFileMetricsTestCase extends AbstractMuleTestCase {
+
+  private final MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+
+  @After
+  public void tearDown() {
+    MBeanServerFactory.releaseMBeanServer(mBeanServer);
+  }
+
+  @Test
+  public void measurementsAreExposedThroughJmx() throws Exception {
+    JmxFileMetrics metrics = new JmxFileMetrics("config", mBeanServer);
+    metrics.recordOperation(READ, MILLISECONDS.toNanos(2), false);
+    metrics.recordOperation(READ, MILLISECONDS.toNanos(4), true);
+    metrics.recordBytesRead(1024);
+
+    ObjectName read = new ObjectName("org.mule.extension.file:type=Operation,config=\"config\",name=read");
+    assertThat(mBeanServer.getAttribute(read, "Count"), is(2L));
+    assertThat(mBeanServer.getAttribute(read, "Errors"), is(1L));
+    assertThat(mBeanServer.getAttribute(read, "MaxLatencyMillis"), is(4d));
+    ObjectName transfers = new ObjectName("org.mule.extension.file:type=Transfers,config=\"config\"");
+    assertThat(mBeanServer.getAttribute(transfers, "BytesRead"), is(1024L));
+
+    metrics.close();
+    assertThat(mBeanServer.isRegistered(read), is(false));
+    assertThat(mBeanServer.isRegistered(transfers), is(false));
+  }
+
+  @Test
+  public void configsWithTheSameNameStillMeasure() {
+    JmxFileMetrics first = new JmxFileMetrics("config", mBeanServer);
+    JmxFileMetrics second = new JmxFileMetrics("config", mBeanServer);
+    second.recordOperation(READ, 1, false);
+
+    assertThat(second.getOperationStats(READ).getCount(), is(1L));
+    first.close();
+    second.close();
+  }
+
+  @Test
+  public void trashBacklogIsExposedThroughJmx() throws Exception {
+    JmxFileMetrics metrics = new JmxFileMetrics("config", mBeanServer);
+    metrics.bindTrash(new TrashStatsMBean() {
+
+      @Override
+      public long getPendingEntries() {
+        return 3;
+      }
+
+      @Override
+      public long getPendingBytes() {
+        return 4096;
+      }
+    });
+
+    ObjectName trash = new ObjectName("org.mule.extension.file:type=Trash,config=\"config\"");
+    assertThat(mBeanServer.getAttribute(trash, "PendingEntries"), is(3L));
+    assertThat(mBeanServer.getAttribute(trash, "PendingBytes"), is(4096L));
+
+    metrics.close();
+    assertThat(mBeanServer.isRegistered(trash), is(false));
+  }
+}
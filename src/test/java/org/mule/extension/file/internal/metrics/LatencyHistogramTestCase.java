@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+public class LatencyHistogramTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void bucketsCoverEveryValue() {
+    for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 1_000, 123_456_789, Long.MAX_VALUE}) {
+      int bucket = LatencyHistogram.bucketOf(value);
+      assertThat(LatencyHistogram.highestValueOf(bucket), greaterThanOrEqualTo(value));
+      if (bucket > 0) {
+        assertThat(LatencyHistogram.highestValueOf(bucket - 1), lessThanOrEqualTo(value - 1));
+      }
+    }
+  }
+
+  @Test
+  public void percentilesAreWithinTheBucketPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 1_000; value++) {
+      histogram.record(value * 1_000);
+    }
+
+    assertThat(histogram.getCount(), is(1_000L));
+    assertThat(histogram.getMax(), is(1_000_000L));
+    assertThat(histogram.getMean(), is(500_500d));
+    assertThat(histogram.getValueAtPercentile(50), greaterThanOrEqualTo(500_000L));
+    assertThat(histogram.getValueAtPercentile(50), lessThanOrEqualTo(562_500L));
+    assertThat(histogram.getValueAtPercentile(100), is(1_000_000L));
+  }
+
+  @Test
+  public void emptyHistogramReportsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertThat(histogram.getValueAtPercentile(99), is(0L));
+    assertThat(histogram.getMean(), is(0d));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DirectoryWatcherTestCase extends AbstractMuleTestCase {
+
+  private static final int PROBE_TIMEOUT = 10000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private DirectoryWatcher watcher;
+
+  @After
+  public void tearDown() throws Exception {
+    if (watcher != null) {
+      watcher.close();
+    }
+  }
+
+  @Test
+  public void createdFileIsReported() throws Exception {
+    watcher = new DirectoryWatcher(temporaryFolder.getRoot().toPath(), false);
+    Path file = temporaryFolder.newFile("created.txt").toPath();
+
+    assertChanged(file);
+  }
+
+  @Test
+  public void contentsOfNewSubDirectoryAreReportedWhenRecursive() throws Exception {
+    watcher = new DirectoryWatcher(temporaryFolder.getRoot().toPath(), true);
+    File subDirectory = temporaryFolder.newFolder("subDirectory");
+    File nested = new File(subDirectory, "nested.txt");
+    nested.createNewFile();
+
+    assertChanged(nested.toPath(), subDirectory.toPath());
+
+    File deeper = new File(subDirectory, "deeper.txt");
+    deeper.createNewFile();
+    assertChanged(deeper.toPath());
+  }
+
+  @Test
+  public void recreatedRootIsWatchedAgainAfterResync() throws Exception {
+    Path root = temporaryFolder.newFolder("root").toPath();
+    watcher = new DirectoryWatcher(root, false);
+
+    Files.delete(root);
+    new PollingProber(PROBE_TIMEOUT, 100).check(new JUnitLambdaProbe(() -> {
+      assertThat(watcher.drainChanges(new LinkedHashSet<>()), is(false));
+      return true;
+    }));
+
+    Files.createDirectory(root);
+    watcher.resync();
+    Path file = Files.createFile(root.resolve("created.txt"));
+
+    assertChanged(file);
+  }
+
+  private void assertChanged(Path... paths) {
+    Set<Path> changes = new LinkedHashSet<>();
+    new PollingProber(PROBE_TIMEOUT, 100).check(new JUnitLambdaProbe(() -> {
+      watcher.drainChanges(changes);
+      for (Path path : paths) {
+        assertThat(changes, hasItem(path));
+      }
+      return true;
+    }));
+    assertThat(changes, hasItems(paths));
+  }
+}
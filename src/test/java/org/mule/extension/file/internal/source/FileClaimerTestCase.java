@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileClaimerTestCase extends AbstractMuleTestCase {
+
+  private static final int FILES = 200;
+  private static final int NODES = 4;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File listenedDirectory;
+  private File claimDirectory;
+
+  @Before
+  public void setUp() throws Exception {
+    listenedDirectory = temporaryFolder.newFolder("listened");
+    claimDirectory = temporaryFolder.newFolder("claimed");
+  }
+
+  @Test
+  public void eachFileIsClaimedByASingleNode() throws Exception {
+    List<Path> files = new ArrayList<>();
+    for (int i = 0; i < FILES; i++) {
+      File file = new File(listenedDirectory, "file" + i + ".txt");
+      file.createNewFile();
+      files.add(file.toPath());
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(NODES);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Integer>> claims = new ArrayList<>();
+      for (int node = 0; node < NODES; node++) {
+        FileClaimer claimer = new FileClaimer(listenedDirectory.toPath(), claimDirectory.toPath(), "node" + node);
+        claims.add(executor.submit((Callable<Integer>) () -> {
+          start.await();
+          int claimed = 0;
+          for (Path file : files) {
+            if (claimer.claim(file) != null) {
+              claimed++;
+            }
+          }
+          return claimed;
+        }));
+      }
+      start.countDown();
+
+      int totalClaimed = 0;
+      for (Future<Integer> claim : claims) {
+        totalClaimed += claim.get(10, SECONDS);
+      }
+
+      assertThat(totalClaimed, is(FILES));
+      assertThat(listenedDirectory.list().length, is(0));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void claimedFilesAreRecoveredByTheSameNode() throws Exception {
+    File subDirectory = new File(listenedDirectory, "subDirectory");
+    subDirectory.mkdirs();
+    File file = new File(subDirectory, "file.txt");
+    file.createNewFile();
+
+    FileClaimer claimer = new FileClaimer(listenedDirectory.toPath(), claimDirectory.toPath(), "node");
+    Path claimed = claimer.claim(file.toPath());
+    assertThat(claimed, is(notNullValue()));
+    assertThat(claimer.isClaimed(claimed), is(true));
+    assertThat(claimer.claim(file.toPath()), is(nullValue()));
+
+    assertThat(new FileClaimer(listenedDirectory.toPath(), claimDirectory.toPath(), "node").getClaimedFiles(),
+               contains(claimed));
+    assertThat(new FileClaimer(listenedDirectory.toPath(), claimDirectory.toPath(), "otherNode").getClaimedFiles().isEmpty(),
+               is(true));
+  }
+
+  @Test
+  public void fileWithTheSamePathIsNotClaimedWhileTheFirstOneIsProcessed() throws Exception {
+    File file = new File(listenedDirectory, "file.txt");
+    Files.write(file.toPath(), "first".getBytes());
+    FileClaimer claimer = new FileClaimer(listenedDirectory.toPath(), claimDirectory.toPath(), "node");
+    Path claimed = claimer.claim(file.toPath());
+
+    Files.write(file.toPath(), "second".getBytes());
+    assertThat(claimer.claim(file.toPath()), is(nullValue()));
+    assertThat(new String(Files.readAllBytes(claimed)), is("first"));
+    assertThat(new String(Files.readAllBytes(file.toPath())), is("second"));
+
+    claimer.complete(claimed);
+    assertThat(claimer.claim(file.toPath()), is(claimed));
+    assertThat(new String(Files.readAllBytes(claimed)), is("second"));
+  }
+
+  @Test
+  public void processedFilesAreDeletedAndNotRecovered() throws Exception {
+    File subDirectory = new File(listenedDirectory, "subDirectory");
+    subDirectory.mkdirs();
+    File file = new File(subDirectory, "file.txt");
+    file.createNewFile();
+    FileClaimer claimer = new FileClaimer(listenedDirectory.toPath(), claimDirectory.toPath(), "node");
+
+    claimer.complete(claimer.claim(file.toPath()));
+    assertThat(claimer.getClaimedFiles().isEmpty(), is(true));
+    assertThat(new File(claimDirectory, "node/" + FileClaimer.CLAIMED).list().length, is(0));
+  }
+
+  @Test
+  public void releasedFilesAreMovedBackToTheListenedDirectory() throws Exception {
+    File subDirectory = new File(listenedDirectory, "subDirectory");
+    subDirectory.mkdirs();
+    File file = new File(subDirectory, "file.txt");
+    file.createNewFile();
+    FileClaimer claimer = new FileClaimer(listenedDirectory.toPath(), claimDirectory.toPath(), "node");
+
+    claimer.release(claimer.claim(file.toPath()));
+    assertThat(file.exists(), is(true));
+    assertThat(claimer.getClaimedFiles().isEmpty(), is(true));
+  }
+}
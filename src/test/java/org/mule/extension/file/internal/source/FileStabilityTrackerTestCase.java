@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.attribute.FileTime.fromMillis;
+import static java.util.Collections.emptySet;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileStabilityTrackerTestCase extends AbstractMuleTestCase {
+
+  private static final long WINDOW = 1000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final FileStabilityTracker tracker = new FileStabilityTracker();
+
+  @Test
+  public void fileIsStableOnceUnchangedForTheWindow() throws Exception {
+    LocalFileAttributes attributes = new LocalFileAttributes(temporaryFolder.newFile("file.txt").toPath());
+
+    assertThat(tracker.isStable(attributes, WINDOW, 0), is(false));
+    assertThat(tracker.isStable(attributes, WINDOW, WINDOW - 1), is(false));
+    assertThat(tracker.isStable(attributes, WINDOW, WINDOW), is(true));
+    assertThat(tracker.getPendingPaths(), is(empty()));
+  }
+
+  @Test
+  public void changedFileRestartsTheWindow() throws Exception {
+    File file = temporaryFolder.newFile("file.txt");
+    assertThat(tracker.isStable(new LocalFileAttributes(file.toPath()), WINDOW, 0), is(false));
+
+    Files.write(file.toPath(), "more content".getBytes());
+    LocalFileAttributes attributes = new LocalFileAttributes(file.toPath());
+    assertThat(tracker.isStable(attributes, WINDOW, WINDOW), is(false));
+    assertThat(tracker.getPendingPaths(), contains(attributes.getPath()));
+    assertThat(tracker.isStable(attributes, WINDOW, 2 * WINDOW), is(true));
+  }
+
+  @Test
+  public void forgottenFileStartsOver() throws Exception {
+    LocalFileAttributes attributes = new LocalFileAttributes(temporaryFolder.newFile("file.txt").toPath());
+    tracker.isStable(attributes, WINDOW, 0);
+    tracker.retainAll(emptySet());
+
+    assertThat(tracker.getPendingPaths(), is(empty()));
+    assertThat(tracker.isStable(attributes, WINDOW, WINDOW), is(false));
+  }
+
+  @Test
+  public void oldModificationTimeIsNotTrustedWhenFirstSeen() throws Exception {
+    File file = temporaryFolder.newFile("file.txt");
+    Files.setLastModifiedTime(file.toPath(), fromMillis(currentTimeMillis() - 2 * WINDOW));
+    LocalFileAttributes attributes = new LocalFileAttributes(file.toPath());
+
+    assertThat(tracker.isStable(attributes, WINDOW, 0), is(false));
+    assertThat(tracker.getPendingPaths(), contains(attributes.getPath()));
+    assertThat(tracker.isStable(attributes, WINDOW, WINDOW), is(true));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.attribute.FileTime.fromMillis;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ALREADY_IN_PROCESSING;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.SOURCE_STOPPING;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PollStatisticsTestCase extends AbstractMuleTestCase {
+
+  private static final long AN_HOUR = 60 * 60 * 1000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final PollStatistics statistics = new PollStatistics();
+
+  @Test
+  public void pollIsPublishedWhenItEnds() throws Exception {
+    LocalFileAttributes attributes = file("file.txt", currentTimeMillis());
+
+    statistics.beginPoll();
+    statistics.scanned(3);
+    statistics.dispatched(ACCEPTED, attributes);
+    statistics.dispatched(ALREADY_IN_PROCESSING, attributes);
+    assertThat(statistics.getPolls(), is(0L));
+    assertThat(statistics.getLastPollDispatched(), is(0L));
+
+    statistics.endPoll(2);
+    assertThat(statistics.getPolls(), is(1L));
+    assertThat(statistics.getLastPollEntriesScanned(), is(5L));
+    assertThat(statistics.getLastPollMatcherRejections(), is(2L));
+    assertThat(statistics.getLastPollDispatched(), is(1L));
+    assertThat(statistics.getLastPollRejected(), is(1L));
+    assertThat(statistics.getBacklogAgeMillis(), is(0L));
+    assertThat(statistics.summary(), containsString("entriesScanned=5 matcherRejections=2"));
+  }
+
+  @Test
+  public void backlogAgeIsTheOneOfTheOldestWaitingFile() throws Exception {
+    statistics.beginPoll();
+    statistics.deferred(file("recent.txt", currentTimeMillis()));
+    statistics.deferred(file("old.txt", currentTimeMillis() - AN_HOUR));
+    statistics.limited(file("limited.txt", currentTimeMillis()));
+    statistics.dispatched(SOURCE_STOPPING, file("stopping.txt", currentTimeMillis()));
+    statistics.endPoll(0);
+
+    assertThat(statistics.getLastPollDeferredBySizeCheck(), is(2L));
+    assertThat(statistics.getLastPollDeferredByLimit(), is(1L));
+    assertThat(statistics.getLastPollRejected(), is(1L));
+    assertThat(statistics.getBacklogAgeMillis(), is(greaterThanOrEqualTo(AN_HOUR - 1000)));
+    assertThat(statistics.getBacklogAgeMillis(), is(lessThan(AN_HOUR + 60_000)));
+  }
+
+  @Test
+  public void countersOfEachPollStartFromScratch() throws Exception {
+    LocalFileAttributes attributes = file("file.txt", currentTimeMillis());
+
+    statistics.beginPoll();
+    statistics.dispatched(ACCEPTED, attributes);
+    statistics.deferred(attributes);
+    statistics.endPoll(0);
+
+    statistics.beginPoll();
+    statistics.dispatched(ACCEPTED, attributes);
+    statistics.endPoll(0);
+
+    assertThat(statistics.getLastPollDispatched(), is(1L));
+    assertThat(statistics.getLastPollDeferredBySizeCheck(), is(0L));
+    assertThat(statistics.getTotalDispatched(), is(2L));
+    assertThat(statistics.getBacklogAgeMillis(), is(0L));
+  }
+
+  private LocalFileAttributes file(String name, long lastModifiedMillis) throws Exception {
+    Path path = temporaryFolder.newFile(name).toPath();
+    Files.setLastModifiedTime(path, fromMillis(lastModifiedMillis));
+    return new LocalFileAttributes(path);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.source;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.extension.file.api.LocalFileAttributes;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.TimeZone;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProcessedFileIndexTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path indexFile;
+  private BasicFileAttributes basicAttributes;
+
+  @Before
+  public void setUp() throws Exception {
+    indexFile = new File(temporaryFolder.getRoot(), "processed.idx").toPath();
+    basicAttributes = Files.readAttributes(temporaryFolder.newFile("file.txt").toPath(), BasicFileAttributes.class);
+  }
+
+  @Test
+  public void processedFilesSurviveRestarts() throws Exception {
+    try (ProcessedFileIndex index = ProcessedFileIndex.open(indexFile)) {
+      index.add(attributes(0));
+      assertThat(index.contains(attributes(0)), is(true));
+      assertThat(index.contains(attributes(1)), is(false));
+    }
+
+    try (ProcessedFileIndex index = ProcessedFileIndex.open(indexFile)) {
+      assertThat(index.size(), is(1));
+      assertThat(index.contains(attributes(0)), is(true));
+      assertThat(index.contains(attributes(1)), is(false));
+    }
+  }
+
+  @Test
+  public void growsBeyondItsInitialCapacity() throws Exception {
+    int files = 100000;
+    try (ProcessedFileIndex index = ProcessedFileIndex.open(indexFile)) {
+      for (int i = 0; i < files; i++) {
+        index.add(attributes(i));
+      }
+    }
+
+    try (ProcessedFileIndex index = ProcessedFileIndex.open(indexFile)) {
+      assertThat(index.size(), is(files));
+      for (int i = 0; i < files; i++) {
+        assertThat(index.contains(attributes(i)), is(true));
+      }
+    }
+  }
+
+  @Test
+  public void compactionKeepsOnlyLiveFiles() throws Exception {
+    int files = 2000;
+    int live = 10;
+    try (ProcessedFileIndex index = ProcessedFileIndex.open(indexFile)) {
+      ProcessedFileIndex.Fingerprints fingerprints = new ProcessedFileIndex.Fingerprints();
+      for (int i = 0; i < files; i++) {
+        index.add(attributes(i));
+        if (i < live) {
+          fingerprints.add(ProcessedFileIndex.fingerprint(attributes(i)));
+        }
+      }
+      // not processed, so it must not make it into the index
+      fingerprints.add(ProcessedFileIndex.fingerprint(attributes(files)));
+
+      index.compact(fingerprints);
+
+      assertThat(index.size(), is(live));
+      assertThat(index.contains(attributes(0)), is(true));
+      assertThat(index.contains(attributes(live)), is(false));
+      assertThat(index.contains(attributes(files)), is(false));
+    }
+
+    try (ProcessedFileIndex index = ProcessedFileIndex.open(indexFile)) {
+      assertThat(index.size(), is(live));
+      assertThat(index.contains(attributes(live - 1)), is(true));
+    }
+  }
+
+  @Test
+  public void fingerprintsDontDependOnTheTimeZone() throws Exception {
+    TimeZone timeZone = TimeZone.getDefault();
+    try {
+      TimeZone.setDefault(TimeZone.getTimeZone("America/Argentina/Buenos_Aires"));
+      long fingerprint = ProcessedFileIndex.fingerprint(attributes(0));
+      TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+      assertThat(ProcessedFileIndex.fingerprint(attributes(0)), is(fingerprint));
+    } finally {
+      TimeZone.setDefault(timeZone);
+    }
+  }
+
+  @Test
+  public void indexOfAPreviousVersionIsRebuilt() throws Exception {
+    try (FileChannel channel = FileChannel.open(indexFile, CREATE, WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(24).putInt(0x4d464958).putInt(1).putLong(1).putLong(42);
+      header.flip();
+      channel.write(header);
+    }
+
+    try (ProcessedFileIndex index = ProcessedFileIndex.open(indexFile)) {
+      assertThat(index.size(), is(0));
+      index.add(attributes(0));
+    }
+
+    try (ProcessedFileIndex index = ProcessedFileIndex.open(indexFile)) {
+      assertThat(index.contains(attributes(0)), is(true));
+    }
+  }
+
+  private LocalFileAttributes attributes(int i) {
+    return new LocalFileAttributes(Paths.get(temporaryFolder.getRoot().getAbsolutePath(), "file" + i + ".txt"), basicAttributes,
+                                   false);
+  }
+}
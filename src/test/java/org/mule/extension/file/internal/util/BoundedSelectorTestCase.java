@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal.util;
+
+import static java.util.Comparator.comparingInt;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class BoundedSelectorTestCase extends AbstractMuleTestCase {
+
+  private static final int ELEMENTS = 1000;
+  private static final int CAPACITY = 25;
+
+  // compares only the value, so that elements with the same value are told apart by their index
+  private static final Comparator<int[]> BY_VALUE = comparingInt(element -> element[0]);
+
+  @Test
+  public void ascendingSelectionMatchesStableSort() {
+    assertSelectionMatchesSort(false);
+  }
+
+  @Test
+  public void descendingSelectionMatchesStableSortReversed() {
+    assertSelectionMatchesSort(true);
+  }
+
+  @Test
+  public void offerReturnsLeftOutElement() {
+    BoundedSelector<Integer> selector = new BoundedSelector<>(1, Comparator.naturalOrder(), false);
+
+    assertThat(selector.offer(2), is(nullValue()));
+    assertThat(selector.offer(3), is(3));
+    assertThat(selector.offer(1), is(2));
+    assertThat(selector.toSortedList(), equalTo(Collections.singletonList(1)));
+  }
+
+  private void assertSelectionMatchesSort(boolean reversed) {
+    Random random = new Random(42);
+    List<int[]> elements = new ArrayList<>();
+    BoundedSelector<int[]> selector = new BoundedSelector<>(CAPACITY, BY_VALUE, reversed);
+    for (int i = 0; i < ELEMENTS; i++) {
+      int[] element = new int[] {random.nextInt(50), i};
+      elements.add(element);
+      selector.offer(element);
+    }
+
+    elements.sort(BY_VALUE);
+    if (reversed) {
+      Collections.reverse(elements);
+    }
+
+    assertThat(selector.toSortedList(), equalTo(elements.subList(0, CAPACITY)));
+  }
+}
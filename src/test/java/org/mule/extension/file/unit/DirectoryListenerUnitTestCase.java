@@ -6,7 +6,10 @@
  */
 package org.mule.extension.file.unit;
 
+import static java.util.Collections.reverse;
 import static java.util.Optional.empty;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyLong;
@@ -14,6 +17,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.extension.file.api.DispatchOrder.ALPHABETICALLY;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
 import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.SOURCE_STOPPING;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
@@ -30,17 +35,23 @@ import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
 
 import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.stubbing.Answer;
 
 public class DirectoryListenerUnitTestCase {
@@ -48,6 +59,9 @@ public class DirectoryListenerUnitTestCase {
   private static final int AMOUNT_OF_MOCK_RESULTS = 10;
   private static final String FILE_PATH = "/file/path";
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private FileConnector config = mock(FileConnector.class);
   private ConnectionProvider<LocalFileSystem> fileSystemProvider = mock(ConnectionProvider.class);
   private LocalFileSystem localFileSystem = mock(LocalFileSystem.class);
@@ -61,7 +75,7 @@ public class DirectoryListenerUnitTestCase {
     when(config.getTimeBetweenSizeCheckInMillis(anyLong(), any())).thenReturn(empty());
     when(fileSystemProvider.connect()).thenReturn(localFileSystem);
     setupListResult();
-    when(localFileSystem.list(any(), any(), anyBoolean(), any(), any(), any())).thenReturn(listResult);
+    when(localFileSystem.list(any(), any(), anyBoolean(), any(), any(), any(), (ForkJoinPool) any(), any())).thenReturn(listResult);
     when(localFileSystem.getBasePath()).thenReturn(".");
     when(pollContext.accept(any())).then((Answer<PollContext.PollItemStatus>) invocationOnMock -> {
       Consumer<PollContext.PollItem> pollItemConsumer = (Consumer<PollContext.PollItem>) invocationOnMock.getArguments()[0];
@@ -117,6 +131,71 @@ public class DirectoryListenerUnitTestCase {
     assertAllStreamsAreClosed();
   }
 
+  @Test
+  public void maxItemsPerPollDispatchesTheFirstFilesInOrder() throws Exception {
+    FieldUtils.writeField(directoryListener, "maxItemsPerPoll", 3, true);
+    FieldUtils.writeField(directoryListener, "dispatchOrder", ALPHABETICALLY, true);
+    reverse(listResult);
+
+    List<String> dispatched = new ArrayList<>();
+    when(pollContext.accept(any())).then((Answer<PollContext.PollItemStatus>) invocationOnMock -> {
+      Consumer<PollContext.PollItem> pollItemConsumer = (Consumer<PollContext.PollItem>) invocationOnMock.getArguments()[0];
+      RejectPollItem pollItem = new RejectPollItem();
+      pollItemConsumer.accept(pollItem);
+      Result<InputStream, LocalFileAttributes> result = pollItem.getResult();
+      dispatched.add(result.getAttributes().get().getName());
+      result.getOutput().close();
+      return ACCEPTED;
+    });
+
+    directoryListener.poll(pollContext);
+    assertThat(dispatched, contains("test_file_0.txt", "test_file_1.txt", "test_file_2.txt"));
+    assertAllStreamsAreClosed();
+  }
+
+  @Test
+  public void watchedDirectoryDispatchesFilesLeftOutByTheLimitOnTheNextPolls() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    List<Result<InputStream, LocalFileAttributes>> files = new ArrayList<>();
+    for (String name : new String[] {"e.txt", "d.txt", "c.txt", "b.txt", "a.txt"}) {
+      Path file = Files.createFile(directory.resolve(name));
+      files.add(Result.<InputStream, LocalFileAttributes>builder().output(createMockedInputStream())
+          .attributes(new LocalFileAttributes(file)).build());
+    }
+    when(localFileSystem.getBasePath()).thenReturn(directory.toString());
+    when(localFileSystem.list(any(), any(), anyBoolean(), any(), any(), any(), (ForkJoinPool) any(), any())).thenReturn(files);
+
+    DirectoryListener watchingListener = new DirectoryListener(config, fileSystemProvider);
+    FieldUtils.writeField(watchingListener, "watchDirectory", true, true);
+    FieldUtils.writeField(watchingListener, "maxItemsPerPoll", 2, true);
+    FieldUtils.writeField(watchingListener, "dispatchOrder", ALPHABETICALLY, true);
+
+    List<String> dispatched = new ArrayList<>();
+    when(pollContext.accept(any())).then((Answer<PollContext.PollItemStatus>) invocationOnMock -> {
+      Consumer<PollContext.PollItem> pollItemConsumer = (Consumer<PollContext.PollItem>) invocationOnMock.getArguments()[0];
+      RejectPollItem pollItem = new RejectPollItem();
+      pollItemConsumer.accept(pollItem);
+      Result<InputStream, LocalFileAttributes> result = pollItem.getResult();
+      dispatched.add(result.getAttributes().get().getName());
+      result.getOutput().close();
+      return ACCEPTED;
+    });
+
+    watchingListener.onStart(mock(SourceCallback.class));
+    try {
+      // the first poll is a full scan, the next ones only read the files which the watcher reports plus the ones left out
+      watchingListener.poll(pollContext);
+      assertThat(dispatched, contains("a.txt", "b.txt"));
+      watchingListener.poll(pollContext);
+      assertThat(dispatched, contains("a.txt", "b.txt", "c.txt", "d.txt"));
+      watchingListener.poll(pollContext);
+      assertThat(dispatched, contains("a.txt", "b.txt", "c.txt", "d.txt", "e.txt"));
+      verify(localFileSystem, times(1)).list(any(), any(), anyBoolean(), any(), any(), any(), (ForkJoinPool) any(), any());
+    } finally {
+      watchingListener.onStop();
+    }
+  }
+
   private void assertAllStreamsAreClosed() throws Exception {
     for (Result<InputStream, LocalFileAttributes> result : listResult) {
       assertStreamIsClosed(result);